@@ -9,4 +9,19 @@ public interface ControllerFeatures {
    */
 
   void input(int row, int col);
+
+  /**
+   * takes back the last move, update the state and view
+   */
+  void undo();
+
+  /**
+   * makes again the last move taken back, update the state and view
+   */
+  void redo();
+
+  /**
+   * shows a move that keeps the game solvable
+   */
+  void hint();
 }
\ No newline at end of file
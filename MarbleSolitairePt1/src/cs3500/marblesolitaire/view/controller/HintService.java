@@ -0,0 +1,201 @@
+package cs3500.marblesolitaire.view.controller;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.solver.EvictionPolicy;
+import cs3500.marblesolitaire.view.solver.PackedBoard;
+import cs3500.marblesolitaire.view.solver.SolitaireMove;
+import cs3500.marblesolitaire.view.solver.SolverResult;
+import cs3500.marblesolitaire.view.solver.Solver;
+
+/**
+ * The {@code HintService} class computes hints in the background. Each time the position changes
+ * it is given the new position, and it starts searching for a move that keeps the game solvable
+ * on its own thread, so the hint is usually ready before the player asks for it. A search for a
+ * position that is no longer current is cancelled.
+ *
+ * <p>The position is read on the thread calling {@link #update(MarbleSolitaireModelState)}, so the
+ * background thread never touches the model. When the player follows a hint, the rest of the
+ * solution it came from is reused and the next hint is ready at once.
+ */
+public class HintService {
+  private static final int HINT_SPLIT_DEPTH = 5;
+  // 4 MB per search: a hint is searched from a position reached in play, which a table this
+  // size solves as fast as the solver's default 64 MB table without its allocation
+  private static final int HINT_TABLE_CAPACITY = 1 << 18;
+
+  private final Solver solver;
+  private final ExecutorService executor;
+  // the computation for the current position, replaced by every update
+  private volatile Computation current;
+
+  /**
+   * Constructs a {@code HintService} that searches on a background thread of its own, with a
+   * {@link Solver} on the common fork/join pool and a small transposition table.
+   */
+  public HintService() {
+    this(new Solver(ForkJoinPool.commonPool(), HINT_SPLIT_DEPTH, HINT_TABLE_CAPACITY,
+            EvictionPolicy.REPLACE_LOWEST_PRIORITY), Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "hint-service");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * Constructs a {@code HintService} that searches with the given solver on the given executor.
+   *
+   * @param solver   the solver searching for hints
+   * @param executor the executor running the searches
+   * @throws IllegalArgumentException if the solver or the executor is null
+   */
+  public HintService(Solver solver, ExecutorService executor) throws IllegalArgumentException {
+    if (solver == null || executor == null) {
+      throw new IllegalArgumentException("Invalid solver or executor");
+    }
+    this.solver = solver;
+    this.executor = executor;
+    this.current = new Computation(null, 0, null);
+  }
+
+  /**
+   * Starts computing the hint for the given position, cancelling the computation for the
+   * previous one.
+   *
+   * @param state the current position
+   * @throws IllegalArgumentException if the state is null
+   */
+  public void update(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    if (state == null) {
+      throw new IllegalArgumentException("Invalid state");
+    }
+    Computation previous = current;
+    previous.cancel();
+    PackedBoard board;
+    long marbles;
+    try {
+      board = new PackedBoard(state);
+      marbles = board.pack(state);
+    } catch (IllegalArgumentException e) {
+      // too large to search, so there is never a hint
+      current = new Computation(null, 0, null);
+      return;
+    }
+    List<SolitaireMove> rest = previous.restAfter(board, marbles);
+    if (rest != null) {
+      current = new Computation(board, marbles, rest);
+      return;
+    }
+    Computation computation = new Computation(board, marbles);
+    current = computation;
+    try {
+      executor.execute(computation);
+    } catch (RejectedExecutionException e) {
+      computation.result.complete(null);
+    }
+  }
+
+  /**
+   * Returns the hint for the current position. The future completes with a move that keeps the
+   * game solvable, or null if there is none or the board is too large to search. It is cancelled
+   * if the position changes before it completes.
+   *
+   * @return the hint for the current position
+   */
+  public CompletableFuture<SolitaireMove> hint() {
+    return current.result;
+  }
+
+  /**
+   * Cancels the current computation and stops the background thread.
+   */
+  public void shutdown() {
+    current.cancel();
+    executor.shutdownNow();
+  }
+
+  /**
+   * The search for the hint of one position.
+   */
+  private final class Computation implements Runnable {
+    private final PackedBoard board;
+    private final long marbles;
+    private final CompletableFuture<SolitaireMove> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+    // the moves that solve the position, once they are known
+    private volatile List<SolitaireMove> solution;
+
+    /**
+     * Constructs a computation that searches the given position when run.
+     */
+    private Computation(PackedBoard board, long marbles) {
+      this.board = board;
+      this.marbles = marbles;
+    }
+
+    /**
+     * Constructs a computation of the given position that is already complete, with the given
+     * solution or with no hint if it is null.
+     */
+    private Computation(PackedBoard board, long marbles, List<SolitaireMove> solution) {
+      this.board = board;
+      this.marbles = marbles;
+      this.solution = solution;
+      this.result.complete(solution == null || solution.isEmpty() ? null : solution.get(0));
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        SolverResult found = solver.solve(board, marbles, () -> cancelled);
+        if (found.isSolvable()) {
+          solution = found.getSolution();
+          result.complete(solution.isEmpty() ? null : solution.get(0));
+        } else {
+          solution = Collections.emptyList();
+          result.complete(null);
+        }
+      } catch (CancellationException e) {
+        result.cancel(false);
+      }
+    }
+
+    /**
+     * Stops the search if it has not finished.
+     */
+    private void cancel() {
+      cancelled = true;
+      result.cancel(false);
+    }
+
+    /**
+     * Returns the rest of the solution if the given position is the one reached by following
+     * the hint, or null otherwise.
+     */
+    private List<SolitaireMove> restAfter(PackedBoard board, long marbles) {
+      List<SolitaireMove> moves = solution;
+      if (moves == null || moves.isEmpty() || this.board == null
+              || this.board.getBoardSize() != board.getBoardSize()
+              || this.board.getSlotCount() != board.getSlotCount()) {
+        return null;
+      }
+      SolitaireMove move = moves.get(0);
+      long changed = (1L << board.slotAt(move.getFromRow(), move.getFromCol()))
+              | (1L << board.slotAt((move.getFromRow() + move.getToRow()) / 2,
+                      (move.getFromCol() + move.getToCol()) / 2))
+              | (1L << board.slotAt(move.getToRow(), move.getToCol()));
+      return (this.marbles ^ changed) == marbles ? moves.subList(1, moves.size()) : null;
+    }
+  }
+}
@@ -1,30 +1,101 @@
 package cs3500.marblesolitaire.view.controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import cs3500.marblesolitaire.view.jfr.InvalidMoveEvent;
+import cs3500.marblesolitaire.view.metrics.LatencyHistogram;
+import cs3500.marblesolitaire.view.metrics.Metrics;
 import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.solver.SolitaireMove;
 import cs3500.marblesolitaire.view.view.MarbleSolitaireGuiView;
 
 /**
  * The {@code SwingGUIController} class implements the {@code ControllerFeatures} interface
  * and provides the functionality to control the Marble Solitaire game using a graphical user interface (GUI).
  * It interacts with both the model and the view to handle user input and update the game state.
+ * After every change of the position it asks a {@link HintService} to start looking for the next
+ * hint, so hints are usually ready when the user asks for them.
+ *
+ * <p>By default the model is changed on the thread calling the controller, which for a GUI is the
+ * event dispatch thread. Given a model executor, the controller instead changes the model only on
+ * that executor, which must run one task at a time. After each change it publishes an immutable
+ * {@link MarbleSolitaireModelState#snapshot() snapshot} to the view, and the changes published before the event dispatch thread
+ * gets to them are shown with a single repaint.
  */
 public class SwingGUIController implements ControllerFeatures {
+  // time spent handling each click, recorded only when metrics are enabled
+  private static final LatencyHistogram INPUT_LATENCY =
+          Metrics.registry().histogram("controller.input");
 
   private MarbleSolitaireModel model;
   private MarbleSolitaireGuiView view;
+  // null until the first hint when the controller changes the model on the calling thread
+  private HintService hints;
+  // null if the model is changed on the calling thread
+  private final Executor modelExecutor;
+  // the changes not yet shown, or null, guarded by pendingLock
+  private Update pending;
+  private final Object pendingLock = new Object();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
   private int fromRow, fromCol, toRow, toCol;
 
   /**
    * Constructs a {@code SwingGUIController} with the given model and view.
    * Initializes the controller, sets up the view to use this controller, and refreshes the view.
+   * The hint service, with its thread and solver, is only created when a hint is first asked for.
    *
    * @param model the model representing the game state
    * @param view  the view to display the game
    */
   public SwingGUIController(MarbleSolitaireModel model, MarbleSolitaireGuiView view) {
+    this(model, view, null);
+  }
+
+  /**
+   * Constructs a {@code SwingGUIController} with the given model and view, computing hints with
+   * the given service.
+   *
+   * @param model the model representing the game state
+   * @param view  the view to display the game
+   * @param hints the service computing hints for the model, or null to create one when a hint
+   *              is first asked for
+   */
+  public SwingGUIController(MarbleSolitaireModel model, MarbleSolitaireGuiView view,
+                            HintService hints) {
+    this(model, view, hints, null);
+  }
+
+  /**
+   * Constructs a {@code SwingGUIController} that changes the model only on the given executor.
+   * The executor must run one task at a time, such as a single-thread executor, and nothing else
+   * may change the model. The view is switched to a snapshot of the model at once.
+   *
+   * @param model         the model representing the game state
+   * @param view          the view to display the game
+   * @param hints         the service computing hints for the model, or null for a new one; with
+   *                      no model executor it is only created when a hint is first asked for
+   * @param modelExecutor the executor changing the model, or null to change it on the calling
+   *                      thread
+   */
+  public SwingGUIController(MarbleSolitaireModel model, MarbleSolitaireGuiView view,
+                            HintService hints, Executor modelExecutor) {
     this.model = model;
     this.view = view;
+    this.modelExecutor = modelExecutor;
+    // a service created later would read the model on the event dispatch thread, so with a
+    // model executor it is created now
+    this.hints = hints == null && modelExecutor != null ? new HintService() : hints;
+    updateHints();
+    if (modelExecutor != null) {
+      this.view.setState(model.snapshot());
+    }
     this.view.refresh();
     this.view.setFeatures(this);
     fromRow = -1;
@@ -38,6 +109,7 @@ public class SwingGUIController implements ControllerFeatures {
    * Once both positions are selected, it attempts to move a marble from the starting position to the destination.
    * If the move is invalid, it displays an "Invalid Move!" message. If the move is valid, it updates the game state.
    * If the game is over after the move, it displays a "Game Over!" message.
+   * The selected marble is highlighted, and after a move only the cells it changed are redrawn.
    *
    * @param row the row of the marble selected
    * @param col the column of the marble selected
@@ -45,30 +117,283 @@ public class SwingGUIController implements ControllerFeatures {
    */
   @Override
   public void input(int row, int col) throws IllegalArgumentException {
+    long start = Metrics.ENABLED ? System.nanoTime() : 0;
+    try {
+      this.view.renderMessage("");
+      if (row >= 0 && col >= 0) {
+        if (fromRow == -1) {
+          fromRow = row;
+          fromCol = col;
+          this.view.setHighlight(row, col);
+        }
+        else {
+          toRow = row;
+          toCol = col;
+          this.view.setHighlight(-1, -1);
+          int moveFromRow = fromRow, moveFromCol = fromCol, moveToRow = toRow, moveToCol = toCol;
+          change(() -> move(moveFromRow, moveFromCol, moveToRow, moveToCol));
+          fromRow = fromCol = toRow = toCol = -1;
+        }
+      }
+    } finally {
+      if (Metrics.ENABLED) {
+        INPUT_LATENCY.record(System.nanoTime() - start);
+      }
+    }
+  }
+
+  /**
+   * Moves a marble on the model. A move the model rejects is recorded as an
+   * {@link InvalidMoveEvent} when Flight Recorder enables it.
+   *
+   * @return the change to show
+   */
+  private Update move(int fromRow, int fromCol, int toRow, int toCol) {
+    InvalidMoveEvent event = new InvalidMoveEvent();
+    event.begin();
+    try {
+      model.move(fromRow, fromCol, toRow, toCol);
+    }
+    catch (IllegalArgumentException e) {
+      if (event.shouldCommit()) {
+        event.boardSize = model.getBoardSize();
+        event.fromRow = fromRow;
+        event.fromCol = fromCol;
+        event.toRow = toRow;
+        event.toCol = toCol;
+        event.score = model.getScore();
+        event.commit();
+      }
+      return new Update(null, "Invalid Move!");
+    }
+    updateHints();
+    Update update = new Update(snapshot(), model.isGameOver() ? "Game Over!" : Update.CLEAR);
+    // only the cells between the two positions changed
+    update.addCells(fromRow, fromCol, toRow, toCol);
+    return update;
+  }
+
+  /**
+   * Drops any pending selection and its highlight.
+   */
+  private void clearSelection() {
+    if (fromRow != -1) {
+      this.view.setHighlight(-1, -1);
+    }
+    fromRow = fromCol = toRow = toCol = -1;
+  }
+
+  /**
+   * Takes back the last move and clears any pending selection. If there is no move to take back,
+   * it displays a "Nothing to undo!" message.
+   */
+  @Override
+  public void undo() {
     this.view.renderMessage("");
-    if (row >= 0 && col >= 0) {
-      if (fromRow == -1) {
-        fromRow = row;
-        fromCol = col;
+    clearSelection();
+    change(() -> {
+      Update update;
+      try {
+        model.undo();
+        updateHints();
+        update = new Update(snapshot(), Update.CLEAR);
       }
-      else {
-        toRow = row;
-        toCol = col;
+      catch (IllegalStateException e) {
+        update = new Update(null, "Nothing to undo!");
+      }
+      update.full = true;
+      return update;
+    });
+  }
 
-        try {
-          model.move(fromRow, fromCol, toRow, toCol);
+  /**
+   * Makes again the last move that was taken back and clears any pending selection. If there is
+   * no such move, it displays a "Nothing to redo!" message.
+   */
+  @Override
+  public void redo() {
+    this.view.renderMessage("");
+    clearSelection();
+    change(() -> {
+      Update update;
+      try {
+        model.redo();
+        updateHints();
+        update = new Update(snapshot(), model.isGameOver() ? "Game Over!" : Update.CLEAR);
+      }
+      catch (IllegalStateException e) {
+        update = new Update(null, "Nothing to redo!");
+      }
+      update.full = true;
+      return update;
+    });
+  }
 
-          if (model.isGameOver()) {
-            this.view.renderMessage("Game Over!");
-          }
+  /**
+   * Gives the hint service the current position, if there is a service yet.
+   */
+  private void updateHints() {
+    if (hints != null) {
+      hints.update(model);
+    }
+  }
 
+  /**
+   * Returns a snapshot of the model to publish to the view, or null if the view reads the model
+   * itself.
+   */
+  private MarbleSolitaireModelState snapshot() {
+    return modelExecutor == null ? null : model.snapshot();
+  }
+
+  /**
+   * Makes a change to the model and shows it: at once on the calling thread, or on the model
+   * executor and then on the event dispatch thread.
+   *
+   * @param change changes the model and returns what to show
+   */
+  private void change(Supplier<Update> change) {
+    if (modelExecutor == null) {
+      show(change.get());
+    }
+    else {
+      modelExecutor.execute(() -> publish(change.get()));
+    }
+  }
+
+  /**
+   * Merges a change into those waiting to be shown, and schedules them to be shown on the event
+   * dispatch thread unless that is already scheduled.
+   */
+  private void publish(Update update) {
+    synchronized (pendingLock) {
+      pending = pending == null ? update : pending.then(update);
+    }
+    if (flushScheduled.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(this::flush);
+    }
+  }
+
+  /**
+   * Shows all the changes published so far.
+   */
+  private void flush() {
+    // cleared first, so a change published from now on schedules another flush
+    flushScheduled.set(false);
+    Update update;
+    synchronized (pendingLock) {
+      update = pending;
+      pending = null;
+    }
+    if (update != null) {
+      show(update);
+    }
+  }
+
+  /**
+   * Shows a change in the view.
+   */
+  private void show(Update update) {
+    if (update.state != null) {
+      this.view.setState(update.state);
+    }
+    this.view.renderMessage(update.message);
+    if (update.full) {
+      this.view.refresh();
+    }
+    else if (update.top >= 0) {
+      this.view.refreshMove(update.top, update.left, update.bottom, update.right);
+    }
+  }
+
+  /**
+   * Shows a move that keeps the game solvable and clears any pending selection. If the hint for
+   * the current position is still being computed, it displays a "Thinking..." message and shows
+   * the hint once it is ready, unless the position has changed by then. If no move keeps the game
+   * solvable, it displays a "No hint available!" message.
+   */
+  @Override
+  public void hint() {
+    this.view.renderMessage("");
+    clearSelection();
+    if (hints == null) {
+      hints = new HintService();
+      updateHints();
+    }
+    CompletableFuture<SolitaireMove> hint = hints.hint();
+    if (hint.isDone()) {
+      showHint(hint);
+    }
+    else {
+      this.view.renderMessage("Thinking...");
+      hint.whenComplete((move, e) -> SwingUtilities.invokeLater(() -> {
+        if (hints.hint() == hint) {
+          showHint(hint);
         }
-        catch (IllegalArgumentException e) {
-          this.view.renderMessage("Invalid Move!");
-        }
-        fromRow = fromCol = toRow = toCol = -1;
+      }));
+    }
+  }
+
+  /**
+   * Shows a completed hint in the view.
+   */
+  private void showHint(CompletableFuture<SolitaireMove> hint) {
+    SolitaireMove move = hint.isCancelled() ? null : hint.getNow(null);
+    if (move == null) {
+      this.view.renderMessage("No hint available!");
+    }
+    else {
+      this.view.renderMessage("");
+      this.view.showHint(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+    }
+  }
+
+  /**
+   * What the view must show after one or more changes to the model: the state to draw, the
+   * message to display and the cells to redraw.
+   */
+  private static final class Update {
+    private static final String CLEAR = "";
+
+    // null if the view keeps its state
+    private final MarbleSolitaireModelState state;
+    // the message to display, CLEAR to display none
+    private final String message;
+    private boolean full;
+    // the rectangle of cells to redraw, or -1 if there are none
+    private int top = -1, left = -1, bottom = -1, right = -1;
+
+    private Update(MarbleSolitaireModelState state, String message) {
+      this.state = state;
+      this.message = message;
+    }
+
+    /**
+     * Adds the rectangle spanned by the two given cells to the cells to redraw.
+     */
+    private void addCells(int fromRow, int fromCol, int toRow, int toCol) {
+      boolean none = top < 0;
+      top = Math.min(none ? Integer.MAX_VALUE : top, Math.min(fromRow, toRow));
+      left = Math.min(none ? Integer.MAX_VALUE : left, Math.min(fromCol, toCol));
+      bottom = Math.max(bottom, Math.max(fromRow, toRow));
+      right = Math.max(right, Math.max(fromCol, toCol));
+    }
+
+    /**
+     * Merges this change with the one that followed it: the later state and message win, so a
+     * message about an earlier change is not shown after a later one, and the cells to redraw
+     * cover both.
+     */
+    private Update then(Update next) {
+      Update merged = new Update(next.state != null ? next.state : state, next.message);
+      merged.full = full || next.full;
+      if (top >= 0) {
+        merged.addCells(top, left, bottom, right);
       }
-      this.view.refresh();
+      if (next.top >= 0) {
+        merged.addCells(next.top, next.left, next.bottom, next.right);
+      }
+      return merged;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package cs3500.marblesolitaire.view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a model deciding whether the game is over.
+ */
+@Name(GameOverCheckEvent.NAME)
+@Label("Game Over Check")
+@Category({"Marble Solitaire", "Model"})
+@Description("An evaluation of whether any legal move is left")
+@StackTrace(false)
+public final class GameOverCheckEvent extends Event {
+  /**
+   * The name of the event in recordings.
+   */
+  public static final String NAME = "cs3500.marblesolitaire.GameOverCheck";
+
+  @Label("Board Size")
+  public int boardSize;
+
+  @Label("Score")
+  public int score;
+
+  @Label("Game Over")
+  public boolean gameOver;
+}
@@ -0,0 +1,42 @@
+package cs3500.marblesolitaire.view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a move the user asked for and the model rejected, lasting from
+ * the attempt to the rejection.
+ */
+@Name(InvalidMoveEvent.NAME)
+@Label("Invalid Move")
+@Category({"Marble Solitaire", "Controller"})
+@Description("A move entered by the user and rejected by the model")
+@StackTrace(false)
+public final class InvalidMoveEvent extends Event {
+  /**
+   * The name of the event in recordings.
+   */
+  public static final String NAME = "cs3500.marblesolitaire.InvalidMove";
+
+  @Label("Board Size")
+  public int boardSize;
+
+  @Label("From Row")
+  public int fromRow;
+
+  @Label("From Column")
+  public int fromCol;
+
+  @Label("To Row")
+  public int toRow;
+
+  @Label("To Column")
+  public int toCol;
+
+  @Label("Score")
+  public int score;
+}
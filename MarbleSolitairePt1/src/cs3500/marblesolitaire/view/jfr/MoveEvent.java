@@ -0,0 +1,48 @@
+package cs3500.marblesolitaire.view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a move attempted on a model, lasting as long as the model takes to
+ * check and make it. Recorded only while a recording enables {@value #NAME}; otherwise creating
+ * and committing the event costs next to nothing.
+ */
+@Name(MoveEvent.NAME)
+@Label("Move")
+@Category({"Marble Solitaire", "Model"})
+@Description("A move attempted on the model")
+@StackTrace(false)
+public final class MoveEvent extends Event {
+  /**
+   * The name of the event in recordings.
+   */
+  public static final String NAME = "cs3500.marblesolitaire.Move";
+
+  @Label("Board Size")
+  public int boardSize;
+
+  @Label("From Row")
+  public int fromRow;
+
+  @Label("From Column")
+  public int fromCol;
+
+  @Label("To Row")
+  public int toRow;
+
+  @Label("To Column")
+  public int toCol;
+
+  @Label("Legal")
+  @Description("Whether the move was made")
+  public boolean legal;
+
+  @Label("Score")
+  @Description("The number of marbles left after the move")
+  public int score;
+}
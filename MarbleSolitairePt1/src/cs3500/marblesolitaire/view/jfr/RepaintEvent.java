@@ -0,0 +1,33 @@
+package cs3500.marblesolitaire.view.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for painting the board, lasting as long as the painting.
+ */
+@Name(RepaintEvent.NAME)
+@Label("Board Repaint")
+@Category({"Marble Solitaire", "View"})
+@Description("The board panel painting the cells in its clip")
+@StackTrace(false)
+public final class RepaintEvent extends Event {
+  /**
+   * The name of the event in recordings.
+   */
+  public static final String NAME = "cs3500.marblesolitaire.Repaint";
+
+  @Label("Board Size")
+  public int boardSize;
+
+  @Label("Score")
+  public int score;
+
+  @Label("Cells")
+  @Description("The number of cells painted")
+  public int cells;
+}
@@ -0,0 +1,49 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events that any number of threads can add to without contending. Each thread adds
+ * to a cell of its own, and the cells are only summed when the count is read.
+ */
+public final class Counter {
+  private final LongAdder count = new LongAdder();
+
+  /**
+   * Constructs a {@code Counter} starting at zero.
+   */
+  Counter() {
+  }
+
+  /**
+   * Adds one to the count.
+   */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Adds the given amount to the count.
+   *
+   * @param amount the amount to add
+   */
+  public void add(long amount) {
+    count.add(amount);
+  }
+
+  /**
+   * Returns the current count. Additions made while it is read may or may not be included.
+   *
+   * @return the sum of everything added since the last reset
+   */
+  public long get() {
+    return count.sum();
+  }
+
+  /**
+   * Sets the count back to zero.
+   */
+  public void reset() {
+    count.reset();
+  }
+}
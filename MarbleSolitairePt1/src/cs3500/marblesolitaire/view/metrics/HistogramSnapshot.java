@@ -0,0 +1,83 @@
+package cs3500.marblesolitaire.view.metrics;
+
+/**
+ * The distribution of the durations in a {@link LatencyHistogram} at one point in time.
+ * Percentiles are reported as the largest value of the bucket they fall in, never above the
+ * largest value recorded, so they are at most about 6% too high.
+ */
+public final class HistogramSnapshot {
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  /**
+   * Constructs a snapshot from merged bucket counts.
+   *
+   * @param counts the number of values in each bucket, owned by the snapshot
+   * @param sum    the sum of the values
+   * @param max    the largest value
+   */
+  HistogramSnapshot(long[] counts, long sum, long max) {
+    this.counts = counts;
+    long total = 0;
+    for (long bucket : counts) {
+      total += bucket;
+    }
+    this.count = total;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the mean of the recorded values, or zero if there is none.
+   *
+   * @return the mean in nanoseconds
+   */
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Returns the largest recorded value, or zero if there is none.
+   *
+   * @return the largest value in nanoseconds
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the value below which the given percentage of the recorded values fall.
+   *
+   * @param percentile the percentage, from 0 to 100
+   * @return the value in nanoseconds, or zero if there is none
+   * @throws IllegalArgumentException if the percentage is not between 0 and 100
+   */
+  public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException(String.format("Invalid percentile %s", percentile));
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(max, LatencyHistogram.highestValueOf(bucket));
+      }
+    }
+    return max;
+  }
+}
@@ -0,0 +1,94 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import cs3500.marblesolitaire.view.controller.ControllerFeatures;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireGuiView;
+
+/**
+ * A {@link MarbleSolitaireGuiView} that passes every call to another view and records how long
+ * its refreshes take, in the histograms {@code view.refresh} and {@code view.refreshMove}.
+ * A Swing view only schedules painting when refreshed; the painting itself is recorded by the
+ * board panel in {@code view.paint}.
+ */
+public class InstrumentedGuiView implements MarbleSolitaireGuiView {
+  private final MarbleSolitaireGuiView delegate;
+  private final LatencyHistogram refreshLatency;
+  private final LatencyHistogram refreshMoveLatency;
+
+  /**
+   * Constructs an {@code InstrumentedGuiView} recording into the given registry.
+   *
+   * @param delegate the view that shows the game
+   * @param registry the registry to record in
+   * @throws IllegalArgumentException if the view or the registry is null
+   */
+  public InstrumentedGuiView(MarbleSolitaireGuiView delegate, MetricsRegistry registry)
+          throws IllegalArgumentException {
+    if (delegate == null || registry == null) {
+      throw new IllegalArgumentException("Invalid view or registry");
+    }
+    this.delegate = delegate;
+    this.refreshLatency = registry.histogram("view.refresh");
+    this.refreshMoveLatency = registry.histogram("view.refreshMove");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void refresh() {
+    long start = System.nanoTime();
+    delegate.refresh();
+    refreshLatency.record(System.nanoTime() - start);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void refreshMove(int fromRow, int fromCol, int toRow, int toCol) {
+    long start = System.nanoTime();
+    delegate.refreshMove(fromRow, fromCol, toRow, toCol);
+    refreshMoveLatency.record(System.nanoTime() - start);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setHighlight(int row, int col) {
+    delegate.setHighlight(row, col);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void showHint(int fromRow, int fromCol, int toRow, int toCol) {
+    delegate.showHint(fromRow, fromCol, toRow, toCol);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setState(MarbleSolitaireModelState state) {
+    delegate.setState(state);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void renderMessage(String message) {
+    delegate.renderMessage(message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setFeatures(ControllerFeatures callbacks) {
+    delegate.setFeatures(callbacks);
+  }
+}
@@ -0,0 +1,170 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+
+/**
+ * A {@link MarbleSolitaireModel} that passes every call to another model and records how long
+ * the calls that change or evaluate the game take, in the histograms {@code model.move},
+ * {@code model.isGameOver}, {@code model.undo} and {@code model.redo}. Rejected moves are also
+ * counted in {@code model.invalidMoves}. Reading the board is passed through untimed.
+ */
+public class InstrumentedModel implements MarbleSolitaireModel {
+  private final MarbleSolitaireModel delegate;
+  private final LatencyHistogram moveLatency;
+  private final LatencyHistogram gameOverLatency;
+  private final LatencyHistogram undoLatency;
+  private final LatencyHistogram redoLatency;
+  private final Counter invalidMoves;
+
+  /**
+   * Constructs an {@code InstrumentedModel} recording into the given registry.
+   *
+   * @param delegate the model that plays the game
+   * @param registry the registry to record in
+   * @throws IllegalArgumentException if the model or the registry is null
+   */
+  public InstrumentedModel(MarbleSolitaireModel delegate, MetricsRegistry registry)
+          throws IllegalArgumentException {
+    if (delegate == null || registry == null) {
+      throw new IllegalArgumentException("Invalid model or registry");
+    }
+    this.delegate = delegate;
+    this.moveLatency = registry.histogram("model.move");
+    this.gameOverLatency = registry.histogram("model.isGameOver");
+    this.undoLatency = registry.histogram("model.undo");
+    this.redoLatency = registry.histogram("model.redo");
+    this.invalidMoves = registry.counter("model.invalidMoves");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void move(int fromRow, int fromCol, int toRow, int toCol) throws IllegalArgumentException {
+    long start = System.nanoTime();
+    try {
+      delegate.move(fromRow, fromCol, toRow, toCol);
+    } catch (IllegalArgumentException e) {
+      invalidMoves.increment();
+      throw e;
+    } finally {
+      moveLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryMove(int fromRow, int fromCol, int toRow, int toCol) {
+    long start = System.nanoTime();
+    boolean moved = delegate.tryMove(fromRow, fromCol, toRow, toCol);
+    moveLatency.record(System.nanoTime() - start);
+    if (!moved) {
+      invalidMoves.increment();
+    }
+    return moved;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isGameOver() {
+    long start = System.nanoTime();
+    boolean over = delegate.isGameOver();
+    gameOverLatency.record(System.nanoTime() - start);
+    return over;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void undo() throws IllegalStateException {
+    long start = System.nanoTime();
+    try {
+      delegate.undo();
+    } finally {
+      undoLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void redo() throws IllegalStateException {
+    long start = System.nanoTime();
+    try {
+      delegate.redo();
+    } finally {
+      redoLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canUndo() {
+    return delegate.canUndo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canRedo() {
+    return delegate.canRedo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getBoardSize() {
+    return delegate.getBoardSize();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+    return delegate.getSlotAt(row, col);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getScore() {
+    return delegate.getScore();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public MarbleSolitaireModelState snapshot() {
+    return delegate.snapshot();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isLegalMove(int fromRow, int fromCol, int toRow, int toCol) {
+    return delegate.isLegalMove(fromRow, fromCol, toRow, toCol);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int legalMoves(int[] buffer) throws IllegalArgumentException {
+    return delegate.legalMoves(buffer);
+  }
+}
@@ -0,0 +1,125 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations in nanoseconds that threads record into without locking. As in an HDR
+ * histogram, buckets are exact below 16 ns and then split every power of two into 16 buckets, so
+ * any recorded value is known to within about 6% while all values up to half an hour fit in 608
+ * buckets. Longer durations are counted in the last bucket.
+ *
+ * <p>The buckets are striped: each thread records into one of several arrays chosen by its id,
+ * so threads on different cores rarely touch the same cache lines. The stripes are only merged
+ * when a {@link HistogramSnapshot} is taken.
+ */
+public final class LatencyHistogram {
+  // buckets per power of two, as a number of bits
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  // the largest shift of a value's top bits, for values below 2^41 ns
+  private static final int MAX_SHIFT = 36;
+  static final int BUCKET_COUNT = (MAX_SHIFT + 2) * SUB_BUCKETS;
+  // after the buckets of each stripe: the sum and the largest of the recorded values
+  private static final int SUM = BUCKET_COUNT;
+  private static final int MAX = BUCKET_COUNT + 1;
+  private static final int STRIPE_COUNT = stripeCount();
+
+  private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPE_COUNT];
+
+  /**
+   * Constructs an empty {@code LatencyHistogram}.
+   */
+  LatencyHistogram() {
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new AtomicLongArray(BUCKET_COUNT + 2);
+    }
+  }
+
+  /**
+   * Returns the number of stripes: the number of processors rounded up to a power of two, from
+   * 2 to 64.
+   */
+  private static int stripeCount() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    return Math.max(2, Math.min(64, Integer.highestOneBit(processors - 1) << 1));
+  }
+
+  /**
+   * Returns the bucket of a value.
+   *
+   * @param value a non-negative value
+   * @return the index of its bucket
+   */
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Math.min(MAX_SHIFT, 63 - Long.numberOfLeadingZeros(value) - SUB_BITS);
+    if (shift == MAX_SHIFT && value >>> shift >= 2 * SUB_BUCKETS) {
+      return BUCKET_COUNT - 1;
+    }
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  /**
+   * Returns the largest value that falls in a bucket.
+   *
+   * @param bucket the index of the bucket
+   * @return the largest value of the bucket
+   */
+  static long highestValueOf(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds; negative durations count as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & (STRIPE_COUNT - 1)];
+    stripe.incrementAndGet(bucketOf(value));
+    stripe.addAndGet(SUM, value);
+    long max = stripe.get(MAX);
+    while (value > max && !stripe.compareAndSet(MAX, max, value)) {
+      max = stripe.get(MAX);
+    }
+  }
+
+  /**
+   * Returns the distribution of the values recorded so far. Values recorded while the snapshot
+   * is taken may or may not be included.
+   *
+   * @return a snapshot of the histogram
+   */
+  public HistogramSnapshot snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    long sum = 0;
+    long max = 0;
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        counts[i] += stripe.get(i);
+      }
+      sum += stripe.get(SUM);
+      max = Math.max(max, stripe.get(MAX));
+    }
+    return new HistogramSnapshot(counts, sum, max);
+  }
+
+  /**
+   * Forgets every recorded value. Values recorded at the same time may be partly kept.
+   */
+  public void reset() {
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < stripe.length(); i++) {
+        stripe.set(i, 0);
+      }
+    }
+  }
+}
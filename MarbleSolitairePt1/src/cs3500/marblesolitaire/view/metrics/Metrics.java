@@ -0,0 +1,170 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireGuiView;
+
+/**
+ * The switch and the shared registry of the game's metrics. Metrics are off unless the JVM is
+ * started with {@code -Dmarblesolitaire.metrics=true}. {@link #ENABLED} is a constant, so code
+ * that records only inside {@code if (Metrics.ENABLED)} is removed entirely by the JIT when
+ * metrics are off, and {@link #instrument(MarbleSolitaireModel)} then returns the model itself.
+ *
+ * <p>The game records these metrics in {@link #registry()}:
+ * <ul>
+ *   <li>{@code model.move}, {@code model.isGameOver}, {@code model.undo}, {@code model.redo}:
+ *   durations of the calls on an instrumented model, and {@code model.invalidMoves}: rejected
+ *   moves;</li>
+ *   <li>{@code controller.input}: durations of the GUI controller handling a click;</li>
+ *   <li>{@code view.refresh}, {@code view.refreshMove}: durations of the calls on an
+ *   instrumented view, and {@code view.paint}: durations of painting the board.</li>
+ * </ul>
+ */
+public final class Metrics {
+  /**
+   * Whether metrics are recorded, read once from the system property
+   * {@code marblesolitaire.metrics}.
+   */
+  public static final boolean ENABLED = Boolean.getBoolean("marblesolitaire.metrics");
+  private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+  private static final String MBEAN_NAME = "cs3500.marblesolitaire:type=Metrics";
+
+  private Metrics() {
+  }
+
+  /**
+   * Returns the registry the game records its metrics in.
+   *
+   * @return the shared registry
+   */
+  public static MetricsRegistry registry() {
+    return REGISTRY;
+  }
+
+  /**
+   * Wraps a model so the durations of its calls are recorded in the shared registry, if metrics
+   * are enabled.
+   *
+   * @param model the model to instrument
+   * @return an instrumented model, or the model itself if metrics are disabled
+   * @throws IllegalArgumentException if the model is null
+   */
+  public static MarbleSolitaireModel instrument(MarbleSolitaireModel model)
+          throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Invalid model");
+    }
+    return ENABLED ? new InstrumentedModel(model, REGISTRY) : model;
+  }
+
+  /**
+   * Wraps a view so the durations of its refreshes are recorded in the shared registry, if
+   * metrics are enabled.
+   *
+   * @param view the view to instrument
+   * @return an instrumented view, or the view itself if metrics are disabled
+   * @throws IllegalArgumentException if the view is null
+   */
+  public static MarbleSolitaireGuiView instrument(MarbleSolitaireGuiView view)
+          throws IllegalArgumentException {
+    if (view == null) {
+      throw new IllegalArgumentException("Invalid view");
+    }
+    return ENABLED ? new InstrumentedGuiView(view, REGISTRY) : view;
+  }
+
+  /**
+   * Makes a registry readable over JMX as {@code cs3500.marblesolitaire:type=Metrics}, on the
+   * platform MBean server. Registering again does nothing.
+   *
+   * @param registry the registry to expose
+   * @return the name of the MBean
+   * @throws IllegalArgumentException if the registry is null
+   * @throws IllegalStateException    if the MBean cannot be registered
+   */
+  public static ObjectName registerMBean(MetricsRegistry registry)
+          throws IllegalArgumentException, IllegalStateException {
+    if (registry == null) {
+      throw new IllegalArgumentException("Invalid registry");
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName name = new ObjectName(MBEAN_NAME);
+      try {
+        server.registerMBean(new StandardMBean(new RegistryBean(registry), MetricsMXBean.class,
+                true), name);
+      } catch (InstanceAlreadyExistsException e) {
+        // already exposed
+      }
+      return name;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register metrics MBean", e);
+    }
+  }
+
+  /**
+   * The JMX view of a registry.
+   */
+  private static final class RegistryBean implements MetricsMXBean {
+    private final MetricsRegistry registry;
+
+    private RegistryBean(MetricsRegistry registry) {
+      this.registry = registry;
+    }
+
+    /**
+     * Reads one value out of every histogram.
+     */
+    private Map<String, Long> histogramValues(ToLongFunction<HistogramSnapshot> value) {
+      Map<String, Long> values = new TreeMap<>();
+      registry.histogramSnapshots().forEach((name, snapshot) ->
+          values.put(name, value.applyAsLong(snapshot)));
+      return values;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+      return registry.counterValues();
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+      return histogramValues(HistogramSnapshot::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP50Nanos() {
+      return histogramValues(snapshot -> snapshot.getValueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP99Nanos() {
+      return histogramValues(snapshot -> snapshot.getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+      return histogramValues(HistogramSnapshot::getMax);
+    }
+
+    @Override
+    public String getJson() {
+      return registry.toJson();
+    }
+
+    @Override
+    public void reset() {
+      registry.reset();
+    }
+  }
+}
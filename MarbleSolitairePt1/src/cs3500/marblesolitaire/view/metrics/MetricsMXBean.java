@@ -0,0 +1,58 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of a {@link MetricsRegistry}, as registered with JMX by
+ * {@link Metrics#registerMBean(MetricsRegistry)}. Tools such as JConsole show each map as a
+ * table keyed by metric name. Durations are in nanoseconds.
+ */
+public interface MetricsMXBean {
+
+  /**
+   * Returns the value of every counter.
+   *
+   * @return the counts by name
+   */
+  Map<String, Long> getCounters();
+
+  /**
+   * Returns the number of durations recorded in every histogram.
+   *
+   * @return the counts by histogram name
+   */
+  Map<String, Long> getLatencyCounts();
+
+  /**
+   * Returns the median of every histogram.
+   *
+   * @return the medians by histogram name
+   */
+  Map<String, Long> getLatencyP50Nanos();
+
+  /**
+   * Returns the 99th percentile of every histogram.
+   *
+   * @return the 99th percentiles by histogram name
+   */
+  Map<String, Long> getLatencyP99Nanos();
+
+  /**
+   * Returns the largest duration of every histogram.
+   *
+   * @return the largest durations by histogram name
+   */
+  Map<String, Long> getLatencyMaxNanos();
+
+  /**
+   * Returns every metric as JSON, as {@link MetricsRegistry#toJson()} does.
+   *
+   * @return the metrics as JSON
+   */
+  String getJson();
+
+  /**
+   * Sets every counter back to zero and empties every histogram.
+   */
+  void reset();
+}
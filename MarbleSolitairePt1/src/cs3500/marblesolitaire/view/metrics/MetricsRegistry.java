@@ -0,0 +1,138 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A set of named {@link Counter}s and {@link LatencyHistogram}s. Metrics are created on first
+ * use and live as long as the registry; callers look them up once and keep them, so recording
+ * never touches the registry. The whole set can be written as text for people or as JSON for
+ * tools, sorted by name.
+ */
+public final class MetricsRegistry {
+  private static final double NANOS_PER_MICRO = 1000.0;
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the counter with the given name, creating it if there is none.
+   *
+   * @param name the name of the counter
+   * @return the counter
+   * @throws IllegalArgumentException if the name is null
+   */
+  public Counter counter(String name) throws IllegalArgumentException {
+    if (name == null) {
+      throw new IllegalArgumentException("Invalid metric name");
+    }
+    return counters.computeIfAbsent(name, k -> new Counter());
+  }
+
+  /**
+   * Returns the latency histogram with the given name, creating it if there is none.
+   *
+   * @param name the name of the histogram
+   * @return the histogram
+   * @throws IllegalArgumentException if the name is null
+   */
+  public LatencyHistogram histogram(String name) throws IllegalArgumentException {
+    if (name == null) {
+      throw new IllegalArgumentException("Invalid metric name");
+    }
+    return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+  }
+
+  /**
+   * Returns the current value of every counter, by name.
+   *
+   * @return the counts, sorted by name
+   */
+  public Map<String, Long> counterValues() {
+    Map<String, Long> values = new TreeMap<>();
+    counters.forEach((name, counter) -> values.put(name, counter.get()));
+    return values;
+  }
+
+  /**
+   * Returns a snapshot of every histogram, by name.
+   *
+   * @return the snapshots, sorted by name
+   */
+  public Map<String, HistogramSnapshot> histogramSnapshots() {
+    Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+    histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+    return snapshots;
+  }
+
+  /**
+   * Sets every counter back to zero and empties every histogram.
+   */
+  public void reset() {
+    counters.values().forEach(Counter::reset);
+    histograms.values().forEach(LatencyHistogram::reset);
+  }
+
+  /**
+   * Returns every metric as text, one per line, with durations in microseconds.
+   *
+   * @return the metrics as text
+   */
+  public String toText() {
+    StringBuilder text = new StringBuilder();
+    counterValues().forEach((name, value) ->
+        text.append(String.format("%s %d\n", name, value)));
+    histogramSnapshots().forEach((name, snapshot) ->
+        text.append(String.format("%s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus\n",
+            name, snapshot.getCount(), snapshot.getMean() / NANOS_PER_MICRO,
+            snapshot.getValueAtPercentile(50) / NANOS_PER_MICRO,
+            snapshot.getValueAtPercentile(99) / NANOS_PER_MICRO,
+            snapshot.getMax() / NANOS_PER_MICRO)));
+    return text.toString();
+  }
+
+  /**
+   * Returns every metric as a JSON object, with durations in nanoseconds.
+   *
+   * @return the metrics as JSON
+   */
+  public String toJson() {
+    StringBuilder json = new StringBuilder("{\"counters\":{");
+    String separator = "";
+    for (Map.Entry<String, Long> entry : counterValues().entrySet()) {
+      json.append(separator).append(quote(entry.getKey())).append(':').append(entry.getValue());
+      separator = ",";
+    }
+    json.append("},\"histograms\":{");
+    separator = "";
+    for (Map.Entry<String, HistogramSnapshot> entry : histogramSnapshots().entrySet()) {
+      HistogramSnapshot snapshot = entry.getValue();
+      json.append(separator).append(quote(entry.getKey())).append(String.format(
+          ":{\"count\":%d,\"meanNanos\":%d,\"p50Nanos\":%d,\"p90Nanos\":%d,\"p99Nanos\":%d,"
+              + "\"maxNanos\":%d}",
+          snapshot.getCount(), Math.round(snapshot.getMean()),
+          snapshot.getValueAtPercentile(50), snapshot.getValueAtPercentile(90),
+          snapshot.getValueAtPercentile(99), snapshot.getMax()));
+      separator = ",";
+    }
+    return json.append("}}").toString();
+  }
+
+  /**
+   * Quotes a name as a JSON string.
+   */
+  private static String quote(String name) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : name.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < ' ') {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
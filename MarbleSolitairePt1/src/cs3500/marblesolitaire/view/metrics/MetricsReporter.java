@@ -0,0 +1,81 @@
+package cs3500.marblesolitaire.view.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of a registry to a stream at a fixed rate, as text or as one JSON object
+ * per line, on a daemon thread of its own.
+ */
+public class MetricsReporter {
+  private final MetricsRegistry registry;
+  private final PrintStream out;
+  private final boolean json;
+  private ScheduledExecutorService executor;
+
+  /**
+   * Constructs a {@code MetricsReporter} that is not yet started.
+   *
+   * @param registry the registry to report
+   * @param out      the stream to write to
+   * @param json     true to write JSON, false to write text
+   * @throws IllegalArgumentException if the registry or the stream is null
+   */
+  public MetricsReporter(MetricsRegistry registry, PrintStream out, boolean json)
+          throws IllegalArgumentException {
+    if (registry == null || out == null) {
+      throw new IllegalArgumentException("Invalid registry or stream");
+    }
+    this.registry = registry;
+    this.out = out;
+    this.json = json;
+  }
+
+  /**
+   * Writes the metrics once, now.
+   */
+  public void report() {
+    if (json) {
+      out.println(registry.toJson());
+    } else {
+      out.print(registry.toText());
+    }
+    out.flush();
+  }
+
+  /**
+   * Starts writing the metrics every period, the first time after one period.
+   *
+   * @param period the time between two reports
+   * @param unit   the unit of the period
+   * @throws IllegalArgumentException if the period is not positive
+   * @throws IllegalStateException    if the reporter is already started
+   */
+  public synchronized void start(long period, TimeUnit unit)
+          throws IllegalArgumentException, IllegalStateException {
+    if (period <= 0 || unit == null) {
+      throw new IllegalArgumentException(String.format("Invalid report period %d", period));
+    }
+    if (executor != null) {
+      throw new IllegalStateException("Reporter already started");
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "metrics-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleAtFixedRate(this::report, period, period, unit);
+  }
+
+  /**
+   * Stops writing the metrics. The reporter can be started again.
+   */
+  public synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+}
@@ -0,0 +1,466 @@
+package cs3500.marblesolitaire.view.model;
+
+/**
+ * Represents a model for Marble Solitaire that packs the board into bitsets.
+ * Each cell of the board is one bit in a {@code long[]}, indexed row by row, so a board
+ * with arm thickness 31 needs about 2 KB instead of one enum reference per cell.
+ *
+ * <p>The board can have any {@link BoardGeometry}: every rule about its shape and jumps is read
+ * from the shared {@link BoardTopology}, so English, European, triangular and custom boards are
+ * all played by the same code. Built with an arm thickness, it plays the English board and
+ * behaves exactly like {@link EnglishSolitaireModel}.
+ */
+public class BitboardSolitaireModel implements MarbleSolitaireModel {
+  private static final int DEFAULT_ARM_THICKNESS = 3;
+  private final int boardSize;
+  // the valid cells and jumps of the board, shared by every model of the same size
+  private final BoardTopology topology;
+  // one bit per cell, set if the cell is part of the board
+  private final long[] valid;
+  // one bit per cell, set if the cell holds a marble
+  private long[] marbles;
+  // whether the marbles are shared with a snapshot, and copied before they are next written
+  private boolean marblesShared;
+  private int marbleCount;
+  // Zobrist hash of the marbles on the board, kept up to date by move
+  private long positionHash;
+  private final long[] zobristKeys;
+  private final MoveLog history = new MoveLog();
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with an arm thickness of 3 and an empty slot in the center.
+   */
+  public BitboardSolitaireModel() {
+    this(DEFAULT_ARM_THICKNESS, DEFAULT_ARM_THICKNESS);
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with an arm thickness of 3 and an empty slot at the specified row and column.
+   *
+   * @param sRow the empty slot row
+   * @param sCol the empty slot column
+   * @throws IllegalArgumentException if the given row or column is greater than the board size
+   */
+  public BitboardSolitaireModel(int sRow, int sCol) throws IllegalArgumentException {
+    this(DEFAULT_ARM_THICKNESS, sRow, sCol);
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with the specified arm thickness and an empty slot in the center.
+   *
+   * @param armThickness the arm thickness of the board
+   * @throws IllegalArgumentException if the arm thickness is negative, even or above 15447
+   */
+  public BitboardSolitaireModel(int armThickness) throws IllegalArgumentException {
+    this(armThickness, armThickness * 3 / 2 - 1, armThickness * 3 / 2 - 1);
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with the specified arm thickness, empty slot row, and empty slot column.
+   *
+   * @param armThickness the arm thickness of the board
+   * @param sRow the empty slot row
+   * @param sCol the empty slot column
+   * @throws IllegalArgumentException if the arm thickness is negative, even or above 15447, or if the row and column aren't within the board size
+   */
+  public BitboardSolitaireModel(int armThickness, int sRow, int sCol) throws IllegalArgumentException {
+    this(BoardTopology.forArmThickness(armThickness), sRow, sCol);
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with the given geometry and its default empty slot.
+   *
+   * @param geometry the shape of the board and its jumps
+   * @throws IllegalArgumentException if the geometry is null
+   */
+  public BitboardSolitaireModel(BoardGeometry geometry) throws IllegalArgumentException {
+    this(BoardTopology.of(geometry), geometry.getDefaultEmptyRow(),
+            geometry.getDefaultEmptyCol());
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} with the given geometry, empty slot row, and empty slot column.
+   *
+   * @param geometry the shape of the board and its jumps
+   * @param sRow the empty slot row
+   * @param sCol the empty slot column
+   * @throws IllegalArgumentException if the geometry is null or the row and column aren't a slot of the board
+   */
+  public BitboardSolitaireModel(BoardGeometry geometry, int sRow, int sCol)
+          throws IllegalArgumentException {
+    this(BoardTopology.of(geometry), sRow, sCol);
+  }
+
+  /**
+   * Constructs a {@code BitboardSolitaireModel} on the given topology with an empty slot at the
+   * specified row and column.
+   */
+  private BitboardSolitaireModel(BoardTopology topology, int sRow, int sCol)
+          throws IllegalArgumentException {
+    this.topology = topology;
+    this.boardSize = topology.getBoardSize();
+
+    if (!topology.isValid(sRow, sCol)) {
+      throw new IllegalArgumentException(String.format("Invalid empty cell position (%d, %d)", sRow, sCol));
+    }
+
+    int words = (boardSize * boardSize + 63) >>> 6;
+    this.valid = new long[words];
+    this.marbles = new long[words];
+    for (int k = 0; k < topology.getValidCount(); k++) {
+      set(valid, topology.validCell(k));
+    }
+    System.arraycopy(valid, 0, marbles, 0, words);
+    clear(marbles, sRow * boardSize + sCol);
+    this.zobristKeys = ZobristKeys.forBoardSize(boardSize);
+    for (int w = 0; w < words; w++) {
+      marbleCount += Long.bitCount(marbles[w]);
+      for (long word = marbles[w]; word != 0; word &= word - 1) {
+        positionHash ^= zobristKeys[(w << 6) + Long.numberOfTrailingZeros(word)];
+      }
+    }
+  }
+
+  /**
+   * Constructs a copy of the given model without validating or building the board again. The
+   * valid cells never change, so they are shared.
+   *
+   * @param source the model to copy
+   */
+  private BitboardSolitaireModel(BitboardSolitaireModel source) {
+    this.boardSize = source.boardSize;
+    this.topology = source.topology;
+    this.valid = source.valid;
+    this.marbles = source.marbles.clone();
+    this.marbleCount = source.marbleCount;
+    this.positionHash = source.positionHash;
+    this.zobristKeys = source.zobristKeys;
+    source.history.copyInto(history);
+  }
+
+  /**
+   * Returns an independent copy of this model, with the same position and move history.
+   *
+   * @return a copy of this model
+   */
+  public BitboardSolitaireModel copy() {
+    return new BitboardSolitaireModel(this);
+  }
+
+  /**
+   * Overwrites the given model with the position and move history of this one, reusing the
+   * target's arrays unless they are shared with a snapshot.
+   *
+   * @param target a model of the same geometry
+   * @throws IllegalArgumentException if the target is null or its geometry differs
+   */
+  public void copyInto(BitboardSolitaireModel target) throws IllegalArgumentException {
+    if (target == null || target.topology != topology) {
+      throw new IllegalArgumentException("Invalid target model");
+    }
+    if (target == this) {
+      return;
+    }
+    if (target.marblesShared) {
+      target.marbles = marbles.clone();
+      target.marblesShared = false;
+    } else {
+      System.arraycopy(marbles, 0, target.marbles, 0, marbles.length);
+    }
+    target.marbleCount = marbleCount;
+    target.positionHash = positionHash;
+    history.copyInto(target.history);
+  }
+
+  /**
+   * Tests the bit for the given cell index.
+   */
+  private static boolean get(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Sets the bit for the given cell index.
+   */
+  private static void set(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  /**
+   * Clears the bit for the given cell index.
+   */
+  private static void clear(long[] bits, int index) {
+    bits[index >>> 6] &= ~(1L << index);
+  }
+
+  /**
+   * Checks whether a jump of the board's topology is a legal move. The topology only holds
+   * jumps between valid cells, so this only reads the marbles.
+   *
+   * @param jump the number of the jump
+   * @return true if the jump goes over a marble from a marble to an empty slot
+   */
+  private boolean canJump(int jump) {
+    return get(marbles, topology.from(jump)) && get(marbles, topology.over(jump))
+            && !get(marbles, topology.to(jump));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isLegalMove(int fromRow, int fromCol, int toRow, int toCol) {
+    if (fromRow < 0 || fromRow >= boardSize || fromCol < 0 || fromCol >= boardSize
+            || toRow < 0 || toRow >= boardSize || toCol < 0 || toCol >= boardSize) {
+      return false;
+    }
+    int jump = topology.jumpBetween(fromRow * boardSize + fromCol, toRow * boardSize + toCol);
+    return jump >= 0 && canJump(jump);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void move(int fromRow, int fromCol, int toRow, int toCol) throws IllegalArgumentException {
+    if (!tryMove(fromRow, fromCol, toRow, toCol)) {
+      throw new IllegalArgumentException("Invalid move");
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryMove(int fromRow, int fromCol, int toRow, int toCol) {
+    if (!isLegalMove(fromRow, fromCol, toRow, toCol)) {
+      return false;
+    }
+    int from = fromRow * boardSize + fromCol;
+    int to = toRow * boardSize + toCol;
+    jump(from, to, false);
+    history.push(from, to);
+    return true;
+  }
+
+  /**
+   * Makes or takes back the jump between the given cells, keeping the score and the position
+   * hash up to date.
+   *
+   * @param from the index of the cell the marble jumps from
+   * @param to   the index of the cell the marble lands on
+   * @param back true to take the jump back, false to make it
+   */
+  private void jump(int from, int to, boolean back) {
+    int over = (from + to) / 2;
+    if (marblesShared) {
+      marbles = marbles.clone();
+      marblesShared = false;
+    }
+    if (back) {
+      set(marbles, from);
+      set(marbles, over);
+      clear(marbles, to);
+      marbleCount++;
+    } else {
+      clear(marbles, from);
+      clear(marbles, over);
+      set(marbles, to);
+      marbleCount--;
+    }
+    positionHash ^= zobristKeys[from] ^ zobristKeys[over] ^ zobristKeys[to];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void undo() throws IllegalStateException {
+    int move = history.undo();
+    jump(history.fromAt(move), history.toAt(move), true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void redo() throws IllegalStateException {
+    int move = history.redo();
+    jump(history.fromAt(move), history.toAt(move), false);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canUndo() {
+    return history.canUndo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canRedo() {
+    return history.canRedo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int legalMoves(int[] buffer) throws IllegalArgumentException {
+    if (buffer == null || boardSize > Moves.MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException("Invalid buffer or board size");
+    }
+    int count = 0;
+    for (int w = 0; w < marbles.length; w++) {
+      for (long word = marbles[w]; word != 0; word &= word - 1) {
+        int index = (w << 6) + Long.numberOfTrailingZeros(word);
+        for (int jump = topology.jumpStart(index); jump < topology.jumpStart(index + 1); jump++) {
+          if (canJump(jump)) {
+            if (count < buffer.length) {
+              buffer[count] = Moves.encode(index, topology.to(jump));
+            }
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isGameOver() {
+    for (int w = 0; w < marbles.length; w++) {
+      long word = marbles[w];
+      while (word != 0) {
+        int index = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        for (int jump = topology.jumpStart(index); jump < topology.jumpStart(index + 1); jump++) {
+          if (canJump(jump)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+      throw new IllegalArgumentException(String.format("Invalid cell position (%d, %d)", row, col));
+    }
+    int index = row * boardSize + col;
+    if (!get(valid, index)) {
+      return SlotState.Invalid;
+    }
+    return get(marbles, index) ? SlotState.Marble : SlotState.Empty;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoardGeometry getGeometry() {
+    return topology.getGeometry();
+  }
+
+  /**
+   * Returns an immutable snapshot that shares the bitsets of this model, so taking it costs the
+   * same on any board. The next move copies the marbles before changing them.
+   *
+   * @return a snapshot of the current state
+   */
+  @Override
+  public MarbleSolitaireModelState snapshot() {
+    marblesShared = true;
+    return new Snapshot(topology, valid, marbles, marbleCount);
+  }
+
+  /**
+   * An immutable state reading the bitsets of a {@link BitboardSolitaireModel}, which are never
+   * written again once shared.
+   */
+  private static final class Snapshot implements MarbleSolitaireModelState {
+    private final BoardTopology topology;
+    private final int boardSize;
+    private final long[] valid;
+    private final long[] marbles;
+    private final int marbleCount;
+
+    private Snapshot(BoardTopology topology, long[] valid, long[] marbles, int marbleCount) {
+      this.topology = topology;
+      this.boardSize = topology.getBoardSize();
+      this.valid = valid;
+      this.marbles = marbles;
+      this.marbleCount = marbleCount;
+    }
+
+    @Override
+    public int getBoardSize() {
+      return boardSize;
+    }
+
+    @Override
+    public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+      if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+        throw new IllegalArgumentException(String.format("Invalid cell position (%d, %d)", row, col));
+      }
+      int index = row * boardSize + col;
+      if (!get(valid, index)) {
+        return SlotState.Invalid;
+      }
+      return get(marbles, index) ? SlotState.Marble : SlotState.Empty;
+    }
+
+    @Override
+    public int getScore() {
+      return marbleCount;
+    }
+
+    @Override
+    public BoardGeometry getGeometry() {
+      return topology.getGeometry();
+    }
+
+    @Override
+    public MarbleSolitaireModelState snapshot() {
+      return this;
+    }
+  }
+
+  /**
+   * Returns a 64-bit hash of the current position, the XOR of the {@link ZobristKeys} of the
+   * cells holding a marble. Equal positions hash equally in this model and in
+   * {@link EnglishSolitaireModel}.
+   *
+   * @return the hash of the position
+   */
+  public long getPositionHash() {
+    return positionHash;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getScore() {
+    return marbleCount;
+  }
+}
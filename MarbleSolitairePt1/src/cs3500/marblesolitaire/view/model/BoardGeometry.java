@@ -0,0 +1,267 @@
+package cs3500.marblesolitaire.view.model;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a board and the rules for jumping on it: a square mask of the cells that are part
+ * of the board, and the directions a marble may jump in. A marble jumps two steps in one
+ * direction, over the cell one step away. The factories build the usual variants:
+ * <ul>
+ *   <li>{@link #english(int)}: the cross-shaped English board, jumping along rows and
+ *   columns;</li>
+ *   <li>{@link #european(int)}: the octagonal European board, the English board with the inner
+ *   corners filled in;</li>
+ *   <li>{@link #triangular(int)}: a triangular board, stored left-aligned so that row {@code r}
+ *   has {@code r + 1} cells, jumping in six directions.</li>
+ * </ul>
+ * Any other shape can be built from a mask. Geometries are immutable and equal when their masks
+ * and directions are equal, so {@link BoardTopology#of(BoardGeometry)} shares one topology
+ * between them.
+ */
+public final class BoardGeometry {
+  // along rows and columns: down, left, up, right
+  private static final int[][] ORTHOGONAL = {{1, 0}, {0, -1}, {-1, 0}, {0, 1}};
+  // along rows, columns and the diagonal of a left-aligned triangle
+  private static final int[][] TRIANGULAR = {{1, 0}, {0, -1}, {-1, 0}, {0, 1}, {1, 1}, {-1, -1}};
+  // the largest board size whose cells can all be numbered by an int
+  private static final int MAX_BOARD_SIZE = 46_340;
+
+  private final int boardSize;
+  private final boolean[] mask;
+  private final int[][] directions;
+  private final int defaultEmptyRow;
+  private final int defaultEmptyCol;
+
+  /**
+   * Constructs a geometry with the given cells and jump directions. A new game empties the
+   * center cell if it is part of the board, and the first cell of the board otherwise.
+   *
+   * @param mask       a square array, true for the cells that are part of the board
+   * @param directions the single steps a marble may jump in, as {@code {dRow, dCol}} pairs
+   * @throws IllegalArgumentException if the mask is not square, has no cell or has more rows than
+   *                                  46340, or a direction is not a non-zero pair
+   */
+  public BoardGeometry(boolean[][] mask, int[][] directions) throws IllegalArgumentException {
+    this(mask, directions, -1, -1);
+  }
+
+  /**
+   * Constructs a geometry with the given default empty slot, or the center if it is negative.
+   */
+  private BoardGeometry(boolean[][] mask, int[][] directions, int emptyRow, int emptyCol)
+          throws IllegalArgumentException {
+    if (mask == null || mask.length == 0 || directions == null || directions.length == 0) {
+      throw new IllegalArgumentException("Invalid mask or directions");
+    }
+    if (mask.length > MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException(String.format("Board size %d too large", mask.length));
+    }
+    this.boardSize = mask.length;
+    this.mask = new boolean[boardSize * boardSize];
+    int first = -1;
+    for (int i = 0; i < boardSize; i++) {
+      if (mask[i] == null || mask[i].length != boardSize) {
+        throw new IllegalArgumentException(String.format("Invalid mask row %d", i));
+      }
+      for (int j = 0; j < boardSize; j++) {
+        this.mask[i * boardSize + j] = mask[i][j];
+        if (mask[i][j] && first < 0) {
+          first = i * boardSize + j;
+        }
+      }
+    }
+    if (first < 0) {
+      throw new IllegalArgumentException("Invalid mask without cells");
+    }
+    this.directions = new int[directions.length][];
+    for (int d = 0; d < directions.length; d++) {
+      if (directions[d] == null || directions[d].length != 2
+              || (directions[d][0] == 0 && directions[d][1] == 0)) {
+        throw new IllegalArgumentException(String.format("Invalid direction %d", d));
+      }
+      this.directions[d] = directions[d].clone();
+    }
+    int center = boardSize / 2;
+    if (emptyRow < 0) {
+      emptyRow = center;
+      emptyCol = center;
+    }
+    if (!isValid(emptyRow, emptyCol)) {
+      emptyRow = first / boardSize;
+      emptyCol = first % boardSize;
+    }
+    this.defaultEmptyRow = emptyRow;
+    this.defaultEmptyCol = emptyCol;
+  }
+
+  /**
+   * Returns the geometry of a board with the given cells, jumping along rows and columns.
+   *
+   * @param mask a square array, true for the cells that are part of the board
+   * @return the geometry of the board
+   * @throws IllegalArgumentException if the mask is not square or has no cell
+   */
+  public static BoardGeometry fromMask(boolean[][] mask) throws IllegalArgumentException {
+    return new BoardGeometry(mask, ORTHOGONAL);
+  }
+
+  /**
+   * Returns the geometry of the English board with the given arm thickness.
+   *
+   * @param armThickness the arm thickness of the board
+   * @return the geometry of the board
+   * @throws IllegalArgumentException if the arm thickness is not positive and odd, or is above
+   *                                  15447
+   */
+  public static BoardGeometry english(int armThickness) throws IllegalArgumentException {
+    return new BoardGeometry(armMask(armThickness, false), ORTHOGONAL);
+  }
+
+  /**
+   * Returns the geometry of the European board with the given arm thickness: the English board
+   * with each inner corner filled in up to the diagonal between the arms. An arm thickness of 3
+   * gives the standard 37-hole board.
+   *
+   * @param armThickness the arm thickness of the board
+   * @return the geometry of the board
+   * @throws IllegalArgumentException if the arm thickness is not positive and odd, or is above
+   *                                  15447
+   */
+  public static BoardGeometry european(int armThickness) throws IllegalArgumentException {
+    return new BoardGeometry(armMask(armThickness, true), ORTHOGONAL);
+  }
+
+  /**
+   * Returns the geometry of a triangular board with the given number of rows, where a marble
+   * jumps in six directions. A new game empties the top cell; 5 rows give the standard
+   * 15-hole board.
+   *
+   * @param rows the number of rows of the board
+   * @return the geometry of the board
+   * @throws IllegalArgumentException if the number of rows is not positive or is above 46340
+   */
+  public static BoardGeometry triangular(int rows) throws IllegalArgumentException {
+    if (rows <= 0) {
+      throw new IllegalArgumentException(String.format("Invalid row count %d", rows));
+    }
+    if (rows > MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException(String.format("Board size %d too large", rows));
+    }
+    boolean[][] mask = new boolean[rows][rows];
+    for (int i = 0; i < rows; i++) {
+      Arrays.fill(mask[i], 0, i + 1, true);
+    }
+    return new BoardGeometry(mask, TRIANGULAR, 0, 0);
+  }
+
+  /**
+   * Builds the mask of an English or European board.
+   */
+  private static boolean[][] armMask(int armThickness, boolean filledCorners)
+          throws IllegalArgumentException {
+    if (armThickness <= 0 || armThickness % 2 == 0) {
+      throw new IllegalArgumentException(String.format("Invalid armThickness %d", armThickness));
+    }
+    // checked before 3 * armThickness can overflow or the mask is allocated
+    if (armThickness > (MAX_BOARD_SIZE + 2) / 3) {
+      throw new IllegalArgumentException(String.format(
+          "Arm thickness %d too large for a %d-wide board", armThickness, MAX_BOARD_SIZE));
+    }
+    int boardSize = armThickness * 3 - 2;
+    int armCenter = armThickness - 1;
+    boolean[][] mask = new boolean[boardSize][boardSize];
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        // distances into the corner square, from its inner edges
+        int cornerRow = Math.max(armCenter - i, i - (boardSize - 1 - armCenter));
+        int cornerCol = Math.max(armCenter - j, j - (boardSize - 1 - armCenter));
+        mask[i][j] = cornerRow <= 0 || cornerCol <= 0
+                || (filledCorners && cornerRow + cornerCol <= armCenter);
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the number of rows and columns of the board.
+   *
+   * @return the board size
+   */
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  /**
+   * Checks whether the cell at the given position is part of the board.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return true if the position is inside the board and a slot of it
+   */
+  public boolean isValid(int row, int col) {
+    return row >= 0 && row < boardSize && col >= 0 && col < boardSize
+            && mask[row * boardSize + col];
+  }
+
+  /**
+   * Returns the number of directions a marble may jump in.
+   *
+   * @return the number of directions
+   */
+  public int getDirectionCount() {
+    return directions.length;
+  }
+
+  /**
+   * Returns the row step of a direction.
+   *
+   * @param direction the number of the direction
+   * @return the row step of one cell in the direction
+   */
+  public int rowStep(int direction) {
+    return directions[direction][0];
+  }
+
+  /**
+   * Returns the column step of a direction.
+   *
+   * @param direction the number of the direction
+   * @return the column step of one cell in the direction
+   */
+  public int colStep(int direction) {
+    return directions[direction][1];
+  }
+
+  /**
+   * Returns the row of the slot a new game empties by default.
+   *
+   * @return the row of the default empty slot
+   */
+  public int getDefaultEmptyRow() {
+    return defaultEmptyRow;
+  }
+
+  /**
+   * Returns the column of the slot a new game empties by default.
+   *
+   * @return the column of the default empty slot
+   */
+  public int getDefaultEmptyCol() {
+    return defaultEmptyCol;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof BoardGeometry)) {
+      return false;
+    }
+    BoardGeometry that = (BoardGeometry) other;
+    return boardSize == that.boardSize && Arrays.equals(mask, that.mask)
+            && Arrays.deepEquals(directions, that.directions);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(mask) + Arrays.deepHashCode(directions);
+  }
+}
@@ -0,0 +1,76 @@
+package cs3500.marblesolitaire.view.model;
+
+/**
+ * An immutable copy of the state of a board at one point in time. A snapshot taken on the thread
+ * that changes a model can be handed to any other thread, which sees the board as it was when the
+ * snapshot was taken however the model changes afterwards.
+ *
+ * <p>The rows of a snapshot are never written, so snapshots taken by
+ * {@link EnglishSolitaireModel#snapshot()} share them with the model, which copies a row only
+ * before it next changes it.
+ */
+public final class BoardSnapshot implements MarbleSolitaireModelState {
+  private final int boardSize;
+  private final SlotState[][] rows;
+  private final int score;
+
+  /**
+   * Constructs a snapshot of the given state by copying all its slots.
+   *
+   * @param state the state to copy
+   * @throws IllegalArgumentException if the state is null
+   */
+  public BoardSnapshot(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    if (state == null) {
+      throw new IllegalArgumentException("Invalid state");
+    }
+    this.boardSize = state.getBoardSize();
+    this.rows = new SlotState[boardSize][boardSize];
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        rows[i][j] = state.getSlotAt(i, j);
+      }
+    }
+    this.score = state.getScore();
+  }
+
+  /**
+   * Constructs a snapshot from rows that nobody writes any more.
+   *
+   * @param rows  the rows of the board, shared with the caller
+   * @param score the number of marbles on the board
+   */
+  BoardSnapshot(SlotState[][] rows, int score) {
+    this.boardSize = rows.length;
+    this.rows = rows;
+    this.score = score;
+  }
+
+  @Override
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  @Override
+  public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+    if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+      throw new IllegalArgumentException(String.format("Invalid cell position (%d, %d)", row, col));
+    }
+    return rows[row][col];
+  }
+
+  @Override
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Returns this snapshot, which is already immutable.
+   *
+   * @return this snapshot
+   */
+  @Override
+  public MarbleSolitaireModelState snapshot() {
+    return this;
+  }
+}
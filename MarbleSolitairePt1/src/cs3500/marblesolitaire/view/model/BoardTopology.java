@@ -0,0 +1,317 @@
+package cs3500.marblesolitaire.view.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The fixed shape of a board: which cells are part of it and every jump that can ever be made on
+ * it, as laid out by a {@link BoardGeometry}. Cells are numbered row by row,
+ * {@code row * boardSize + col}. A jump is a triple of cells (from, over, to); jumps are numbered
+ * by the cell they start from, and within a cell in the order of the geometry's directions.
+ *
+ * <p>Tables are built once per geometry and shared by every model of that shape, so checking
+ * or listing moves is a matter of reading arrays instead of recomputing the board's geometry:
+ * <ul>
+ *   <li>the jumps starting at cell {@code c} are those from {@code jumpStart(c)} up to
+ *   {@code jumpStart(c + 1)};</li>
+ *   <li>the jumps through cell {@code c} (as from, over or to cell) are
+ *   {@code touching(k)} for {@code k} from {@code touchStart(c)} up to
+ *   {@code touchStart(c + 1)}.</li>
+ * </ul>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class BoardTopology {
+  private static final ConcurrentMap<BoardGeometry, BoardTopology> TOPOLOGIES =
+          new ConcurrentHashMap<>();
+  // English boards by arm thickness, to skip hashing their geometry
+  private static final ConcurrentMap<Integer, BoardTopology> ENGLISH = new ConcurrentHashMap<>();
+
+  private final BoardGeometry geometry;
+  private final int boardSize;
+  private final boolean[] valid;
+  private final int[] validCells;
+  private final int[] rowOf;
+  private final int[] colOf;
+  private final int[] jumpFrom;
+  private final int[] jumpOver;
+  private final int[] jumpTo;
+  // compressed rows: the jumps starting at each cell
+  private final int[] jumpStart;
+  // compressed rows: the jumps through each cell
+  private final int[] touchStart;
+  private final int[] touching;
+
+  /**
+   * Builds the tables of the board with the given geometry.
+   */
+  private BoardTopology(BoardGeometry geometry) {
+    this.geometry = geometry;
+    this.boardSize = geometry.getBoardSize();
+    int cells = boardSize * boardSize;
+    int directions = geometry.getDirectionCount();
+    this.valid = new boolean[cells];
+    this.rowOf = new int[cells];
+    this.colOf = new int[cells];
+    int validCount = 0;
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        rowOf[i * boardSize + j] = i;
+        colOf[i * boardSize + j] = j;
+        valid[i * boardSize + j] = geometry.isValid(i, j);
+        validCount += valid[i * boardSize + j] ? 1 : 0;
+      }
+    }
+    this.validCells = new int[validCount];
+    for (int cell = 0, k = 0; cell < cells; cell++) {
+      if (valid[cell]) {
+        validCells[k++] = cell;
+      }
+    }
+
+    int[] from = new int[directions * validCount];
+    int[] over = new int[directions * validCount];
+    int[] to = new int[directions * validCount];
+    this.jumpStart = new int[cells + 1];
+    int jumps = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      jumpStart[cell] = jumps;
+      int row = cell / boardSize;
+      int col = cell % boardSize;
+      for (int d = 0; d < directions && valid[cell]; d++) {
+        int overRow = row + geometry.rowStep(d);
+        int overCol = col + geometry.colStep(d);
+        int toRow = overRow + geometry.rowStep(d);
+        int toCol = overCol + geometry.colStep(d);
+        if (geometry.isValid(overRow, overCol) && geometry.isValid(toRow, toCol)) {
+          from[jumps] = cell;
+          over[jumps] = overRow * boardSize + overCol;
+          to[jumps] = toRow * boardSize + toCol;
+          jumps++;
+        }
+      }
+    }
+    jumpStart[cells] = jumps;
+    this.jumpFrom = Arrays.copyOf(from, jumps);
+    this.jumpOver = Arrays.copyOf(over, jumps);
+    this.jumpTo = Arrays.copyOf(to, jumps);
+
+    this.touchStart = new int[cells + 1];
+    for (int jump = 0; jump < jumps; jump++) {
+      touchStart[jumpFrom[jump] + 1]++;
+      touchStart[jumpOver[jump] + 1]++;
+      touchStart[jumpTo[jump] + 1]++;
+    }
+    for (int cell = 0; cell < cells; cell++) {
+      touchStart[cell + 1] += touchStart[cell];
+    }
+    this.touching = new int[3 * jumps];
+    int[] next = Arrays.copyOf(touchStart, cells);
+    for (int jump = 0; jump < jumps; jump++) {
+      touching[next[jumpFrom[jump]]++] = jump;
+      touching[next[jumpOver[jump]]++] = jump;
+      touching[next[jumpTo[jump]]++] = jump;
+    }
+  }
+
+  /**
+   * Returns the shared topology of the board with the given geometry.
+   *
+   * @param geometry the geometry of the board
+   * @return the topology of the board
+   * @throws IllegalArgumentException if the geometry is null
+   */
+  public static BoardTopology of(BoardGeometry geometry) throws IllegalArgumentException {
+    if (geometry == null) {
+      throw new IllegalArgumentException("Invalid geometry");
+    }
+    BoardTopology topology = TOPOLOGIES.get(geometry);
+    if (topology == null) {
+      topology = TOPOLOGIES.computeIfAbsent(geometry, BoardTopology::new);
+    }
+    return topology;
+  }
+
+  /**
+   * Returns the shared topology of the English board with the given arm thickness.
+   *
+   * @param armThickness the arm thickness of the board
+   * @return the topology of the board
+   * @throws IllegalArgumentException if the arm thickness is not positive and odd
+   */
+  public static BoardTopology forArmThickness(int armThickness) throws IllegalArgumentException {
+    BoardTopology topology = ENGLISH.get(armThickness);
+    if (topology == null) {
+      // validates the arm thickness before anything is cached
+      topology = ENGLISH.computeIfAbsent(armThickness,
+          arm -> of(BoardGeometry.english(arm)));
+    }
+    return topology;
+  }
+
+  /**
+   * Returns the geometry the tables were built from.
+   *
+   * @return the geometry of the board
+   */
+  public BoardGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Returns the number of rows and columns of the board.
+   *
+   * @return the board size
+   */
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  /**
+   * Checks whether a cell is part of the board.
+   *
+   * @param cell the index of the cell
+   * @return true if the cell is a slot of the board
+   */
+  public boolean isValid(int cell) {
+    return valid[cell];
+  }
+
+  /**
+   * Checks whether the cell at the given position is part of the board.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return true if the position is inside the board and a slot of it
+   */
+  public boolean isValid(int row, int col) {
+    return row >= 0 && row < boardSize && col >= 0 && col < boardSize
+            && valid[row * boardSize + col];
+  }
+
+  /**
+   * Returns the row of a cell.
+   *
+   * @param cell the index of the cell
+   * @return the row of the cell
+   */
+  public int rowOf(int cell) {
+    return rowOf[cell];
+  }
+
+  /**
+   * Returns the column of a cell.
+   *
+   * @param cell the index of the cell
+   * @return the column of the cell
+   */
+  public int colOf(int cell) {
+    return colOf[cell];
+  }
+
+  /**
+   * Returns the number of slots of the board.
+   *
+   * @return the number of valid cells
+   */
+  public int getValidCount() {
+    return validCells.length;
+  }
+
+  /**
+   * Returns a slot of the board.
+   *
+   * @param k the position of the slot among the slots, in cell order
+   * @return the index of the cell
+   */
+  public int validCell(int k) {
+    return validCells[k];
+  }
+
+  /**
+   * Returns the number of jumps on the board.
+   *
+   * @return the number of jumps
+   */
+  public int getJumpCount() {
+    return jumpFrom.length;
+  }
+
+  /**
+   * Returns the cell a jump starts from.
+   *
+   * @param jump the number of the jump
+   * @return the index of the cell
+   */
+  public int from(int jump) {
+    return jumpFrom[jump];
+  }
+
+  /**
+   * Returns the cell a jump passes over.
+   *
+   * @param jump the number of the jump
+   * @return the index of the cell
+   */
+  public int over(int jump) {
+    return jumpOver[jump];
+  }
+
+  /**
+   * Returns the cell a jump lands on.
+   *
+   * @param jump the number of the jump
+   * @return the index of the cell
+   */
+  public int to(int jump) {
+    return jumpTo[jump];
+  }
+
+  /**
+   * Returns the number of the first jump starting at a cell; the jumps starting at the cell end
+   * where those of the next cell begin.
+   *
+   * @param cell the index of the cell, up to the number of cells
+   * @return the number of the first jump from the cell
+   */
+  public int jumpStart(int cell) {
+    return jumpStart[cell];
+  }
+
+  /**
+   * Returns the position of the first jump through a cell in {@link #touching(int)}; the jumps
+   * through the cell end where those of the next cell begin.
+   *
+   * @param cell the index of the cell, up to the number of cells
+   * @return the position of the first jump through the cell
+   */
+  public int touchStart(int cell) {
+    return touchStart[cell];
+  }
+
+  /**
+   * Returns a jump through some cell, as listed by {@link #touchStart(int)}.
+   *
+   * @param k the position in the list of jumps through cells
+   * @return the number of the jump
+   */
+  public int touching(int k) {
+    return touching[k];
+  }
+
+  /**
+   * Finds the jump between two cells.
+   *
+   * @param from the index of the cell the jump starts from
+   * @param to   the index of the cell the jump lands on
+   * @return the number of the jump, or -1 if no jump joins the cells
+   */
+  public int jumpBetween(int from, int to) {
+    for (int jump = jumpStart[from]; jump < jumpStart[from + 1]; jump++) {
+      if (jumpTo[jump] == to) {
+        return jump;
+      }
+    }
+    return -1;
+  }
+}
@@ -1,5 +1,10 @@
 package cs3500.marblesolitaire.view.model;
 
+import java.util.Arrays;
+
+import cs3500.marblesolitaire.view.jfr.GameOverCheckEvent;
+import cs3500.marblesolitaire.view.jfr.MoveEvent;
+
 /**
  * Represents a model for the English Solitaire game.
  * The board consists of slots, which can be marbles, empty, or invalid.
@@ -7,15 +12,23 @@ package cs3500.marblesolitaire.view.model;
 public class EnglishSolitaireModel implements MarbleSolitaireModel {
   private static final int DEFAULT_ARM_THICKNESS = 3;
   private SlotState[][] board;
+  // the valid cells and jumps of the board, shared by every model of the same size
+  private BoardTopology topology;
+  // rows shared with a snapshot, copied before they are next written
+  private boolean[] sharedRows;
   private int armThickness;
   private int boardSize;
   private int emptyRow;
   private int emptyCol;
 
-  private int removeRow;
-  private int removeCol;
   private int marblesRemoved;
   private int invalidPositions;
+  // number of legal moves on the board, kept up to date by move
+  private int legalMoveCount;
+  // Zobrist hash of the marbles on the board, kept up to date by move
+  private long positionHash;
+  private long[] zobristKeys;
+  private MoveLog history;
 
   /**
    * Constructs a {@code EnglishSolitaireModel} with an arm thickness of 3 and an empty slot in the center.
@@ -39,7 +52,7 @@ public class EnglishSolitaireModel implements MarbleSolitaireModel {
    * Constructs a {@code EnglishSolitaireModel} with the specified arm thickness and an empty slot in the center.
    *
    * @param armThickness the arm thickness of the board
-   * @throws IllegalArgumentException if the arm thickness is negative or even
+   * @throws IllegalArgumentException if the arm thickness is negative, even or above 15447
    */
   public EnglishSolitaireModel(int armThickness) throws IllegalArgumentException {
     this(armThickness, armThickness * 3 / 2 - 1, armThickness * 3 / 2 - 1);
@@ -51,16 +64,14 @@ public class EnglishSolitaireModel implements MarbleSolitaireModel {
    * @param armThickness the arm thickness of the board
    * @param sRow the empty slot row
    * @param sCol the empty slot column
-   * @throws IllegalArgumentException if the arm thickness is negative or even, or if the row and column aren't within the board size
+   * @throws IllegalArgumentException if the arm thickness is negative, even or above 15447, or if the row and column aren't within the board size
    */
   public EnglishSolitaireModel(int armThickness, int sRow, int sCol) throws IllegalArgumentException {
-    if (armThickness <= 0 || armThickness % 2 == 0) {
-      throw new IllegalArgumentException(String.format("Invalid armThickness %d", armThickness));
-    }
+    this.topology = BoardTopology.forArmThickness(armThickness);
     this.armThickness = armThickness;
-    this.boardSize = armThickness * 3 - 2;
+    this.boardSize = topology.getBoardSize();
 
-    if (sRow < 0 || sRow >= boardSize || sCol < 0 || sCol >= boardSize || !validRowCol(sRow, sCol)) {
+    if (!topology.isValid(sRow, sCol)) {
       throw new IllegalArgumentException(String.format("Invalid empty cell position (%d, %d)", sRow, sCol));
     }
 
@@ -68,20 +79,78 @@ public class EnglishSolitaireModel implements MarbleSolitaireModel {
   }
 
   /**
-   * Checks whether the specified row and column pair is valid.
+   * Constructs a copy of the given model without validating or building the board again.
    *
-   * @param row the specified row
-   * @param col the specified column
-   * @return true if the row and column pair is valid; false otherwise
+   * @param source the model to copy
    */
-  private boolean validRowCol(int row, int col) {
-    int armCenter = armThickness - 1;
-    int centerSize = armThickness + (armThickness - 2);
+  private EnglishSolitaireModel(EnglishSolitaireModel source) {
+    this.armThickness = source.armThickness;
+    this.boardSize = source.boardSize;
+    this.topology = source.topology;
+    this.emptyRow = source.emptyRow;
+    this.emptyCol = source.emptyCol;
+    this.invalidPositions = source.invalidPositions;
+    this.zobristKeys = source.zobristKeys;
+    this.board = new SlotState[boardSize][];
+    for (int i = 0; i < boardSize; i++) {
+      board[i] = source.board[i].clone();
+    }
+    this.sharedRows = new boolean[boardSize];
+    this.history = new MoveLog();
+    source.history.copyInto(history);
+    this.marblesRemoved = source.marblesRemoved;
+    this.legalMoveCount = source.legalMoveCount;
+    this.positionHash = source.positionHash;
+  }
 
-    if ((row < armCenter || row >= boardSize - armCenter) && (col < armCenter || col >= boardSize - armCenter)) {
-      return false;
+  /**
+   * Returns an independent copy of this model, with the same position and move history. The
+   * board is copied row by row, without validating its layout again.
+   *
+   * @return a copy of this model
+   */
+  public EnglishSolitaireModel copy() {
+    return new EnglishSolitaireModel(this);
+  }
+
+  /**
+   * Overwrites the given model with the position and move history of this one, reusing the
+   * target's arrays, so a model can be reset to a position without allocating. Rows the target
+   * shares with a snapshot are replaced rather than overwritten.
+   *
+   * @param target a model of the same arm thickness
+   * @throws IllegalArgumentException if the target is null or its arm thickness differs
+   */
+  public void copyInto(EnglishSolitaireModel target) throws IllegalArgumentException {
+    if (target == null || target.armThickness != armThickness) {
+      throw new IllegalArgumentException("Invalid target model");
+    }
+    if (target == this) {
+      return;
+    }
+    for (int i = 0; i < boardSize; i++) {
+      if (target.sharedRows[i]) {
+        target.board[i] = board[i].clone();
+        target.sharedRows[i] = false;
+      } else {
+        System.arraycopy(board[i], 0, target.board[i], 0, boardSize);
+      }
     }
-    return true;
+    history.copyInto(target.history);
+    target.emptyRow = emptyRow;
+    target.emptyCol = emptyCol;
+    target.marblesRemoved = marblesRemoved;
+    target.legalMoveCount = legalMoveCount;
+    target.positionHash = positionHash;
+  }
+
+  /**
+   * Returns the arm thickness of the board.
+   *
+   * @return the arm thickness
+   */
+  public int getArmThickness() {
+    return armThickness;
   }
 
   /**
@@ -95,93 +164,304 @@ public class EnglishSolitaireModel implements MarbleSolitaireModel {
     this.armThickness = armThickness;
     this.emptyRow = emptyRow;
     this.emptyCol = emptyCol;
-    this.boardSize = armThickness * 3 - 2;
     this.marblesRemoved = 0;
-    this.invalidPositions = 0;
+    this.invalidPositions = boardSize * boardSize - topology.getValidCount();
+    this.legalMoveCount = 0;
+    this.positionHash = 0;
+    this.zobristKeys = ZobristKeys.forBoardSize(boardSize);
+    this.history = new MoveLog();
     this.board = new SlotState[boardSize][boardSize];
+    this.sharedRows = new boolean[boardSize];
 
     for (int i = 0; i < boardSize; i++) {
       for (int j = 0; j < boardSize; j++) {
-        if (!validRowCol(i, j)) {
+        if (!topology.isValid(i, j)) {
           board[i][j] = SlotState.Invalid;
-          invalidPositions++;
         } else if (i == emptyRow && j == emptyCol) {
           board[i][j] = SlotState.Empty;
         } else {
           board[i][j] = SlotState.Marble;
+          positionHash ^= zobristKeys[i * boardSize + j];
         }
       }
     }
+
+    for (int jump = 0; jump < topology.getJumpCount(); jump++) {
+      if (canJump(jump)) {
+        legalMoveCount++;
+      }
+    }
   }
 
   /**
-   * @param fromRow the row number of the position to be moved from
-   *                (starts at 0)
-   * @param fromCol the column number of the position to be moved from
-   *                (starts at 0)
-   * @param toRow   the row number of the position to be moved to
-   *                (starts at 0)
-   * @param toCol   the column number of the position to be moved to
-   *                (starts at 0)
-   * @return true if moving to and from the specified positions is valid, false if not
+   * Returns the content of a cell.
+   *
+   * @param cell the index of the cell, {@code row * boardSize + col}
+   * @return the state of the slot
    */
+  private SlotState slot(int cell) {
+    return board[topology.rowOf(cell)][topology.colOf(cell)];
+  }
 
-  private boolean openMove(int fromRow, int fromCol, int toRow, int toCol) {
-    if (fromRow < 0 || fromRow >= boardSize || fromCol < 0 || fromCol >= boardSize ||
-            toRow < 0 || toRow >= boardSize || toCol < 0 || toCol >= boardSize) {
-      return false;
+  /**
+   * Checks whether a jump of the board's topology is a legal move.
+   *
+   * @param jump the number of the jump
+   * @return true if the jump is a legal move, false otherwise
+   */
+  private boolean canJump(int jump) {
+    return slot(topology.from(jump)) == SlotState.Marble
+            && slot(topology.over(jump)) == SlotState.Marble
+            && slot(topology.to(jump)) == SlotState.Empty;
+  }
+
+  /**
+   * Counts the legal moves that touch at least one of the three cells of a move, reading the
+   * jumps through each cell from the topology, so it costs the same on any board size. A jump
+   * that touches several of the cells is only counted for the first one.
+   *
+   * @param from the index of the first cell
+   * @param over the index of the second cell
+   * @param to   the index of the third cell
+   * @return the number of legal moves through the cells
+   */
+  private int countMovesAround(int from, int over, int to) {
+    int count = 0;
+    for (int k = topology.touchStart(from); k < topology.touchStart(from + 1); k++) {
+      if (canJump(topology.touching(k))) {
+        count++;
+      }
     }
-    if (board[fromRow][fromCol] != SlotState.Marble || board[toRow][toCol] != SlotState.Empty) {
-      return false;
+    for (int k = topology.touchStart(over); k < topology.touchStart(over + 1); k++) {
+      int jump = topology.touching(k);
+      if (!touches(jump, from) && canJump(jump)) {
+        count++;
+      }
     }
-
-    int dRow = Math.abs(fromRow - toRow);
-    int dCol = Math.abs(fromCol - toCol);
-    if ((dRow == 2 && dCol == 0) || (dRow == 0 && dCol == 2)) {
-      int middleRow = (fromRow + toRow) / 2;
-      int middleCol = (fromCol + toCol) / 2;
-      if (board[middleRow][middleCol] == SlotState.Marble) {
-        removeRow = middleRow;
-        removeCol = middleCol;
-        return true;
+    for (int k = topology.touchStart(to); k < topology.touchStart(to + 1); k++) {
+      int jump = topology.touching(k);
+      if (!touches(jump, from) && !touches(jump, over) && canJump(jump)) {
+        count++;
       }
     }
-    return false;
+    return count;
+  }
+
+  /**
+   * Checks whether a jump passes through the given cell.
+   *
+   * @return true if the cell is the from, over or to cell of the jump
+   */
+  private boolean touches(int jump, int cell) {
+    return topology.from(jump) == cell || topology.over(jump) == cell
+            || topology.to(jump) == cell;
   }
 
   /**
    * {@inheritDoc}
    */
+  @Override
+  public boolean isLegalMove(int fromRow, int fromCol, int toRow, int toCol) {
+    if (fromRow < 0 || fromRow >= boardSize || fromCol < 0 || fromCol >= boardSize ||
+            toRow < 0 || toRow >= boardSize || toCol < 0 || toCol >= boardSize) {
+      return false;
+    }
+    int jump = topology.jumpBetween(fromRow * boardSize + fromCol, toRow * boardSize + toCol);
+    return jump >= 0 && canJump(jump);
+  }
 
+  /**
+   * {@inheritDoc}
+   */
   @Override
   public void move(int fromRow, int fromCol, int toRow, int toCol) throws IllegalArgumentException {
-    if (!openMove(fromRow, fromCol, toRow, toCol)) {
+    if (!tryMove(fromRow, fromCol, toRow, toCol)) {
       throw new IllegalArgumentException("Invalid move");
     }
-    board[removeRow][removeCol] = SlotState.Empty;
-    marblesRemoved++;
-    board[fromRow][fromCol] = SlotState.Empty;
-    board[toRow][toCol] = SlotState.Marble;
   }
 
   /**
    * {@inheritDoc}
+   *
+   * <p>Every attempt is recorded as a {@link MoveEvent} when Flight Recorder enables it.
    */
   @Override
-  public boolean isGameOver() {
-    for (int i = 0; i < boardSize; i++) {
-      for (int j = 0; j < boardSize; j++) {
-        if (board[i][j] == SlotState.Marble) {
-          if ((i + 2 < boardSize && openMove(i, j, i + 2, j)) ||
-                  (i - 2 >= 0 && openMove(i, j, i - 2, j)) ||
-                  (j + 2 < boardSize && openMove(i, j, i, j + 2)) ||
-                  (j - 2 >= 0 && openMove(i, j, i, j - 2))) {
-            return false;
+  public boolean tryMove(int fromRow, int fromCol, int toRow, int toCol) {
+    MoveEvent event = new MoveEvent();
+    event.begin();
+    boolean legal = isLegalMove(fromRow, fromCol, toRow, toCol);
+    if (legal) {
+      int from = fromRow * boardSize + fromCol;
+      int to = toRow * boardSize + toCol;
+      jump(from, to, false);
+      history.push(from, to);
+    }
+    if (event.shouldCommit()) {
+      event.boardSize = boardSize;
+      event.fromRow = fromRow;
+      event.fromCol = fromCol;
+      event.toRow = toRow;
+      event.toCol = toCol;
+      event.legal = legal;
+      event.score = getScore();
+      event.commit();
+    }
+    return legal;
+  }
+
+  /**
+   * Makes or takes back the jump between the given cells, keeping the score, the legal move
+   * count and the position hash up to date.
+   *
+   * @param from the index of the cell the marble jumps from
+   * @param to   the index of the cell the marble lands on
+   * @param back true to take the jump back, false to make it
+   */
+  private void jump(int from, int to, boolean back) {
+    int over = (from + to) / 2;
+    legalMoveCount -= countMovesAround(from, over, to);
+    set(from, back ? SlotState.Marble : SlotState.Empty);
+    set(over, back ? SlotState.Marble : SlotState.Empty);
+    set(to, back ? SlotState.Empty : SlotState.Marble);
+    marblesRemoved += back ? -1 : 1;
+    legalMoveCount += countMovesAround(from, over, to);
+    positionHash ^= zobristKeys[from] ^ zobristKeys[over] ^ zobristKeys[to];
+  }
+
+  /**
+   * Changes the content of a cell, first copying its row if it is shared with a snapshot.
+   *
+   * @param cell  the index of the cell
+   * @param state the new state of the slot
+   */
+  private void set(int cell, SlotState state) {
+    int row = topology.rowOf(cell);
+    ownRow(row);
+    board[row][topology.colOf(cell)] = state;
+  }
+
+  /**
+   * Copies the given row if it is shared with a snapshot, so it can be written.
+   *
+   * @param row the row about to be written
+   */
+  private void ownRow(int row) {
+    if (sharedRows[row]) {
+      board[row] = board[row].clone();
+      sharedRows[row] = false;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoardGeometry getGeometry() {
+    return topology.getGeometry();
+  }
+
+  /**
+   * Returns an immutable snapshot that shares every row with this model. Taking it costs one
+   * pass over the rows, and each later move copies only the rows it changes that are still
+   * shared, at most three.
+   *
+   * @return a snapshot of the current state
+   */
+  @Override
+  public MarbleSolitaireModelState snapshot() {
+    Arrays.fill(sharedRows, true);
+    return new BoardSnapshot(board.clone(), getScore());
+  }
+
+  /**
+   * Replays an entry of the move history in either direction.
+   *
+   * @param move the position of the move in the history
+   * @param back true to take the move back, false to make it again
+   */
+  private void replay(int move, boolean back) {
+    jump(history.fromAt(move), history.toAt(move), back);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void undo() throws IllegalStateException {
+    replay(history.undo(), true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void redo() throws IllegalStateException {
+    replay(history.redo(), false);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canUndo() {
+    return history.canUndo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canRedo() {
+    return history.canRedo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int legalMoves(int[] buffer) throws IllegalArgumentException {
+    if (buffer == null || boardSize > Moves.MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException("Invalid buffer or board size");
+    }
+    if (legalMoveCount == 0) {
+      return 0;
+    }
+    int count = 0;
+    for (int k = 0; k < topology.getValidCount(); k++) {
+      int cell = topology.validCell(k);
+      if (slot(cell) != SlotState.Marble) {
+        continue;
+      }
+      for (int jump = topology.jumpStart(cell); jump < topology.jumpStart(cell + 1); jump++) {
+        if (canJump(jump)) {
+          if (count < buffer.length) {
+            buffer[count] = Moves.encode(cell, topology.to(jump));
           }
+          count++;
         }
       }
     }
-    return true;
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Every evaluation is recorded as a {@link GameOverCheckEvent} when Flight Recorder enables
+   * it.
+   */
+  @Override
+  public boolean isGameOver() {
+    GameOverCheckEvent event = new GameOverCheckEvent();
+    event.begin();
+    boolean gameOver = legalMoveCount == 0;
+    if (event.shouldCommit()) {
+      event.boardSize = boardSize;
+      event.score = getScore();
+      event.gameOver = gameOver;
+      event.commit();
+    }
+    return gameOver;
   }
 
   /**
@@ -203,6 +483,16 @@ public class EnglishSolitaireModel implements MarbleSolitaireModel {
     return board[row][col];
   }
 
+  /**
+   * Returns a 64-bit hash of the current position, the XOR of the {@link ZobristKeys} of the
+   * cells holding a marble. It is kept up to date by each move, so reading it costs nothing.
+   *
+   * @return the hash of the position
+   */
+  public long getPositionHash() {
+    return positionHash;
+  }
+
   /**
    * {@inheritDoc}
    */
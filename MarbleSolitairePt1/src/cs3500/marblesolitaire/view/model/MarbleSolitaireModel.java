@@ -31,5 +31,50 @@ public interface MarbleSolitaireModel extends MarbleSolitaireModelState {
    */
   boolean isGameOver();
 
+  /**
+   * Takes back the last move that was made and not yet undone, putting back the marble it
+   * removed. Undone moves can be redone until a new move is made.
+   *
+   * @throws IllegalStateException if no move has been made
+   */
+  void undo() throws IllegalStateException;
+
+  /**
+   * Makes again the last move that was undone.
+   *
+   * @throws IllegalStateException if there is no undone move, or a move was made since
+   */
+  void redo() throws IllegalStateException;
+
+  /**
+   * Checks whether there is a move to undo.
+   *
+   * @return true if {@link #undo()} would succeed
+   */
+  boolean canUndo();
 
+  /**
+   * Checks whether there is a move to redo.
+   *
+   * @return true if {@link #redo()} would succeed
+   */
+  boolean canRedo();
+
+  /**
+   * Moves a single marble like {@link #move(int, int, int, int)}, but reports an illegal move by
+   * returning false instead of throwing, which is much cheaper for callers that try many moves.
+   *
+   * @param fromRow the row number of the position to be moved from
+   * @param fromCol the column number of the position to be moved from
+   * @param toRow   the row number of the position to be moved to
+   * @param toCol   the column number of the position to be moved to
+   * @return true if the move was made, false if it is not legal
+   */
+  default boolean tryMove(int fromRow, int fromCol, int toRow, int toCol) {
+    if (!isLegalMove(fromRow, fromCol, toRow, toCol)) {
+      return false;
+    }
+    move(fromRow, fromCol, toRow, toCol);
+    return true;
+  }
 }
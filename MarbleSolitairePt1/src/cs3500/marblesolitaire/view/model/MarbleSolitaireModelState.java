@@ -35,4 +35,100 @@ public interface MarbleSolitaireModelState {
    * @return the number of marbles currently on the board
    */
   int getScore();
+
+  /**
+   * Returns the geometry of the board: which cells are part of it and the directions a marble
+   * may jump in. By default the valid cells are read slot by slot and marbles jump along rows and
+   * columns; models on other geometries override this.
+   *
+   * @return the geometry of the board
+   */
+  default BoardGeometry getGeometry() {
+    int size = getBoardSize();
+    boolean[][] mask = new boolean[size][size];
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        mask[i][j] = getSlotAt(i, j) != SlotState.Invalid;
+      }
+    }
+    return BoardGeometry.fromMask(mask);
+  }
+
+  /**
+   * Returns an immutable copy of the current state. Later changes do not affect the copy, and any
+   * thread can read it without locking. By default every slot is copied; models override this to
+   * share their storage with the copy, so a snapshot costs far less than the board.
+   *
+   * @return a snapshot of the current state
+   */
+  default MarbleSolitaireModelState snapshot() {
+    return new BoardSnapshot(this);
+  }
+
+  /**
+   * Checks whether the marble at the given position can be moved to the given position, without
+   * changing the state. Unlike a failed move, an illegal move is reported without an exception,
+   * and positions outside the board are simply illegal.
+   *
+   * @param fromRow the row number of the position to be moved from
+   * @param fromCol the column number of the position to be moved from
+   * @param toRow   the row number of the position to be moved to
+   * @param toCol   the column number of the position to be moved to
+   * @return true if the move is legal, false otherwise
+   */
+  default boolean isLegalMove(int fromRow, int fromCol, int toRow, int toCol) {
+    int size = getBoardSize();
+    if (fromRow < 0 || fromRow >= size || fromCol < 0 || fromCol >= size
+            || toRow < 0 || toRow >= size || toCol < 0 || toCol >= size) {
+      return false;
+    }
+    int dRow = Math.abs(toRow - fromRow);
+    int dCol = Math.abs(toCol - fromCol);
+    if (!((dRow == 2 && dCol == 0) || (dRow == 0 && dCol == 2))) {
+      return false;
+    }
+    return getSlotAt(fromRow, fromCol) == SlotState.Marble
+            && getSlotAt((fromRow + toRow) / 2, (fromCol + toCol) / 2) == SlotState.Marble
+            && getSlotAt(toRow, toCol) == SlotState.Empty;
+  }
+
+  /**
+   * Writes every legal move of the current state into the given buffer, encoded as described in
+   * {@link Moves}, without allocating any objects. If the buffer is too small, only the first
+   * {@code buffer.length} moves are written, but all moves are still counted; a buffer of
+   * {@link Moves#maxLegalMoves(int)} entries is always large enough.
+   *
+   * @param buffer the buffer to write the moves into
+   * @return the number of legal moves, which may exceed the length of the buffer
+   * @throws IllegalArgumentException if the buffer is null or the board is too large to encode
+   */
+  default int legalMoves(int[] buffer) throws IllegalArgumentException {
+    int size = getBoardSize();
+    if (buffer == null || size > Moves.MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException("Invalid buffer or board size");
+    }
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        if (getSlotAt(i, j) != SlotState.Marble) {
+          continue;
+        }
+        for (int step = -2; step <= 2; step += 4) {
+          if (isLegalMove(i, j, i + step, j)) {
+            if (count < buffer.length) {
+              buffer[count] = Moves.encode(i, j, i + step, j, size);
+            }
+            count++;
+          }
+          if (isLegalMove(i, j, i, j + step)) {
+            if (count < buffer.length) {
+              buffer[count] = Moves.encode(i, j, i, j + step, size);
+            }
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
 }
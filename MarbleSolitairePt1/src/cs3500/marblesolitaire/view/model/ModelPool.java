@@ -0,0 +1,125 @@
+package cs3500.marblesolitaire.view.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe pool of idle {@link EnglishSolitaireModel}s, kept apart by arm thickness. A model
+ * taken from the pool is overwritten with the requested position by
+ * {@link EnglishSolitaireModel#copyInto(EnglishSolitaireModel)}, so workloads that go through
+ * many short-lived models, such as searches and simulations, neither build boards nor produce
+ * garbage once the pool is warm.
+ *
+ * <p>Start positions are built once per arm thickness and empty slot and kept as templates.
+ */
+public final class ModelPool {
+  private static final int DEFAULT_MAX_IDLE = 256;
+
+  private final int maxIdle;
+  // idle models by arm thickness
+  private final ConcurrentMap<Integer, BlockingQueue<EnglishSolitaireModel>> idle =
+          new ConcurrentHashMap<>();
+  // start positions by arm thickness and empty slot, never changed
+  private final ConcurrentMap<Long, EnglishSolitaireModel> starts = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a {@code ModelPool} that keeps up to 256 idle models of each arm thickness.
+   */
+  public ModelPool() {
+    this(DEFAULT_MAX_IDLE);
+  }
+
+  /**
+   * Constructs a {@code ModelPool} that keeps up to the given number of idle models of each arm
+   * thickness. Models released beyond that are left to the garbage collector.
+   *
+   * @param maxIdle the largest number of idle models kept per arm thickness
+   * @throws IllegalArgumentException if the number is not positive
+   */
+  public ModelPool(int maxIdle) throws IllegalArgumentException {
+    if (maxIdle <= 0) {
+      throw new IllegalArgumentException(String.format("Invalid idle model count %d", maxIdle));
+    }
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Takes a model in the given start position from the pool, building it only if the pool has
+   * no idle model of that arm thickness.
+   *
+   * @param armThickness the arm thickness of the board
+   * @param sRow         the row of the empty slot
+   * @param sCol         the column of the empty slot
+   * @return a model in the start position, owned by the caller until released
+   * @throws IllegalArgumentException if the board or empty slot is invalid
+   */
+  public EnglishSolitaireModel acquire(int armThickness, int sRow, int sCol)
+          throws IllegalArgumentException {
+    long key = ((long) armThickness << 42) | ((long) sRow << 21) | sCol;
+    EnglishSolitaireModel start = starts.get(key);
+    if (start == null) {
+      // validates the arguments before anything is cached
+      start = starts.computeIfAbsent(key,
+          k -> new EnglishSolitaireModel(armThickness, sRow, sCol));
+    }
+    return acquire(start);
+  }
+
+  /**
+   * Takes a copy of the given model from the pool, with the same position and move history.
+   * The given model is only read.
+   *
+   * @param position the model to copy
+   * @return a copy of the model, owned by the caller until released
+   * @throws IllegalArgumentException if the model is null
+   */
+  public EnglishSolitaireModel acquire(EnglishSolitaireModel position)
+          throws IllegalArgumentException {
+    if (position == null) {
+      throw new IllegalArgumentException("Invalid model");
+    }
+    EnglishSolitaireModel model = idleModels(position.getArmThickness()).poll();
+    if (model == null) {
+      return position.copy();
+    }
+    position.copyInto(model);
+    return model;
+  }
+
+  /**
+   * Returns a model to the pool. The caller must not use the model afterwards.
+   *
+   * @param model the model to return
+   * @throws IllegalArgumentException if the model is null
+   */
+  public void release(EnglishSolitaireModel model) throws IllegalArgumentException {
+    if (model == null) {
+      throw new IllegalArgumentException("Invalid model");
+    }
+    idleModels(model.getArmThickness()).offer(model);
+  }
+
+  /**
+   * Returns the number of idle models of the given arm thickness.
+   *
+   * @param armThickness the arm thickness of the board
+   * @return the number of idle models
+   */
+  public int idleCount(int armThickness) {
+    BlockingQueue<EnglishSolitaireModel> models = idle.get(armThickness);
+    return models == null ? 0 : models.size();
+  }
+
+  /**
+   * Returns the queue of idle models of the given arm thickness, creating it on first use.
+   */
+  private BlockingQueue<EnglishSolitaireModel> idleModels(int armThickness) {
+    BlockingQueue<EnglishSolitaireModel> models = idle.get(armThickness);
+    if (models == null) {
+      models = idle.computeIfAbsent(armThickness, k -> new ArrayBlockingQueue<>(maxIdle));
+    }
+    return models;
+  }
+}
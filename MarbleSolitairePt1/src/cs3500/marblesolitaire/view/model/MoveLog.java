@@ -0,0 +1,114 @@
+package cs3500.marblesolitaire.view.model;
+
+import java.util.Arrays;
+
+/**
+ * The history of a game as a primitive array of cell indices, two {@code int}s per move: the
+ * index of the cell the marble left and the index of the cell it landed on. Undone moves stay in
+ * the array until a new move is made, so they can be redone.
+ */
+final class MoveLog {
+  private int[] cells;
+  // number of moves currently applied
+  private int size;
+  // number of moves that can be redone up to
+  private int limit;
+
+  /**
+   * Constructs an empty {@code MoveLog}.
+   */
+  MoveLog() {
+    this.cells = new int[64];
+  }
+
+  /**
+   * Records a new move, forgetting any undone moves.
+   *
+   * @param fromIndex the index of the cell the marble left
+   * @param toIndex   the index of the cell the marble landed on
+   */
+  void push(int fromIndex, int toIndex) {
+    if (2 * size + 2 > cells.length) {
+      cells = Arrays.copyOf(cells, cells.length * 2);
+    }
+    cells[2 * size] = fromIndex;
+    cells[2 * size + 1] = toIndex;
+    size++;
+    limit = size;
+  }
+
+  /**
+   * Steps back over the last applied move.
+   *
+   * @return the position of the move in the log
+   * @throws IllegalStateException if there is no move to undo
+   */
+  int undo() throws IllegalStateException {
+    if (size == 0) {
+      throw new IllegalStateException("No move to undo");
+    }
+    return --size;
+  }
+
+  /**
+   * Steps forward over the last undone move.
+   *
+   * @return the position of the move in the log
+   * @throws IllegalStateException if there is no move to redo
+   */
+  int redo() throws IllegalStateException {
+    if (size == limit) {
+      throw new IllegalStateException("No move to redo");
+    }
+    return size++;
+  }
+
+  /**
+   * Returns the index of the cell the marble left in the given move.
+   */
+  int fromAt(int move) {
+    return cells[2 * move];
+  }
+
+  /**
+   * Returns the index of the cell the marble landed on in the given move.
+   */
+  int toAt(int move) {
+    return cells[2 * move + 1];
+  }
+
+  /**
+   * Checks whether a move can be undone.
+   */
+  boolean canUndo() {
+    return size > 0;
+  }
+
+  /**
+   * Checks whether a move can be redone.
+   */
+  boolean canRedo() {
+    return size < limit;
+  }
+
+  /**
+   * Makes the given log a copy of this one, reusing its array when it is large enough.
+   *
+   * @param target the log to overwrite
+   */
+  void copyInto(MoveLog target) {
+    if (target.cells.length < 2 * limit) {
+      target.cells = new int[cells.length];
+    }
+    System.arraycopy(cells, 0, target.cells, 0, 2 * limit);
+    target.size = size;
+    target.limit = limit;
+  }
+
+  /**
+   * Returns the number of moves currently applied.
+   */
+  int size() {
+    return size;
+  }
+}
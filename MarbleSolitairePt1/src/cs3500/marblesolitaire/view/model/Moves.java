@@ -0,0 +1,95 @@
+package cs3500.marblesolitaire.view.model;
+
+/**
+ * Encodes moves as single {@code int}s, as written by
+ * {@link MarbleSolitaireModelState#legalMoves(int[])}. A cell is identified by its index
+ * {@code row * boardSize + col}, and a move packs the index of the marble's cell in its upper
+ * 16 bits and the index of the destination cell in its lower 16 bits. Indices fit in 16 bits on
+ * boards of up to {@link #MAX_BOARD_SIZE} cells per side.
+ */
+public final class Moves {
+  /**
+   * The largest board size whose moves can be encoded.
+   */
+  public static final int MAX_BOARD_SIZE = 256;
+
+  private Moves() {
+  }
+
+  /**
+   * Encodes the move between the given cell indices.
+   *
+   * @param fromIndex the index of the cell of the marble to move
+   * @param toIndex   the index of the cell to move to
+   * @return the encoded move
+   */
+  public static int encode(int fromIndex, int toIndex) {
+    return (fromIndex << 16) | toIndex;
+  }
+
+  /**
+   * Encodes the move between the given positions.
+   *
+   * @param fromRow   the row of the marble to move
+   * @param fromCol   the column of the marble to move
+   * @param toRow     the row of the cell to move to
+   * @param toCol     the column of the cell to move to
+   * @param boardSize the size of the board
+   * @return the encoded move
+   */
+  public static int encode(int fromRow, int fromCol, int toRow, int toCol, int boardSize) {
+    return encode(fromRow * boardSize + fromCol, toRow * boardSize + toCol);
+  }
+
+  /**
+   * Returns the index of the cell of the marble to move.
+   *
+   * @param move an encoded move
+   * @return the index of the from cell
+   */
+  public static int fromIndex(int move) {
+    return move >>> 16;
+  }
+
+  /**
+   * Returns the index of the cell to move to.
+   *
+   * @param move an encoded move
+   * @return the index of the to cell
+   */
+  public static int toIndex(int move) {
+    return move & 0xFFFF;
+  }
+
+  /**
+   * Returns the row of a cell index.
+   *
+   * @param index     the cell index
+   * @param boardSize the size of the board
+   * @return the row of the cell
+   */
+  public static int row(int index, int boardSize) {
+    return index / boardSize;
+  }
+
+  /**
+   * Returns the column of a cell index.
+   *
+   * @param index     the cell index
+   * @param boardSize the size of the board
+   * @return the column of the cell
+   */
+  public static int col(int index, int boardSize) {
+    return index % boardSize;
+  }
+
+  /**
+   * Returns a buffer size that can hold every legal move of a board of the given size.
+   *
+   * @param boardSize the size of the board
+   * @return an upper bound on the number of legal moves
+   */
+  public static int maxLegalMoves(int boardSize) {
+    return 4 * boardSize * boardSize;
+  }
+}
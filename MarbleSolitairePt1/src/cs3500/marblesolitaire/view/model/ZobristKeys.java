@@ -0,0 +1,60 @@
+package cs3500.marblesolitaire.view.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Zobrist keys for marble solitaire boards. Every cell of a board gets a fixed random 64-bit key,
+ * and the hash of a position is the XOR of the keys of the cells holding a marble. A move changes
+ * three cells, so a model can keep the hash up to date with three XORs.
+ *
+ * <p>The keys only depend on the board size, so equal positions hash equally across models and
+ * runs. The key table of each board size is created once and shared.
+ */
+public final class ZobristKeys {
+  private static final long SEED = 0x5DEECE66DL;
+  private static final ConcurrentMap<Integer, long[]> KEYS = new ConcurrentHashMap<>();
+
+  private ZobristKeys() {
+  }
+
+  /**
+   * Returns the keys of the cells of a board, indexed by {@code row * boardSize + col}.
+   * The returned array is shared and must not be modified.
+   *
+   * @param boardSize the size of the board
+   * @return the key of every cell
+   */
+  static long[] forBoardSize(int boardSize) {
+    return KEYS.computeIfAbsent(boardSize, size -> {
+      SplittableRandom random = new SplittableRandom(SEED * 31 + size);
+      long[] keys = new long[size * size];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = random.nextLong();
+      }
+      return keys;
+    });
+  }
+
+  /**
+   * Computes the hash of the position of any state by scanning its board. Models that keep their
+   * hash up to date return the same value without the scan.
+   *
+   * @param state the state to hash
+   * @return the XOR of the keys of the cells holding a marble
+   */
+  public static long hashOf(MarbleSolitaireModelState state) {
+    int boardSize = state.getBoardSize();
+    long[] keys = forBoardSize(boardSize);
+    long hash = 0;
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        if (state.getSlotAt(i, j) == MarbleSolitaireModelState.SlotState.Marble) {
+          hash ^= keys[i * boardSize + j];
+        }
+      }
+    }
+    return hash;
+  }
+}
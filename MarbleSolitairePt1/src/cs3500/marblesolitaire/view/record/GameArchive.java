@@ -0,0 +1,317 @@
+package cs3500.marblesolitaire.view.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * A read-only, memory-mapped archive of {@link GameRecord}s written by a
+ * {@link GameArchiveWriter}. The archive is two files: the data file holds the records back to
+ * back, and the index file next to it ({@code <data file>.idx}) holds, for every record, the
+ * offset of its end as an 8-byte big-endian number. Record {@code id} starts where record
+ * {@code id - 1} ends, so any game is found without scanning.
+ *
+ * <p>Both files are mapped into memory in segments of {@link #SEGMENT_SIZE} bytes, so archives
+ * larger than 2 GB work and reading is limited by the page cache rather than by copies. A data
+ * segment maps {@link #MAX_RECORD_SIZE} extra bytes past its end, so every record that starts in
+ * a segment can be read from that segment alone.
+ *
+ * <p>A {@link Cursor} walks the archive in order without copying or decoding more than asked:
+ * it reads the header of each record in place and can replay the moves straight from the mapped
+ * bytes onto a model.
+ */
+public final class GameArchive implements Closeable {
+  /**
+   * The largest record an archive accepts, in bytes.
+   */
+  public static final int MAX_RECORD_SIZE = 1 << 20;
+
+  /**
+   * The size of the mapped segments of the files, in bytes.
+   */
+  static final long SEGMENT_SIZE = 1L << 30;
+
+  static final int INDEX_ENTRY_SIZE = Long.BYTES;
+
+  private final FileChannel data;
+  private final MappedByteBuffer[] dataSegments;
+  private final MappedByteBuffer[] indexSegments;
+  private final long count;
+
+  /**
+   * Opens the archive at the given path for reading. Records appended afterwards are not seen.
+   *
+   * @param path the path of the archive's data file
+   * @throws IOException if the files cannot be opened or mapped
+   */
+  public GameArchive(Path path) throws IOException {
+    try (FileChannel index = FileChannel.open(indexPath(path), StandardOpenOption.READ)) {
+      this.count = index.size() / INDEX_ENTRY_SIZE;
+      this.indexSegments = map(index, count * INDEX_ENTRY_SIZE, 0);
+    }
+    this.data = FileChannel.open(path, StandardOpenOption.READ);
+    long end = count == 0 ? 0 : endOf(count - 1);
+    if (end > data.size()) {
+      data.close();
+      throw new IOException("Archive data is shorter than its index");
+    }
+    try {
+      this.dataSegments = map(data, end, MAX_RECORD_SIZE);
+    } catch (IOException e) {
+      data.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the path of the index file of an archive.
+   *
+   * @param path the path of the archive's data file
+   * @return the path of its index file
+   */
+  static Path indexPath(Path path) {
+    return path.resolveSibling(path.getFileName() + ".idx");
+  }
+
+  /**
+   * Maps the first {@code length} bytes of a file in segments, each extended by {@code overlap}
+   * bytes where the file allows.
+   */
+  private static MappedByteBuffer[] map(FileChannel channel, long length, int overlap)
+          throws IOException {
+    int segmentCount = (int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+    MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+    for (int i = 0; i < segments.length; i++) {
+      long start = i * SEGMENT_SIZE;
+      long size = Math.min(SEGMENT_SIZE + overlap, length - start);
+      segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+    }
+    return segments;
+  }
+
+  /**
+   * Returns the offset of the end of a record.
+   */
+  private long endOf(long id) {
+    long offset = id * INDEX_ENTRY_SIZE;
+    return indexSegments[(int) (offset / SEGMENT_SIZE)].getLong((int) (offset % SEGMENT_SIZE));
+  }
+
+  /**
+   * Returns the offset of the start of a record.
+   */
+  private long startOf(long id) {
+    return id == 0 ? 0 : endOf(id - 1);
+  }
+
+  /**
+   * Returns the number of records in the archive.
+   *
+   * @return the number of records
+   */
+  public long size() {
+    return count;
+  }
+
+  /**
+   * Returns the bytes of a record, without copying them.
+   *
+   * @param id the id of the record
+   * @return a read-only buffer holding exactly the record
+   * @throws IllegalArgumentException if there is no record with that id
+   */
+  public ByteBuffer bytesOf(long id) throws IllegalArgumentException {
+    if (id < 0 || id >= count) {
+      throw new IllegalArgumentException(String.format("No record %d", id));
+    }
+    return slice(startOf(id), endOf(id));
+  }
+
+  /**
+   * Returns a view of the data between two offsets, from the segment holding the start.
+   */
+  private ByteBuffer slice(long start, long end) {
+    ByteBuffer segment = dataSegments[(int) (start / SEGMENT_SIZE)];
+    int from = (int) (start % SEGMENT_SIZE);
+    return segment.asReadOnlyBuffer().position(from).limit(from + (int) (end - start)).slice();
+  }
+
+  /**
+   * Loads a record.
+   *
+   * @param id the id of the record
+   * @return the record
+   * @throws IllegalArgumentException if there is no record with that id or it is malformed
+   */
+  public GameRecord get(long id) throws IllegalArgumentException {
+    return GameRecord.readFrom(bytesOf(id));
+  }
+
+  /**
+   * Returns a cursor before the first record.
+   *
+   * @return a new cursor over all the records, in order
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Closes the data file. The mapped segments stay valid until they are garbage collected.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    data.close();
+  }
+
+  /**
+   * Walks the records of an archive in order. The header of the current record is read in place
+   * by {@link #next()}; nothing else is decoded unless asked for. A cursor is not thread-safe,
+   * but several cursors can walk the same archive at once.
+   */
+  public final class Cursor {
+    private long id = -1;
+    private long start;
+    private long end;
+    // a view of the segment holding the current record, moved over each record
+    private int segmentIndex = -1;
+    private ByteBuffer reader;
+    private int armThickness;
+    private int startRow;
+    private int startCol;
+    private int moveCount;
+    // the position of the first move in the reader
+    private int movesPosition;
+
+    private Cursor() {
+    }
+
+    /**
+     * Moves to the next record and reads its header.
+     *
+     * @return true if there was a next record, false at the end of the archive
+     * @throws IllegalArgumentException if the next record is malformed
+     */
+    public boolean next() throws IllegalArgumentException {
+      if (id + 1 >= count) {
+        return false;
+      }
+      id++;
+      start = end;
+      end = endOf(id);
+      if (start / SEGMENT_SIZE != segmentIndex) {
+        segmentIndex = (int) (start / SEGMENT_SIZE);
+        reader = dataSegments[segmentIndex].duplicate();
+      }
+      int from = (int) (start % SEGMENT_SIZE);
+      reader.limit(from + (int) (end - start)).position(from);
+      if (!reader.hasRemaining() || !GameRecord.isKnownHeader(reader.get())) {
+        throw new IllegalArgumentException(String.format("Unknown record version in record %d", id));
+      }
+      armThickness = Varints.read(reader);
+      startRow = Varints.read(reader);
+      startCol = Varints.read(reader);
+      moveCount = Varints.read(reader);
+      movesPosition = reader.position();
+      return true;
+    }
+
+    /**
+     * Returns the id of the current record.
+     *
+     * @return the id of the record
+     */
+    public long id() {
+      return id;
+    }
+
+    /**
+     * Returns the arm thickness of the current record.
+     *
+     * @return the arm thickness
+     */
+    public int armThickness() {
+      return armThickness;
+    }
+
+    /**
+     * Returns the row of the empty slot at the start of the current record.
+     *
+     * @return the start row
+     */
+    public int startRow() {
+      return startRow;
+    }
+
+    /**
+     * Returns the column of the empty slot at the start of the current record.
+     *
+     * @return the start column
+     */
+    public int startCol() {
+      return startCol;
+    }
+
+    /**
+     * Returns the number of moves of the current record.
+     *
+     * @return the number of moves
+     */
+    public int moveCount() {
+      return moveCount;
+    }
+
+    /**
+     * Returns the bytes of the current record, without copying them.
+     *
+     * @return a read-only buffer holding exactly the record
+     */
+    public ByteBuffer bytes() {
+      return slice(start, end);
+    }
+
+    /**
+     * Decodes the current record.
+     *
+     * @return the record
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public GameRecord record() throws IllegalArgumentException {
+      return GameRecord.readFrom(bytes());
+    }
+
+    /**
+     * Plays the moves of the current record on the given model, decoding them straight from
+     * the archive. The model must be in the start position of the record.
+     *
+     * @param model the model to play on
+     * @throws IllegalArgumentException if the record is malformed, does not match the model, or
+     *                                  a move is illegal
+     */
+    public void replay(MarbleSolitaireModel model) throws IllegalArgumentException {
+      int boardSize = armThickness * 3 - 2;
+      if (model.getBoardSize() != boardSize || boardSize > Moves.MAX_BOARD_SIZE) {
+        throw new IllegalArgumentException("Model does not match the record");
+      }
+      reader.position(movesPosition);
+      for (int i = 0; i < moveCount; i++) {
+        int move = GameRecord.unpackMove(Varints.read(reader), boardSize);
+        int from = Moves.fromIndex(move);
+        int to = Moves.toIndex(move);
+        if (!model.tryMove(Moves.row(from, boardSize), Moves.col(from, boardSize),
+                Moves.row(to, boardSize), Moves.col(to, boardSize))) {
+          throw new IllegalArgumentException(String.format("Invalid move in record %d", id));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package cs3500.marblesolitaire.view.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends {@link GameRecord}s to a {@link GameArchive}. Record data is buffered and written in
+ * large blocks, without waiting for the storage device. Index entries stay in memory until
+ * {@link #flush()} or {@link #close()} forces the data to the device, and are only written and
+ * forced after it, so an archive cut short by a crash still holds every indexed game. A writer
+ * also flushes on its own once a million entries are pending, which bounds its memory to 8 MB of
+ * entries. Opening an existing archive continues it, dropping any record data that was written
+ * without its index entry.
+ */
+public final class GameArchiveWriter implements Closeable {
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int MAX_PENDING_INDEX_SIZE = GameArchive.INDEX_ENTRY_SIZE << 20;
+
+  private final FileChannel data;
+  private final FileChannel index;
+  private final ByteBuffer dataBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  // the index entries of records whose data may not have reached the device yet; grows as needed
+  private ByteBuffer indexBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+  // end of the data written so far, including the buffer
+  private long end;
+  private long count;
+
+  /**
+   * Opens the archive at the given path for appending, creating it if needed.
+   *
+   * @param path the path of the archive's data file; the index is stored next to it
+   * @throws IOException if the files cannot be opened, or the index points past the end of the
+   *                     data
+   */
+  public GameArchiveWriter(Path path) throws IOException {
+    this.data = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      this.index = FileChannel.open(GameArchive.indexPath(path), StandardOpenOption.CREATE,
+              StandardOpenOption.READ, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      data.close();
+      throw e;
+    }
+    try {
+      // drop a partly written index entry, then any data past the last indexed record
+      this.count = index.size() / GameArchive.INDEX_ENTRY_SIZE;
+      if (count > 0) {
+        ByteBuffer last = ByteBuffer.allocate(GameArchive.INDEX_ENTRY_SIZE);
+        index.read(last, (count - 1) * GameArchive.INDEX_ENTRY_SIZE);
+        this.end = last.getLong(0);
+      }
+      if (end < 0 || end > data.size()) {
+        throw new IOException(String.format(
+            "Corrupt archive: index ends at %d but data holds %d bytes", end, data.size()));
+      }
+      index.truncate(count * GameArchive.INDEX_ENTRY_SIZE);
+      data.truncate(end);
+    } catch (IOException e) {
+      data.close();
+      index.close();
+      throw e;
+    }
+    data.position(end);
+    index.position(count * GameArchive.INDEX_ENTRY_SIZE);
+  }
+
+  /**
+   * Appends a record to the archive.
+   *
+   * @param record the record to append
+   * @return the id of the record, which is the number of records before it
+   * @throws IllegalArgumentException if the record is null or larger than
+   *                                  {@link GameArchive#MAX_RECORD_SIZE}
+   * @throws IOException              if the archive cannot be written
+   */
+  public long append(GameRecord record) throws IllegalArgumentException, IOException {
+    if (record == null) {
+      throw new IllegalArgumentException("Invalid record");
+    }
+    int size = record.encodedSize();
+    if (size > GameArchive.MAX_RECORD_SIZE) {
+      throw new IllegalArgumentException(String.format("Record of %d bytes is too large", size));
+    }
+    if (dataBuffer.remaining() < size) {
+      writeAll(data, dataBuffer);
+    }
+    if (dataBuffer.remaining() < size) {
+      // larger than the buffer, so it is written on its own
+      ByteBuffer bytes = ByteBuffer.wrap(record.toBytes());
+      while (bytes.hasRemaining()) {
+        data.write(bytes);
+      }
+    } else {
+      record.writeTo(dataBuffer);
+    }
+    end += size;
+    if (!indexBuffer.hasRemaining()) {
+      if (indexBuffer.capacity() < MAX_PENDING_INDEX_SIZE) {
+        indexBuffer = ByteBuffer.allocate(indexBuffer.capacity() * 2).put(indexBuffer.flip());
+      } else {
+        flush();
+      }
+    }
+    indexBuffer.putLong(end);
+    return count++;
+  }
+
+  /**
+   * Returns the number of records in the archive, including those not yet flushed.
+   *
+   * @return the number of records
+   */
+  public long size() {
+    return count;
+  }
+
+  /**
+   * Writes the buffered records to the files and forces them to the storage device. The data is
+   * forced before the index entries are written, so no entry can outlive its record. Records
+   * appended since the last flush may be lost in a crash, but never half indexed.
+   *
+   * @throws IOException if the archive cannot be written
+   */
+  public void flush() throws IOException {
+    writeAll(data, dataBuffer);
+    data.force(false);
+    writeAll(index, indexBuffer);
+    index.force(false);
+  }
+
+  /**
+   * Writes the whole content of a buffer and clears it.
+   */
+  private static void writeAll(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Flushes the buffered records and closes the files.
+   *
+   * @throws IOException if the archive cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    try (data; index) {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,417 @@
+package cs3500.marblesolitaire.view.record;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * An immutable record of a game on an English board: its arm thickness, the empty slot it
+ * started from and the moves played, optionally with a snapshot of the final position.
+ *
+ * <p>The binary form is compact enough to store hundreds of millions of games:
+ * <pre>
+ *   header       1 byte: the format version, plus 0x80 if a snapshot follows the moves
+ *   armThickness varint
+ *   startRow     varint
+ *   startCol     varint
+ *   moveCount    varint
+ *   moves        one varint per move: the index of the jumping marble's cell times 4,
+ *                plus its direction (0 up, 1 down, 2 left, 3 right)
+ *   snapshot     one bit per valid cell in row-major order, set if it holds a marble,
+ *                least significant bit first
+ * </pre>
+ * A game of the standard board takes at most 67 bytes without its snapshot. Varints are
+ * described in {@link Varints}.
+ */
+public final class GameRecord {
+  private static final int VERSION = 1;
+  private static final int SNAPSHOT_FLAG = 0x80;
+  // the largest arm thickness whose moves can be encoded
+  private static final int MAX_ARM_THICKNESS = (Moves.MAX_BOARD_SIZE + 2) / 3;
+
+  private final int armThickness;
+  private final int startRow;
+  private final int startCol;
+  private final int boardSize;
+  // encoded as described in Moves
+  private final int[] moves;
+  // the marbles of the final position, one bit per valid cell, or null
+  private final byte[] snapshot;
+
+  /**
+   * Constructs a {@code GameRecord}, checking that the moves can be played in order.
+   *
+   * @param armThickness the arm thickness of the board
+   * @param startRow     the row of the empty slot at the start
+   * @param startCol     the column of the empty slot at the start
+   * @param moves        the moves played, encoded as described in {@link Moves}
+   * @param withSnapshot true to keep the final position in the record
+   * @throws IllegalArgumentException if the board or start slot is invalid, or a move is illegal
+   */
+  public GameRecord(int armThickness, int startRow, int startCol, int[] moves,
+                    boolean withSnapshot) throws IllegalArgumentException {
+    if (moves == null) {
+      throw new IllegalArgumentException("Invalid moves");
+    }
+    if (armThickness > MAX_ARM_THICKNESS) {
+      throw new IllegalArgumentException(String.format("Invalid armThickness %d", armThickness));
+    }
+    this.armThickness = armThickness;
+    this.startRow = startRow;
+    this.startCol = startCol;
+    this.moves = moves.clone();
+    MarbleSolitaireModel model = new EnglishSolitaireModel(armThickness, startRow, startCol);
+    this.boardSize = model.getBoardSize();
+    replay(model);
+    this.snapshot = withSnapshot ? pack(model) : null;
+  }
+
+  /**
+   * Constructs a {@code GameRecord} from decoded fields, without checking them.
+   */
+  private GameRecord(int armThickness, int startRow, int startCol, int boardSize, int[] moves,
+                     byte[] snapshot) {
+    this.armThickness = armThickness;
+    this.startRow = startRow;
+    this.startCol = startCol;
+    this.boardSize = boardSize;
+    this.moves = moves;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Returns the arm thickness of the board.
+   *
+   * @return the arm thickness
+   */
+  public int getArmThickness() {
+    return armThickness;
+  }
+
+  /**
+   * Returns the row of the empty slot at the start.
+   *
+   * @return the start row
+   */
+  public int getStartRow() {
+    return startRow;
+  }
+
+  /**
+   * Returns the column of the empty slot at the start.
+   *
+   * @return the start column
+   */
+  public int getStartCol() {
+    return startCol;
+  }
+
+  /**
+   * Returns the moves played.
+   *
+   * @return a copy of the moves, encoded as described in {@link Moves}
+   */
+  public int[] getMoves() {
+    return moves.clone();
+  }
+
+  /**
+   * Returns the number of moves played.
+   *
+   * @return the number of moves
+   */
+  public int getMoveCount() {
+    return moves.length;
+  }
+
+  /**
+   * Returns whether the record keeps the final position.
+   *
+   * @return true if {@link #getSnapshot()} is available
+   */
+  public boolean hasSnapshot() {
+    return snapshot != null;
+  }
+
+  /**
+   * Returns the final position, read straight from the record without replaying the moves.
+   *
+   * @return a read-only view of the final position
+   * @throws IllegalStateException if the record has no snapshot
+   */
+  public MarbleSolitaireModelState getSnapshot() throws IllegalStateException {
+    if (snapshot == null) {
+      throw new IllegalStateException("No snapshot");
+    }
+    return new Snapshot();
+  }
+
+  /**
+   * Creates a new English model and plays the recorded game on it.
+   *
+   * @return a model in the final position, whose moves can be undone
+   * @throws IllegalArgumentException if the start slot is invalid or a move is illegal
+   */
+  public MarbleSolitaireModel toModel() throws IllegalArgumentException {
+    MarbleSolitaireModel model = new EnglishSolitaireModel(armThickness, startRow, startCol);
+    replay(model);
+    return model;
+  }
+
+  /**
+   * Plays the recorded moves on the given model, which must be in the start position of the
+   * record. This lets the game be replayed on any model implementation.
+   *
+   * @param model the model to play on
+   * @throws IllegalArgumentException if a move is illegal on the model
+   */
+  public void replay(MarbleSolitaireModel model) throws IllegalArgumentException {
+    for (int move : moves) {
+      int from = Moves.fromIndex(move);
+      int to = Moves.toIndex(move);
+      if (!model.tryMove(Moves.row(from, boardSize), Moves.col(from, boardSize),
+              Moves.row(to, boardSize), Moves.col(to, boardSize))) {
+        throw new IllegalArgumentException(String.format("Invalid move (%d, %d) -> (%d, %d)",
+                Moves.row(from, boardSize), Moves.col(from, boardSize),
+                Moves.row(to, boardSize), Moves.col(to, boardSize)));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of bytes of the binary form.
+   *
+   * @return the encoded size of the record
+   */
+  public int encodedSize() {
+    int size = 1 + Varints.size(armThickness) + Varints.size(startRow) + Varints.size(startCol)
+            + Varints.size(moves.length);
+    for (int move : moves) {
+      size += Varints.size(packMove(move));
+    }
+    return size + (snapshot == null ? 0 : snapshot.length);
+  }
+
+  /**
+   * Writes the binary form at the position of the buffer.
+   *
+   * @param buffer the buffer to write to, with at least {@link #encodedSize()} bytes left
+   * @throws java.nio.BufferOverflowException if the buffer is too small
+   */
+  public void writeTo(ByteBuffer buffer) {
+    buffer.put((byte) (VERSION | (snapshot == null ? 0 : SNAPSHOT_FLAG)));
+    Varints.write(buffer, armThickness);
+    Varints.write(buffer, startRow);
+    Varints.write(buffer, startCol);
+    Varints.write(buffer, moves.length);
+    for (int move : moves) {
+      Varints.write(buffer, packMove(move));
+    }
+    if (snapshot != null) {
+      buffer.put(snapshot);
+    }
+  }
+
+  /**
+   * Returns the binary form.
+   *
+   * @return a new array holding the encoded record
+   */
+  public byte[] toBytes() {
+    byte[] bytes = new byte[encodedSize()];
+    writeTo(ByteBuffer.wrap(bytes));
+    return bytes;
+  }
+
+  /**
+   * Reads a record at the position of the buffer, leaving the position after it. Only the
+   * structure of the record is checked, so reading is cheap; an illegal move is reported when
+   * the game is replayed.
+   *
+   * @param buffer the buffer to read from
+   * @return the record read
+   * @throws IllegalArgumentException if the bytes are not a well-formed record
+   */
+  public static GameRecord readFrom(ByteBuffer buffer) throws IllegalArgumentException {
+    if (!buffer.hasRemaining()) {
+      throw new IllegalArgumentException("Truncated record");
+    }
+    int header = buffer.get() & 0xFF;
+    if (!isKnownHeader((byte) header)) {
+      throw new IllegalArgumentException(String.format("Unknown record version %d",
+              header & ~SNAPSHOT_FLAG));
+    }
+    int armThickness = Varints.read(buffer);
+    if (armThickness <= 0 || armThickness % 2 == 0 || armThickness > MAX_ARM_THICKNESS) {
+      throw new IllegalArgumentException(String.format("Invalid armThickness %d", armThickness));
+    }
+    int startRow = Varints.read(buffer);
+    int startCol = Varints.read(buffer);
+    int boardSize = armThickness * 3 - 2;
+    int moveCount = Varints.read(buffer);
+    // every move removes a marble
+    if (moveCount > boardSize * boardSize) {
+      throw new IllegalArgumentException("Invalid record");
+    }
+    int[] moves = new int[moveCount];
+    for (int i = 0; i < moveCount; i++) {
+      moves[i] = unpackMove(Varints.read(buffer), boardSize);
+    }
+    byte[] snapshot = null;
+    if ((header & SNAPSHOT_FLAG) != 0) {
+      snapshot = new byte[(validCells(armThickness) + 7) / 8];
+      if (buffer.remaining() < snapshot.length) {
+        throw new IllegalArgumentException("Truncated record");
+      }
+      buffer.get(snapshot);
+    }
+    return new GameRecord(armThickness, startRow, startCol, boardSize, moves, snapshot);
+  }
+
+  /**
+   * Reads a record from its binary form.
+   *
+   * @param bytes the encoded record
+   * @return the record read
+   * @throws IllegalArgumentException if the bytes are not a valid record
+   */
+  public static GameRecord fromBytes(byte[] bytes) throws IllegalArgumentException {
+    return readFrom(ByteBuffer.wrap(bytes));
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof GameRecord)) {
+      return false;
+    }
+    GameRecord that = (GameRecord) other;
+    return armThickness == that.armThickness && startRow == that.startRow
+            && startCol == that.startCol && Arrays.equals(moves, that.moves)
+            && Arrays.equals(snapshot, that.snapshot);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Objects.hash(armThickness, startRow, startCol) + Arrays.hashCode(moves);
+  }
+
+  /**
+   * Checks whether a byte is the header of a record in this format.
+   *
+   * @param header the first byte of a record
+   * @return true if the version is known
+   */
+  static boolean isKnownHeader(byte header) {
+    return ((header & 0xFF) & ~SNAPSHOT_FLAG) == VERSION;
+  }
+
+  /**
+   * Packs a move as its from cell and direction.
+   */
+  private int packMove(int move) {
+    int from = Moves.fromIndex(move);
+    int step = Moves.toIndex(move) - from;
+    int direction = step == -2 * boardSize ? 0 : step == 2 * boardSize ? 1 : step == -2 ? 2 : 3;
+    return from << 2 | direction;
+  }
+
+  /**
+   * Unpacks a move packed by {@link #packMove(int)}.
+   *
+   * @throws IllegalArgumentException if either cell of the move is outside the board
+   */
+  static int unpackMove(int packed, int boardSize) throws IllegalArgumentException {
+    int from = packed >>> 2;
+    int direction = packed & 3;
+    int to = from + (direction < 2 ? (direction == 0 ? -2 : 2) * boardSize : (direction == 2 ? -2 : 2));
+    if (from >= boardSize * boardSize || to < 0 || to >= boardSize * boardSize) {
+      throw new IllegalArgumentException("Invalid move in record");
+    }
+    return Moves.encode(from, to);
+  }
+
+  /**
+   * Packs the marbles of the valid cells of a position into bits.
+   */
+  private static byte[] pack(MarbleSolitaireModelState state) {
+    int boardSize = state.getBoardSize();
+    byte[] bits = new byte[(validCells((boardSize + 2) / 3) + 7) / 8];
+    int bit = 0;
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        MarbleSolitaireModelState.SlotState slot = state.getSlotAt(i, j);
+        if (slot != MarbleSolitaireModelState.SlotState.Invalid) {
+          if (slot == MarbleSolitaireModelState.SlotState.Marble) {
+            bits[bit >>> 3] |= (byte) (1 << (bit & 7));
+          }
+          bit++;
+        }
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * Counts the valid cells of a board with the given arm thickness.
+   */
+  private static int validCells(int armThickness) {
+    int boardSize = armThickness * 3 - 2;
+    return boardSize * boardSize - 4 * (armThickness - 1) * (armThickness - 1);
+  }
+
+  /**
+   * The final position of a record, read from its snapshot bits.
+   */
+  private final class Snapshot implements MarbleSolitaireModelState {
+    // number of valid cells before each row, and the first valid column of each row
+    private final int[] rowStart = new int[boardSize];
+    private final int[] firstCol = new int[boardSize];
+    private final int score;
+
+    Snapshot() {
+      int armCenter = armThickness - 1;
+      int cells = 0;
+      for (int i = 0; i < boardSize; i++) {
+        boolean narrow = i < armCenter || i >= boardSize - armCenter;
+        rowStart[i] = cells;
+        firstCol[i] = narrow ? armCenter : 0;
+        cells += narrow ? boardSize - 2 * armCenter : boardSize;
+      }
+      int marbles = 0;
+      for (byte b : snapshot) {
+        marbles += Integer.bitCount(b & 0xFF);
+      }
+      this.score = marbles;
+    }
+
+    @Override
+    public int getBoardSize() {
+      return boardSize;
+    }
+
+    @Override
+    public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+      if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+        throw new IllegalArgumentException(String.format("Invalid cell position (%d, %d)", row, col));
+      }
+      if (col < firstCol[row] || col >= boardSize - firstCol[row]) {
+        return SlotState.Invalid;
+      }
+      int bit = rowStart[row] + col - firstCol[row];
+      return (snapshot[bit >>> 3] & (1 << (bit & 7))) != 0 ? SlotState.Marble : SlotState.Empty;
+    }
+
+    @Override
+    public int getScore() {
+      return score;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package cs3500.marblesolitaire.view.record;
+
+import java.util.Arrays;
+
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * A {@link MarbleSolitaireModel} that passes every call to another model and remembers the moves
+ * made through it, so the game can be saved as a {@link GameRecord} at any time. Undone moves
+ * are dropped from the record and redone moves are added back.
+ */
+public class RecordingModel implements MarbleSolitaireModel {
+  private final MarbleSolitaireModel delegate;
+  private final int armThickness;
+  private final int startRow;
+  private final int startCol;
+  // moves made, encoded as described in Moves; undone moves stay until a new move is made,
+  // as in the history of the delegate
+  private int[] moves = new int[32];
+  private int size;
+
+  /**
+   * Constructs a {@code RecordingModel} around a model in its start position, with a single
+   * empty slot on an English board.
+   *
+   * @param delegate the model that plays the game
+   * @throws IllegalArgumentException if the model is null, not on an English board, not in a
+   *                                  start position, or has moves to redo
+   */
+  public RecordingModel(MarbleSolitaireModel delegate) throws IllegalArgumentException {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Invalid model");
+    }
+    int boardSize = delegate.getBoardSize();
+    int arm = (boardSize + 2) / 3;
+    if (boardSize % 3 != 1 || arm % 2 == 0 || boardSize > Moves.MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException(String.format("Invalid board size %d", boardSize));
+    }
+    // a record only keeps the arm thickness, so the board must be exactly the English one
+    BoardGeometry english = BoardGeometry.english(arm);
+    int emptyRow = -1;
+    int emptyCol = -1;
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        SlotState slot = delegate.getSlotAt(i, j);
+        if ((slot == SlotState.Invalid) == english.isValid(i, j)) {
+          throw new IllegalArgumentException("Model is not on an English board");
+        }
+        if (slot == SlotState.Empty) {
+          if (emptyRow != -1) {
+            throw new IllegalArgumentException("Model is not in a start position");
+          }
+          emptyRow = i;
+          emptyCol = j;
+        }
+      }
+    }
+    if (emptyRow == -1 || delegate.canRedo()) {
+      throw new IllegalArgumentException("Model is not in a start position");
+    }
+    this.delegate = delegate;
+    this.armThickness = arm;
+    this.startRow = emptyRow;
+    this.startCol = emptyCol;
+  }
+
+  /**
+   * Returns a record of the moves made so far.
+   *
+   * @param withSnapshot true to keep the current position in the record
+   * @return the record of the game
+   */
+  public GameRecord toRecord(boolean withSnapshot) {
+    return new GameRecord(armThickness, startRow, startCol, Arrays.copyOf(moves, size),
+            withSnapshot);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void move(int fromRow, int fromCol, int toRow, int toCol) throws IllegalArgumentException {
+    delegate.move(fromRow, fromCol, toRow, toCol);
+    record(fromRow, fromCol, toRow, toCol);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryMove(int fromRow, int fromCol, int toRow, int toCol) {
+    if (!delegate.tryMove(fromRow, fromCol, toRow, toCol)) {
+      return false;
+    }
+    record(fromRow, fromCol, toRow, toCol);
+    return true;
+  }
+
+  /**
+   * Adds a move that was made to the record, forgetting any undone moves.
+   */
+  private void record(int fromRow, int fromCol, int toRow, int toCol) {
+    if (size == moves.length) {
+      moves = Arrays.copyOf(moves, moves.length * 2);
+    }
+    moves[size++] = Moves.encode(fromRow, fromCol, toRow, toCol, delegate.getBoardSize());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void undo() throws IllegalStateException {
+    delegate.undo();
+    size--;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void redo() throws IllegalStateException {
+    delegate.redo();
+    size++;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canUndo() {
+    return delegate.canUndo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canRedo() {
+    return delegate.canRedo();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isGameOver() {
+    return delegate.isGameOver();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getBoardSize() {
+    return delegate.getBoardSize();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public MarbleSolitaireModelState snapshot() {
+    return delegate.snapshot();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SlotState getSlotAt(int row, int col) throws IllegalArgumentException {
+    return delegate.getSlotAt(row, col);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getScore() {
+    return delegate.getScore();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isLegalMove(int fromRow, int fromCol, int toRow, int toCol) {
+    return delegate.isLegalMove(fromRow, fromCol, toRow, toCol);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int legalMoves(int[] buffer) throws IllegalArgumentException {
+    return delegate.legalMoves(buffer);
+  }
+}
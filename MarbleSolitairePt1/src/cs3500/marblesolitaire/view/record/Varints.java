@@ -0,0 +1,68 @@
+package cs3500.marblesolitaire.view.record;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes unsigned variable-length integers: seven bits per byte, least significant
+ * first, with the high bit set on every byte but the last. Values below 128 take one byte.
+ */
+final class Varints {
+  private Varints() {
+  }
+
+  /**
+   * Returns the number of bytes a value takes.
+   *
+   * @param value a non-negative value
+   * @return the encoded size of the value, from 1 to 5
+   */
+  static int size(int value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Writes a value at the position of the buffer.
+   *
+   * @param buffer the buffer to write to
+   * @param value  a non-negative value
+   */
+  static void write(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) (value | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Reads a value at the position of the buffer.
+   *
+   * @param buffer the buffer to read from
+   * @return the value read
+   * @throws IllegalArgumentException if the buffer ends within the value or the value does not
+   *                                  fit in a non-negative {@code int}
+   */
+  static int read(ByteBuffer buffer) throws IllegalArgumentException {
+    try {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        byte b = buffer.get();
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          if (value < 0 || (shift == 28 && (b & 0x70) != 0)) {
+            break;
+          }
+          return value;
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated varint", e);
+    }
+    throw new IllegalArgumentException("Invalid varint");
+  }
+}
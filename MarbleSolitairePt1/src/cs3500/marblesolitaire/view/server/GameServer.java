@@ -0,0 +1,339 @@
+package cs3500.marblesolitaire.view.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code GameServer} class hosts any number of independent games over HTTP, using the JDK's
+ * built-in {@link HttpServer}. Each game is a {@link GameSession} that only costs the memory of
+ * its model, so the number of sessions is not bound by threads. Requests run on a bounded pool of
+ * two threads per processor; when its queue is full, the thread accepting connections runs the
+ * request itself, which slows down accepting new ones.
+ *
+ * <p>All responses are plain text. The operations are:
+ * <pre>
+ *   POST   /games?arm=3&amp;row=3&amp;col=3   start a game (all parameters optional), returns its id
+ *   GET    /games/{id}                   the board, as drawn by the text view
+ *   GET    /games/{id}/score             the number of marbles left
+ *   GET    /games/{id}/over              true if no move is possible
+ *   POST   /games/{id}/move?fromRow=3&amp;fromCol=1&amp;toRow=3&amp;toCol=3
+ *                                        make a move, returns the board
+ *   POST   /games/{id}/undo              take back the last move, returns the board
+ *   DELETE /games/{id}                   end a game
+ * </pre>
+ * An unknown game answers 404, a malformed request 400 and an illegal move or undo 409. Boards
+ * are limited to an arm thickness of {@value #MAX_ARM_THICKNESS}. The number of games is capped,
+ * and a game nobody has used for the idle timeout is ended; a new game beyond the cap answers 503.
+ */
+public class GameServer {
+  /**
+   * The largest arm thickness of a hosted board.
+   */
+  public static final int MAX_ARM_THICKNESS = 25;
+  private static final int DEFAULT_ARM_THICKNESS = 3;
+  private static final int DEFAULT_MAX_SESSIONS = 10_000;
+  private static final long DEFAULT_IDLE_MINUTES = 30;
+  private static final int REQUEST_QUEUE_SIZE = 1024;
+  private static final long STOP_TIMEOUT_SECONDS = 5;
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService reaper;
+  private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong();
+  private final int maxSessions;
+  private final long idleNanos;
+
+  /**
+   * Constructs a {@code GameServer} bound to the given address, hosting up to 10000 games that
+   * end after 30 idle minutes. Port 0 picks a free port, which {@link #getAddress()} reports.
+   *
+   * @param address the address to listen on
+   * @throws IOException if the address cannot be bound
+   */
+  public GameServer(InetSocketAddress address) throws IOException {
+    this(address, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Constructs a {@code GameServer} bound to the given address, hosting at most the given number
+   * of games at once. A game is ended between one and two idle timeouts after its last request.
+   *
+   * @param address     the address to listen on
+   * @param maxSessions the largest number of games in progress
+   * @param idleTimeout the time after which an unused game may be ended
+   * @param unit        the unit of the idle timeout
+   * @throws IOException              if the address cannot be bound
+   * @throws IllegalArgumentException if the number of games or the timeout is not positive
+   */
+  public GameServer(InetSocketAddress address, int maxSessions, long idleTimeout, TimeUnit unit)
+          throws IOException, IllegalArgumentException {
+    if (maxSessions <= 0 || idleTimeout <= 0 || unit == null) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid session limit %d or idle timeout %d", maxSessions, idleTimeout));
+    }
+    this.maxSessions = maxSessions;
+    this.idleNanos = unit.toNanos(idleTimeout);
+    this.server = HttpServer.create(address, 0);
+    this.executor = newRequestExecutor();
+    this.server.setExecutor(executor);
+    this.server.createContext("/games", this::handle);
+    this.reaper = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "game-reaper");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Creates the executor that runs requests: a fixed number of threads, released when idle, with
+   * a bounded queue.
+   *
+   * @return the executor for requests
+   */
+  static ExecutorService newRequestExecutor() {
+    int threads = 2 * Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(REQUEST_QUEUE_SIZE), task -> {
+              Thread thread = new Thread(task, "game-request");
+              thread.setDaemon(true);
+              return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * Starts accepting requests.
+   */
+  public void start() {
+    server.start();
+    reaper.scheduleAtFixedRate(this::endIdleSessions, idleNanos, idleNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Stops accepting requests, waits up to 5 seconds for running requests to finish and ends all
+   * games.
+   */
+  public void stop() {
+    server.stop(0);
+    executor.shutdown();
+    reaper.shutdownNow();
+    try {
+      executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    sessions.clear();
+  }
+
+  /**
+   * Returns the address the server listens on.
+   *
+   * @return the bound address, with the actual port
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Returns the number of games in progress.
+   *
+   * @return the number of sessions
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Ends every game that has not been used for the idle timeout.
+   */
+  private void endIdleSessions() {
+    long usedSince = System.nanoTime() - idleNanos;
+    sessions.values().removeIf(session -> session.lastUsed() - usedSince < 0);
+  }
+
+  /**
+   * Routes a request to the operation for its method and path, and sends the response.
+   *
+   * @param exchange the request and its response
+   * @throws IOException if the response cannot be sent
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String method = exchange.getRequestMethod();
+      String rawPath = exchange.getRequestURI().getPath();
+      // the context also matches paths such as "/gamesX"
+      if (!rawPath.equals("/games") && !rawPath.startsWith("/games/")) {
+        send(exchange, 404, "Not found");
+        return;
+      }
+      String[] path = rawPath.split("/");
+      Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+      // path is "", "games", then the id and the operation
+      if (path.length == 2 && method.equals("POST")) {
+        String id = create(query);
+        if (id == null) {
+          send(exchange, 503, "Too many games");
+        } else {
+          send(exchange, 201, id);
+        }
+        return;
+      }
+      if (path.length < 3 || path.length > 4) {
+        send(exchange, 404, "Not found");
+        return;
+      }
+      GameSession session = sessions.get(path[2]);
+      if (session == null) {
+        send(exchange, 404, String.format("No game %s", path[2]));
+        return;
+      }
+      session.touch();
+      String operation = path.length == 4 ? path[3] : "";
+      switch (method + " " + operation) {
+        case "GET ":
+          send(exchange, 200, session.board());
+          break;
+        case "GET score":
+          send(exchange, 200, Integer.toString(session.score()));
+          break;
+        case "GET over":
+          send(exchange, 200, Boolean.toString(session.isGameOver()));
+          break;
+        case "POST move":
+          if (session.move(intParam(query, "fromRow"), intParam(query, "fromCol"),
+                  intParam(query, "toRow"), intParam(query, "toCol"))) {
+            send(exchange, 200, session.board());
+          } else {
+            send(exchange, 409, "Invalid move");
+          }
+          break;
+        case "POST undo":
+          if (session.undo()) {
+            send(exchange, 200, session.board());
+          } else {
+            send(exchange, 409, "Nothing to undo");
+          }
+          break;
+        case "DELETE ":
+          sessions.remove(path[2]);
+          send(exchange, 204, null);
+          break;
+        default:
+          send(exchange, 405, "Method not allowed");
+      }
+    } catch (IllegalArgumentException e) {
+      send(exchange, 400, e.getMessage());
+    } catch (RuntimeException e) {
+      send(exchange, 500, "Internal error");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Starts a new game. Games are started one at a time so that the cap holds.
+   *
+   * @param query the parameters of the request
+   * @return the id of the new game, or null if the server already hosts as many games as it may
+   * @throws IllegalArgumentException if the board or empty slot is invalid
+   */
+  private synchronized String create(Map<String, String> query)
+          throws IllegalArgumentException {
+    int arm = query.containsKey("arm") ? intParam(query, "arm") : DEFAULT_ARM_THICKNESS;
+    // checked before the board size is computed or a topology is cached for it; the model
+    // checks the rest of the board and that the empty slot is on it
+    if (arm > MAX_ARM_THICKNESS) {
+      throw new IllegalArgumentException(String.format(
+          "Arm thickness %d above %d", arm, MAX_ARM_THICKNESS));
+    }
+    int boardSize = arm * 3 - 2;
+    int row = query.containsKey("row") ? intParam(query, "row") : boardSize / 2;
+    int col = query.containsKey("col") ? intParam(query, "col") : boardSize / 2;
+    if (sessions.size() >= maxSessions) {
+      endIdleSessions();
+      if (sessions.size() >= maxSessions) {
+        return null;
+      }
+    }
+    GameSession session = new GameSession(arm, row, col);
+    String id = Long.toString(nextId.incrementAndGet(), 36);
+    sessions.put(id, session);
+    return id;
+  }
+
+  /**
+   * Splits a query string into its parameters.
+   *
+   * @param query the raw query, or null
+   * @return the parameters by name
+   */
+  private static Map<String, String> parseQuery(String query) {
+    Map<String, String> params = new HashMap<>();
+    if (query != null) {
+      for (String pair : query.split("&")) {
+        int split = pair.indexOf('=');
+        if (split > 0) {
+          params.put(pair.substring(0, split), pair.substring(split + 1));
+        }
+      }
+    }
+    return params;
+  }
+
+  /**
+   * Reads an integer parameter.
+   *
+   * @throws IllegalArgumentException if the parameter is missing or not an integer
+   */
+  private static int intParam(Map<String, String> query, String name)
+          throws IllegalArgumentException {
+    String value = query.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException(String.format("Missing parameter %s", name));
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("Invalid parameter %s", name));
+    }
+  }
+
+  /**
+   * Sends a plain text response.
+   *
+   * @param exchange the exchange to respond to
+   * @param status   the HTTP status code
+   * @param body     the text of the response, or null for none
+   * @throws IOException if the response cannot be sent
+   */
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    byte[] bytes = (body + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
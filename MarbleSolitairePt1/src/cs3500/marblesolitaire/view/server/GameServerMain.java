@@ -0,0 +1,31 @@
+package cs3500.marblesolitaire.view.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * The {@code GameServerMain} class is the entry point for hosting games over HTTP. It listens on
+ * the port given as the first argument, 8080 by default, until the process is stopped. It only
+ * accepts local connections unless a host to bind, such as {@code 0.0.0.0}, is given as the
+ * second argument.
+ */
+public class GameServerMain {
+  private static final int DEFAULT_PORT = 8080;
+
+  /**
+   * Starts a {@link GameServer}, on the loopback interface by default.
+   *
+   * @param args the port to listen on and the host to bind (both optional)
+   * @throws IOException if the port cannot be bound
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    InetSocketAddress address = args.length > 1 ? new InetSocketAddress(args[1], port)
+            : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    GameServer server = new GameServer(address);
+    server.start();
+    System.out.println(String.format("Serving games on %s port %d",
+            server.getAddress().getHostString(), server.getAddress().getPort()));
+  }
+}
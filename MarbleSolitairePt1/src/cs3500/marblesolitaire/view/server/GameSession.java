@@ -0,0 +1,118 @@
+package cs3500.marblesolitaire.view.server;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireTextView;
+
+/**
+ * One game hosted by a {@link GameServer}. Requests for the same session may arrive on several
+ * threads at once, so every change holds the session's lock; different sessions never contend.
+ * After each change the session publishes an immutable snapshot of the model, and reads are
+ * answered from the latest snapshot without taking the lock.
+ */
+final class GameSession {
+  private final MarbleSolitaireModel model;
+  // the position after the latest change, with whether it ends the game, published together
+  private volatile State state;
+  // the System.nanoTime() of the latest request
+  private volatile long lastUsed = System.nanoTime();
+
+  /**
+   * A position of the game and whether it ends the game.
+   */
+  private static final class State {
+    private final MarbleSolitaireModelState snapshot;
+    private final boolean gameOver;
+
+    private State(MarbleSolitaireModelState snapshot, boolean gameOver) {
+      this.snapshot = snapshot;
+      this.gameOver = gameOver;
+    }
+  }
+
+  /**
+   * Constructs a {@code GameSession} on a new English board.
+   *
+   * @param armThickness the arm thickness of the board
+   * @param sRow         the row of the empty slot
+   * @param sCol         the column of the empty slot
+   * @throws IllegalArgumentException if the board or empty slot is invalid
+   */
+  GameSession(int armThickness, int sRow, int sCol) throws IllegalArgumentException {
+    this.model = new EnglishSolitaireModel(armThickness, sRow, sCol);
+    publish();
+  }
+
+  /**
+   * Publishes the current position of the model. Called with the lock held, or before the
+   * session is shared.
+   */
+  private void publish() {
+    state = new State(model.snapshot(), model.isGameOver());
+  }
+
+  /**
+   * Records that the session was just used.
+   */
+  void touch() {
+    lastUsed = System.nanoTime();
+  }
+
+  /**
+   * Returns when the session was last used.
+   *
+   * @return the {@link System#nanoTime()} of the latest request
+   */
+  long lastUsed() {
+    return lastUsed;
+  }
+
+  /**
+   * Makes a move.
+   *
+   * @return true if the move was legal and made
+   */
+  synchronized boolean move(int fromRow, int fromCol, int toRow, int toCol) {
+    if (!model.tryMove(fromRow, fromCol, toRow, toCol)) {
+      return false;
+    }
+    publish();
+    return true;
+  }
+
+  /**
+   * Takes back the last move.
+   *
+   * @return true if there was a move to take back
+   */
+  synchronized boolean undo() {
+    if (!model.canUndo()) {
+      return false;
+    }
+    model.undo();
+    publish();
+    return true;
+  }
+
+  /**
+   * Returns the board, as drawn by {@link MarbleSolitaireTextView}.
+   */
+  String board() {
+    return new MarbleSolitaireTextView(state.snapshot).toString();
+  }
+
+  /**
+   * Returns the number of marbles left.
+   */
+  int score() {
+    return state.snapshot.getScore();
+  }
+
+  /**
+   * Checks whether no move is possible.
+   */
+  boolean isGameOver() {
+    return state.gameOver;
+  }
+}
@@ -0,0 +1,25 @@
+package cs3500.marblesolitaire.view.simulation;
+
+import java.util.SplittableRandom;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+
+/**
+ * Picks the next move of a simulated game. A policy is called from many threads at once, each
+ * with its own model and random generator, so implementations must not keep mutable state.
+ */
+public interface PlayoutPolicy {
+
+  /**
+   * Picks one of the legal moves of the given model. The model may be changed while choosing,
+   * as long as it is back in the same state when this method returns.
+   *
+   * @param model  the game being played
+   * @param moves  the legal moves of the game, encoded as described in
+   *               {@link cs3500.marblesolitaire.view.model.Moves}
+   * @param count  the number of legal moves, at least 1
+   * @param random the random generator of the calling thread
+   * @return the position in {@code moves} of the chosen move, between 0 and {@code count - 1}
+   */
+  int choose(MarbleSolitaireModel model, int[] moves, int count, SplittableRandom random);
+}
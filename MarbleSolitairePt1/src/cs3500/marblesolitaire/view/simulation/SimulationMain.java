@@ -0,0 +1,108 @@
+package cs3500.marblesolitaire.view.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code SimulationMain} class is the entry point for playing batches of games without a
+ * GUI. It plays the requested number of games with a {@link StandardPolicy} and prints the
+ * distribution of the final scores.
+ *
+ * <p>Options, all optional:
+ * <pre>
+ *   --games N      the number of games to play (default 100000)
+ *   --arm N        the arm thickness of the board (default 3)
+ *   --row N        the row of the empty slot at the start (default the center)
+ *   --col N        the column of the empty slot at the start (default the center)
+ *   --policy NAME  random, greedy or center (default random)
+ *   --seed N       the seed of the random generators (default the current time)
+ *   --threads N    the number of worker threads (default the number of processors)
+ * </pre>
+ */
+public class SimulationMain {
+  private static final String USAGE = "Usage: SimulationMain [--games N] [--arm N] [--row N] "
+          + "[--col N] [--policy random|greedy|center] [--seed N] [--threads N]";
+  // width of the longest bar of the histogram
+  private static final int BAR_WIDTH = 50;
+
+  /**
+   * Parses the options, runs the simulation and prints its results.
+   *
+   * @param args the command-line options
+   */
+  public static void main(String[] args) {
+    long games = 100_000;
+    int arm = 3;
+    Integer row = null;
+    Integer col = null;
+    PlayoutPolicy policy = StandardPolicy.UNIFORM_RANDOM;
+    long seed = System.nanoTime();
+    int threads = Runtime.getRuntime().availableProcessors();
+    try {
+      for (int i = 0; i < args.length; i += 2) {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException(String.format("Missing value for %s", args[i]));
+        }
+        String value = args[i + 1];
+        switch (args[i]) {
+          case "--games":
+            games = Long.parseLong(value);
+            break;
+          case "--arm":
+            arm = Integer.parseInt(value);
+            break;
+          case "--row":
+            row = Integer.parseInt(value);
+            break;
+          case "--col":
+            col = Integer.parseInt(value);
+            break;
+          case "--policy":
+            policy = StandardPolicy.forShortName(value);
+            break;
+          case "--seed":
+            seed = Long.parseLong(value);
+            break;
+          case "--threads":
+            threads = Integer.parseInt(value);
+            break;
+          default:
+            throw new IllegalArgumentException(String.format("Unknown option %s", args[i]));
+        }
+      }
+      int center = arm * 3 / 2 - 1;
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        SimulationResult result = new Simulator(pool).run(arm, row == null ? center : row,
+                col == null ? center : col, policy, games, seed);
+        System.out.println(result);
+        printHistogram(result);
+      } finally {
+        pool.shutdown();
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Prints one line per final score, with the number and share of games and a bar.
+   *
+   * @param result the results to print
+   */
+  private static void printHistogram(SimulationResult result) {
+    if (result.getGames() == 0) {
+      return;
+    }
+    long most = 0;
+    for (int score = result.getMinScore(); score <= result.getMaxScore(); score++) {
+      most = Math.max(most, result.getScoreCount(score));
+    }
+    for (int score = result.getMinScore(); score <= result.getMaxScore(); score++) {
+      long count = result.getScoreCount(score);
+      System.out.printf("%4d %12d %7.3f%% %s%n", score, count, 100.0 * count / result.getGames(),
+              "#".repeat((int) (BAR_WIDTH * count / most)));
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package cs3500.marblesolitaire.view.simulation;
+
+/**
+ * The outcome of a batch of simulated games: how many games ended with each score, and how long
+ * the batch took. The score of a game is the number of marbles left when no move is possible.
+ */
+public final class SimulationResult {
+  private final long[] scoreCounts;
+  private final long games;
+  private final long wallTimeNanos;
+
+  /**
+   * Constructs a {@code SimulationResult}.
+   *
+   * @param scoreCounts   the number of games that ended with each score, indexed by score
+   * @param wallTimeNanos the elapsed time of the batch in nanoseconds
+   */
+  SimulationResult(long[] scoreCounts, long wallTimeNanos) {
+    this.scoreCounts = scoreCounts.clone();
+    long total = 0;
+    for (long count : scoreCounts) {
+      total += count;
+    }
+    this.games = total;
+    this.wallTimeNanos = wallTimeNanos;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of games that ended with the given score.
+   *
+   * @param score the number of marbles left
+   * @return the number of games with that score, 0 if the score is impossible
+   */
+  public long getScoreCount(int score) {
+    if (score < 0 || score >= scoreCounts.length) {
+      return 0;
+    }
+    return scoreCounts[score];
+  }
+
+  /**
+   * Returns the lowest score of any game.
+   *
+   * @return the best score, or -1 if no game was played
+   */
+  public int getMinScore() {
+    for (int score = 0; score < scoreCounts.length; score++) {
+      if (scoreCounts[score] > 0) {
+        return score;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the highest score of any game.
+   *
+   * @return the worst score, or -1 if no game was played
+   */
+  public int getMaxScore() {
+    for (int score = scoreCounts.length - 1; score >= 0; score--) {
+      if (scoreCounts[score] > 0) {
+        return score;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the average score over all games.
+   *
+   * @return the mean score, or 0 if no game was played
+   */
+  public double getMeanScore() {
+    if (games == 0) {
+      return 0;
+    }
+    double sum = 0;
+    for (int score = 0; score < scoreCounts.length; score++) {
+      sum += (double) score * scoreCounts[score];
+    }
+    return sum / games;
+  }
+
+  /**
+   * Returns the elapsed time of the batch.
+   *
+   * @return the wall time in nanoseconds
+   */
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * Returns the simulation throughput.
+   *
+   * @return the number of games played per second of wall time
+   */
+  public double getGamesPerSecond() {
+    if (wallTimeNanos == 0) {
+      return 0;
+    }
+    return games * 1e9 / wallTimeNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games, scores %d to %d (mean %.2f), %d solved, in %.1f ms (%.0f games/s)",
+            games, getMinScore(), getMaxScore(), getMeanScore(), getScoreCount(1),
+            wallTimeNanos / 1e6, getGamesPerSecond());
+  }
+}
@@ -0,0 +1,146 @@
+package cs3500.marblesolitaire.view.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.ModelPool;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * The {@code Simulator} class plays batches of games on {@link EnglishSolitaireModel}s without
+ * a view, letting a {@link PlayoutPolicy} pick every move. A batch is split into a fixed number
+ * of chunks that run in parallel. Each chunk plays all its games on one model taken from a
+ * {@link ModelPool}, resetting it to the start position by copying instead of creating a new
+ * model, and lists moves into one buffer, so games run without allocating.
+ *
+ * <p>Each chunk gets its own random generator split from the batch seed, so a batch with the
+ * same seed gives the same scores whatever the number of threads.
+ */
+public class Simulator {
+  // number of parts a batch is split into, enough to keep all workers of a large pool busy
+  private static final int CHUNKS = 256;
+
+  private final ForkJoinPool pool;
+  private final ModelPool models = new ModelPool();
+
+  /**
+   * Constructs a {@code Simulator} that runs on the common fork/join pool.
+   */
+  public Simulator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code Simulator} that runs on the given pool.
+   *
+   * @param pool the pool whose workers play the games
+   * @throws IllegalArgumentException if the pool is null
+   */
+  public Simulator(ForkJoinPool pool) throws IllegalArgumentException {
+    if (pool == null) {
+      throw new IllegalArgumentException("Invalid pool");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Plays a batch of games from the given start position.
+   *
+   * @param armThickness the arm thickness of the board
+   * @param sRow         the row of the empty slot at the start
+   * @param sCol         the column of the empty slot at the start
+   * @param policy       the policy that picks every move
+   * @param games        the number of games to play
+   * @param seed         the seed of the random generators of the policy
+   * @return the scores of the games
+   * @throws IllegalArgumentException if the board or start position is invalid, the policy is
+   *                                  null or the number of games is negative
+   */
+  public SimulationResult run(int armThickness, int sRow, int sCol, PlayoutPolicy policy,
+                              long games, long seed) throws IllegalArgumentException {
+    if (policy == null || games < 0) {
+      throw new IllegalArgumentException(String.format("Invalid policy or game count %d", games));
+    }
+    // fail on the calling thread if the start position is invalid
+    EnglishSolitaireModel start = new EnglishSolitaireModel(armThickness, sRow, sCol);
+    int boardSize = start.getBoardSize();
+    if (boardSize > Moves.MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException(String.format("Invalid armThickness %d", armThickness));
+    }
+
+    long startTime = System.nanoTime();
+    SplittableRandom random = new SplittableRandom(seed);
+    List<Callable<long[]>> chunks = new ArrayList<>();
+    for (int i = 0; i < CHUNKS; i++) {
+      long chunkGames = games / CHUNKS + (i < games % CHUNKS ? 1 : 0);
+      SplittableRandom chunkRandom = random.split();
+      if (chunkGames > 0) {
+        chunks.add(() -> play(start, policy, chunkGames, chunkRandom));
+      }
+    }
+
+    long[] scoreCounts = new long[boardSize * boardSize + 1];
+    try {
+      for (Future<long[]> chunk : pool.invokeAll(chunks)) {
+        long[] counts = chunk.get();
+        for (int score = 0; score < counts.length; score++) {
+          scoreCounts[score] += counts[score];
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Simulation interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Simulation failed", e.getCause());
+    }
+    return new SimulationResult(scoreCounts, System.nanoTime() - startTime);
+  }
+
+  /**
+   * Plays games on one pooled model, copying the start position into it before each game.
+   *
+   * @param start  the start position, which is only read
+   * @param policy the policy that picks every move
+   * @param games  the number of games to play
+   * @param random the random generator of the policy
+   * @return the number of games that ended with each score, indexed by score
+   */
+  private long[] play(EnglishSolitaireModel start, PlayoutPolicy policy, long games,
+                      SplittableRandom random) {
+    EnglishSolitaireModel model = models.acquire(start);
+    try {
+      return play(start, model, policy, games, random);
+    } finally {
+      models.release(model);
+    }
+  }
+
+  /**
+   * Plays games on the given model.
+   */
+  private static long[] play(EnglishSolitaireModel start, EnglishSolitaireModel model,
+                             PlayoutPolicy policy, long games, SplittableRandom random) {
+    int boardSize = model.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(boardSize)];
+    long[] scoreCounts = new long[boardSize * boardSize + 1];
+    for (long game = 0; game < games; game++) {
+      start.copyInto(model);
+      int count;
+      while ((count = model.legalMoves(moves)) > 0) {
+        int move = moves[policy.choose(model, moves, count, random)];
+        int from = Moves.fromIndex(move);
+        int to = Moves.toIndex(move);
+        model.move(Moves.row(from, boardSize), Moves.col(from, boardSize),
+                Moves.row(to, boardSize), Moves.col(to, boardSize));
+      }
+      scoreCounts[model.getScore()]++;
+    }
+    return scoreCounts;
+  }
+}
@@ -0,0 +1,114 @@
+package cs3500.marblesolitaire.view.simulation;
+
+import java.util.SplittableRandom;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * The built-in {@link PlayoutPolicy}s. The heuristic policies break ties at random, so they
+ * still play many different games.
+ */
+public enum StandardPolicy implements PlayoutPolicy {
+  /**
+   * Every legal move is equally likely.
+   */
+  UNIFORM_RANDOM("random") {
+    @Override
+    public int choose(MarbleSolitaireModel model, int[] moves, int count, SplittableRandom random) {
+      return random.nextInt(count);
+    }
+  },
+
+  /**
+   * The move that leaves the most legal moves is played, trying every move and taking it back.
+   */
+  GREEDY_MOBILITY("greedy") {
+    @Override
+    public int choose(MarbleSolitaireModel model, int[] moves, int count, SplittableRandom random) {
+      int boardSize = model.getBoardSize();
+      int best = 0;
+      int bestMobility = -1;
+      int ties = 0;
+      for (int i = 0; i < count; i++) {
+        int from = Moves.fromIndex(moves[i]);
+        int to = Moves.toIndex(moves[i]);
+        model.move(Moves.row(from, boardSize), Moves.col(from, boardSize),
+                Moves.row(to, boardSize), Moves.col(to, boardSize));
+        int mobility = model.legalMoves(NO_MOVES);
+        model.undo();
+        if (mobility > bestMobility) {
+          best = i;
+          bestMobility = mobility;
+          ties = 1;
+        } else if (mobility == bestMobility && random.nextInt(++ties) == 0) {
+          best = i;
+        }
+      }
+      return best;
+    }
+  },
+
+  /**
+   * The move that lands closest to the center of the board is played, which keeps the marbles
+   * together.
+   */
+  CENTER_AFFINITY("center") {
+    @Override
+    public int choose(MarbleSolitaireModel model, int[] moves, int count, SplittableRandom random) {
+      int boardSize = model.getBoardSize();
+      int center = boardSize - 1;
+      int best = 0;
+      int bestDistance = Integer.MAX_VALUE;
+      int ties = 0;
+      for (int i = 0; i < count; i++) {
+        int to = Moves.toIndex(moves[i]);
+        // twice the Manhattan distance, which stays an integer on even boards
+        int distance = Math.abs(2 * Moves.row(to, boardSize) - center)
+                + Math.abs(2 * Moves.col(to, boardSize) - center);
+        if (distance < bestDistance) {
+          best = i;
+          bestDistance = distance;
+          ties = 1;
+        } else if (distance == bestDistance && random.nextInt(++ties) == 0) {
+          best = i;
+        }
+      }
+      return best;
+    }
+  };
+
+  // an empty buffer, for counting moves without listing them
+  private static final int[] NO_MOVES = new int[0];
+
+  private final String shortName;
+
+  StandardPolicy(String shortName) {
+    this.shortName = shortName;
+  }
+
+  /**
+   * Returns the name of the policy on the command line.
+   *
+   * @return the short name of the policy
+   */
+  public String getShortName() {
+    return shortName;
+  }
+
+  /**
+   * Returns the policy with the given short name.
+   *
+   * @param shortName the name of the policy on the command line
+   * @return the policy with that name
+   * @throws IllegalArgumentException if there is no such policy
+   */
+  public static StandardPolicy forShortName(String shortName) throws IllegalArgumentException {
+    for (StandardPolicy policy : values()) {
+      if (policy.shortName.equals(shortName)) {
+        return policy;
+      }
+    }
+    throw new IllegalArgumentException(String.format("Unknown policy %s", shortName));
+  }
+}
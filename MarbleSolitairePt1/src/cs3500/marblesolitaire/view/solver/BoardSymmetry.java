@@ -0,0 +1,186 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+
+/**
+ * The symmetries of a packed board, used to map equivalent positions to one canonical key.
+ * The eight rotations and reflections of the square grid are tried, and those that map the
+ * board's slots onto slots and its jumps onto jumps are kept; the English cross board keeps all
+ * eight, while a triangular board, whose diagonal jumps only run one way, keeps only its
+ * reflection across the anti-diagonal. The canonical
+ * key of a position is the smallest packing among its images, so positions that are rotations
+ * or reflections of each other share a key.
+ *
+ * <p>Each symmetry is applied a byte at a time through precomputed lookup tables, so
+ * canonicalizing a 33-slot position costs a few dozen table reads.
+ */
+public final class BoardSymmetry {
+  private final PackedBoard board;
+  // tables[t][chunk][b] holds the image under symmetry t of byte b of the packing at chunk
+  private final long[][][] tables;
+  private final int chunks;
+
+  /**
+   * Constructs the symmetries of the given board.
+   *
+   * @param board the layout of the board
+   * @throws IllegalArgumentException if the board is null
+   */
+  public BoardSymmetry(PackedBoard board) throws IllegalArgumentException {
+    if (board == null) {
+      throw new IllegalArgumentException("Board is null");
+    }
+    this.board = board;
+    this.chunks = (board.getSlotCount() + 7) / 8;
+
+    List<long[][]> found = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int[] image = permutation(t);
+      if (image != null) {
+        found.add(lookupTables(image));
+      }
+    }
+    this.tables = found.toArray(new long[0][][]);
+  }
+
+  /**
+   * Computes the slot that every slot is mapped to by the given symmetry of the square grid.
+   *
+   * @param t the symmetry, from 0 to 7
+   * @return the image of every slot, or null if the symmetry does not map the board and its
+   *         jumps onto themselves
+   */
+  private int[] permutation(int t) {
+    int last = board.getBoardSize() - 1;
+    int[] image = new int[board.getSlotCount()];
+    for (int s = 0; s < image.length; s++) {
+      int row = board.rowOf(s);
+      int col = board.colOf(s);
+      int newRow;
+      int newCol;
+      switch (t) {
+        case 0:
+          newRow = row;
+          newCol = col;
+          break;
+        case 1:
+          newRow = col;
+          newCol = last - row;
+          break;
+        case 2:
+          newRow = last - row;
+          newCol = last - col;
+          break;
+        case 3:
+          newRow = last - col;
+          newCol = row;
+          break;
+        case 4:
+          newRow = row;
+          newCol = last - col;
+          break;
+        case 5:
+          newRow = last - row;
+          newCol = col;
+          break;
+        case 6:
+          newRow = col;
+          newCol = row;
+          break;
+        default:
+          newRow = last - col;
+          newCol = last - row;
+          break;
+      }
+      image[s] = board.slotAt(newRow, newCol);
+      if (image[s] < 0) {
+        return null;
+      }
+    }
+    int slots = board.getSlotCount();
+    boolean[] isJump = new boolean[slots * slots];
+    for (int jump = 0; jump < board.getJumpCount(); jump++) {
+      isJump[board.fromSlot(jump) * slots + board.toSlot(jump)] = true;
+    }
+    for (int jump = 0; jump < board.getJumpCount(); jump++) {
+      if (!isJump[image[board.fromSlot(jump)] * slots + image[board.toSlot(jump)]]) {
+        return null;
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Builds the byte lookup tables that apply the given slot permutation to a packing.
+   */
+  private long[][] lookupTables(int[] image) {
+    long[][] table = new long[chunks][256];
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      for (int b = 1; b < 256; b++) {
+        long bits = 0;
+        for (int bit = 0; bit < 8; bit++) {
+          int slot = chunk * 8 + bit;
+          if ((b & (1 << bit)) != 0 && slot < image.length) {
+            bits |= 1L << image[slot];
+          }
+        }
+        table[chunk][b] = bits;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Returns the number of symmetries of the board, including the identity.
+   *
+   * @return a number between 1 and 8
+   */
+  public int getSymmetryCount() {
+    return tables.length;
+  }
+
+  /**
+   * Returns the canonical key of the given packed position: the smallest packing, compared as
+   * unsigned, among the images of the position under the board's symmetries.
+   *
+   * @param marbles the marbles of the position, packed over the board's slots
+   * @return the canonical key
+   */
+  public long canonical(long marbles) {
+    long best = marbles;
+    for (int t = 1; t < tables.length; t++) {
+      long[][] table = tables[t];
+      long image = 0;
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        image |= table[chunk][(int) (marbles >>> (chunk * 8)) & 0xFF];
+      }
+      if (Long.compareUnsigned(image, best) < 0) {
+        best = image;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the canonical key of the position of the given state.
+   *
+   * @param state a state with the same board as this symmetry's layout
+   * @return the canonical key
+   * @throws IllegalArgumentException if the state's board does not match the layout
+   */
+  public long canonicalKey(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    return canonical(board.pack(state));
+  }
+
+  /**
+   * Returns the layout these symmetries act on.
+   *
+   * @return the board layout
+   */
+  public PackedBoard getBoard() {
+    return board;
+  }
+}
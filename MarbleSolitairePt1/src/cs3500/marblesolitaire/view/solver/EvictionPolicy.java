@@ -0,0 +1,22 @@
+package cs3500.marblesolitaire.view.solver;
+
+/**
+ * Decides which entry of a full {@link TranspositionTable} bucket gives way to a new entry.
+ */
+public enum EvictionPolicy {
+  /**
+   * The entry that was stored longest ago is replaced, so the table favors recent positions.
+   */
+  REPLACE_OLDEST,
+
+  /**
+   * The entry with the lowest priority is replaced, so expensive results outlive cheap ones
+   * while new results are always stored.
+   */
+  REPLACE_LOWEST_PRIORITY,
+
+  /**
+   * Nothing is replaced; new entries are dropped once their bucket is full.
+   */
+  KEEP_EXISTING
+}
@@ -0,0 +1,232 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.Arrays;
+
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState.SlotState;
+
+/**
+ * The layout of a marble solitaire board, numbering its valid slots so that a position fits in a
+ * single {@code long} with one bit per slot. The slots are numbered row by row, and every jump on
+ * the board is precomputed as a pair of bit masks, so applying a move takes two XORs. The jumps
+ * follow the directions of the board's {@link BoardGeometry}, so triangular boards get their
+ * diagonal jumps. A layout is immutable and can be shared by any number of threads.
+ */
+public final class PackedBoard {
+  /**
+   * The largest number of valid slots a board may have to be packed into a {@code long}.
+   */
+  public static final int MAX_SLOTS = 64;
+
+  private final int boardSize;
+  private final int slots;
+  private final int[] slotRow;
+  private final int[] slotCol;
+  // the slot number of each cell, or -1 for invalid cells
+  private final int[] slotIndex;
+  // for every jump, the bits of the jumping marble and the marble jumped over
+  private final long[] fromOver;
+  // for every jump, the bit of the landing slot
+  private final long[] to;
+  // for every jump, the slot of the jumping marble and the landing slot
+  private final int[] jumpFrom;
+  private final int[] jumpTarget;
+
+  /**
+   * Constructs the layout of the board of the given state, with the jumps of its
+   * {@linkplain MarbleSolitaireModelState#getGeometry() geometry}.
+   *
+   * @param state the state whose board is described
+   * @throws IllegalArgumentException if the state is null or has more than {@link #MAX_SLOTS} valid slots
+   */
+  public PackedBoard(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    if (state == null) {
+      throw new IllegalArgumentException("State is null");
+    }
+    this.boardSize = state.getBoardSize();
+    this.slotIndex = new int[boardSize * boardSize];
+    int[] rows = new int[MAX_SLOTS];
+    int[] cols = new int[MAX_SLOTS];
+    int count = 0;
+    for (int i = 0; i < boardSize; i++) {
+      for (int j = 0; j < boardSize; j++) {
+        if (state.getSlotAt(i, j) == SlotState.Invalid) {
+          slotIndex[i * boardSize + j] = -1;
+          continue;
+        }
+        if (count == MAX_SLOTS) {
+          throw new IllegalArgumentException(
+                  String.format("Board has more than %d slots", MAX_SLOTS));
+        }
+        rows[count] = i;
+        cols[count] = j;
+        slotIndex[i * boardSize + j] = count++;
+      }
+    }
+    this.slots = count;
+    this.slotRow = Arrays.copyOf(rows, count);
+    this.slotCol = Arrays.copyOf(cols, count);
+
+    BoardGeometry geometry = state.getGeometry();
+    int directions = geometry.getDirectionCount();
+    long[] jumpFromOver = new long[count * directions];
+    long[] jumpTo = new long[count * directions];
+    int[] froms = new int[count * directions];
+    int[] targets = new int[count * directions];
+    int jumps = 0;
+    for (int s = 0; s < count; s++) {
+      for (int d = 0; d < directions; d++) {
+        int dRow = geometry.rowStep(d);
+        int dCol = geometry.colStep(d);
+        int over = slotAt(slotRow[s] + dRow, slotCol[s] + dCol);
+        int target = slotAt(slotRow[s] + 2 * dRow, slotCol[s] + 2 * dCol);
+        if (over >= 0 && target >= 0) {
+          jumpFromOver[jumps] = (1L << s) | (1L << over);
+          jumpTo[jumps] = 1L << target;
+          froms[jumps] = s;
+          targets[jumps] = target;
+          jumps++;
+        }
+      }
+    }
+    this.fromOver = Arrays.copyOf(jumpFromOver, jumps);
+    this.to = Arrays.copyOf(jumpTo, jumps);
+    this.jumpFrom = Arrays.copyOf(froms, jumps);
+    this.jumpTarget = Arrays.copyOf(targets, jumps);
+  }
+
+  /**
+   * Returns the slot number of the given cell.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the slot number, or -1 if the cell is outside the board or invalid
+   */
+  public int slotAt(int row, int col) {
+    if (row < 0 || row >= boardSize || col < 0 || col >= boardSize) {
+      return -1;
+    }
+    return slotIndex[row * boardSize + col];
+  }
+
+  /**
+   * Packs the marbles of the given state into a bit set over this layout's slots.
+   *
+   * @param state a state with the same board as this layout
+   * @return the bits of the slots holding a marble
+   * @throws IllegalArgumentException if the state's board size differs from this layout's
+   */
+  public long pack(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    if (state.getBoardSize() != boardSize) {
+      throw new IllegalArgumentException("State does not match the board layout");
+    }
+    long bits = 0;
+    for (int s = 0; s < slots; s++) {
+      if (state.getSlotAt(slotRow[s], slotCol[s]) == SlotState.Marble) {
+        bits |= 1L << s;
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * Checks whether the given jump can be made on the given position.
+   *
+   * @param bits the marbles of the position
+   * @param jump the jump number
+   * @return true if the jump is a legal move
+   */
+  public boolean canJump(long bits, int jump) {
+    return (bits & fromOver[jump]) == fromOver[jump] && (bits & to[jump]) == 0;
+  }
+
+  /**
+   * Applies the given jump to the given position. The jump must be legal.
+   *
+   * @param bits the marbles of the position
+   * @param jump the jump number
+   * @return the marbles after the jump
+   */
+  public long jump(long bits, int jump) {
+    return bits ^ fromOver[jump] ^ to[jump];
+  }
+
+  /**
+   * Converts a jump number into the move it represents.
+   *
+   * @param jump the jump number
+   * @return the move from the jumping marble's slot to its landing slot
+   */
+  public SolitaireMove toMove(int jump) {
+    return new SolitaireMove(slotRow[jumpFrom[jump]], slotCol[jumpFrom[jump]],
+            slotRow[jumpTarget[jump]], slotCol[jumpTarget[jump]]);
+  }
+
+  /**
+   * Returns the slot of the marble that makes the given jump.
+   *
+   * @param jump the jump number
+   * @return the slot jumped from
+   */
+  public int fromSlot(int jump) {
+    return jumpFrom[jump];
+  }
+
+  /**
+   * Returns the slot the marble lands in after the given jump.
+   *
+   * @param jump the jump number
+   * @return the slot jumped to
+   */
+  public int toSlot(int jump) {
+    return jumpTarget[jump];
+  }
+
+  /**
+   * Returns the size of the board this layout describes.
+   *
+   * @return the board size
+   */
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  /**
+   * Returns the number of valid slots on the board.
+   *
+   * @return the number of slots
+   */
+  public int getSlotCount() {
+    return slots;
+  }
+
+  /**
+   * Returns the number of distinct jumps on the board.
+   *
+   * @return the number of jumps
+   */
+  public int getJumpCount() {
+    return fromOver.length;
+  }
+
+  /**
+   * Returns the row of the given slot.
+   *
+   * @param slot the slot number
+   * @return the row of the slot
+   */
+  public int rowOf(int slot) {
+    return slotRow[slot];
+  }
+
+  /**
+   * Returns the column of the given slot.
+   *
+   * @param slot the slot number
+   * @return the column of the slot
+   */
+  public int colOf(int slot) {
+    return slotCol[slot];
+  }
+}
@@ -0,0 +1,37 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The {@code PatternDatabaseMain} class is the entry point for generating a
+ * {@link PatternDatabase} of the standard board ahead of time.
+ *
+ * <p>Arguments, both optional: the largest marble count (default 10) and the file to write
+ * (default {@code patterns.bin}).
+ */
+public class PatternDatabaseMain {
+  private static final int STANDARD_ARM_THICKNESS = 3;
+  private static final int DEFAULT_MAX_MARBLES = 10;
+
+  /**
+   * Generates the database and prints how long it took.
+   *
+   * @param args the largest marble count and the output file
+   */
+  public static void main(String[] args) {
+    try {
+      int maxMarbles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_MARBLES;
+      Path path = Paths.get(args.length > 1 ? args[1] : "patterns.bin");
+      long start = System.nanoTime();
+      PatternDatabase.generate(STANDARD_ARM_THICKNESS, maxMarbles, path);
+      System.out.printf("Wrote positions with up to %d marbles to %s in %d ms%n", maxMarbles,
+              path, (System.nanoTime() - start) / 1_000_000);
+    } catch (IllegalArgumentException | IOException e) {
+      System.err.println(e.getMessage());
+      System.err.println("Usage: PatternDatabaseMain [max marbles] [output file]");
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.Objects;
+
+/**
+ * An immutable move of a single marble from one slot to another, as accepted by
+ * {@link cs3500.marblesolitaire.view.model.MarbleSolitaireModel#move(int, int, int, int)}.
+ */
+public final class SolitaireMove {
+  private final int fromRow;
+  private final int fromCol;
+  private final int toRow;
+  private final int toCol;
+
+  /**
+   * Constructs a {@code SolitaireMove} between the given positions.
+   *
+   * @param fromRow the row of the marble to move
+   * @param fromCol the column of the marble to move
+   * @param toRow   the row of the slot to move to
+   * @param toCol   the column of the slot to move to
+   */
+  public SolitaireMove(int fromRow, int fromCol, int toRow, int toCol) {
+    this.fromRow = fromRow;
+    this.fromCol = fromCol;
+    this.toRow = toRow;
+    this.toCol = toCol;
+  }
+
+  /**
+   * Returns the row of the marble to move.
+   *
+   * @return the from row
+   */
+  public int getFromRow() {
+    return fromRow;
+  }
+
+  /**
+   * Returns the column of the marble to move.
+   *
+   * @return the from column
+   */
+  public int getFromCol() {
+    return fromCol;
+  }
+
+  /**
+   * Returns the row of the slot to move to.
+   *
+   * @return the to row
+   */
+  public int getToRow() {
+    return toRow;
+  }
+
+  /**
+   * Returns the column of the slot to move to.
+   *
+   * @return the to column
+   */
+  public int getToCol() {
+    return toCol;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof SolitaireMove)) {
+      return false;
+    }
+    SolitaireMove that = (SolitaireMove) other;
+    return fromRow == that.fromRow && fromCol == that.fromCol
+            && toRow == that.toRow && toCol == that.toCol;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(fromRow, fromCol, toRow, toCol);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("(%d, %d) -> (%d, %d)", fromRow, fromCol, toRow, toCol);
+  }
+}
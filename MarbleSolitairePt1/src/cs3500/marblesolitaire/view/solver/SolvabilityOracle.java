@@ -0,0 +1,36 @@
+package cs3500.marblesolitaire.view.solver;
+
+/**
+ * Answers whether some positions can be reduced to a single marble without searching them. A
+ * {@link Solver} given an oracle prunes every position the oracle knows to be unsolvable, and
+ * only follows moves into known positions that the oracle says are solvable.
+ */
+public interface SolvabilityOracle {
+
+  /**
+   * Checks whether the oracle can answer for positions on the given board.
+   *
+   * @param board the layout of the board
+   * @return true if {@link #knows(long)} may be asked about positions on the board
+   */
+  boolean appliesTo(PackedBoard board);
+
+  /**
+   * Checks whether the oracle has an answer for the given position.
+   *
+   * @param marbles the marbles of the position, packed over the slots of a board the oracle
+   *                applies to
+   * @return true if {@link #isSolvable(long)} answers for the position
+   */
+  boolean knows(long marbles);
+
+  /**
+   * Returns whether the given position can be reduced to a single marble. Only meaningful for
+   * positions the oracle {@link #knows(long) knows}.
+   *
+   * @param marbles the marbles of the position, packed over the slots of a board the oracle
+   *                applies to
+   * @return true if the position is solvable
+   */
+  boolean isSolvable(long marbles);
+}
@@ -0,0 +1,309 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+
+/**
+ * The {@code Solver} class searches for a sequence of moves that reduces a marble solitaire
+ * position to a single marble. The search is a depth-first search split into
+ * {@link java.util.concurrent.ForkJoinTask}s near the root, so idle workers steal whole subtrees
+ * from busy ones. Positions that were fully explored without success are remembered in a
+ * {@link TranspositionTable} shared by all workers and keyed by {@link BoardSymmetry}, so a dead
+ * position and all its rotations and reflections are expanded once, within a fixed memory budget.
+ *
+ * <p>Boards are packed into a {@code long}, so the solver accepts boards of up to
+ * {@link PackedBoard#MAX_SLOTS} valid slots, which includes the standard 33-hole board.
+ */
+public class Solver {
+  private static final int DEFAULT_SPLIT_DEPTH = 5;
+  private static final int DEFAULT_TABLE_CAPACITY = 1 << 22;
+  // the value stored in the table for positions that cannot be solved
+  private static final int DEAD = 0;
+
+  private final ForkJoinPool pool;
+  private final int splitDepth;
+  private final int tableCapacity;
+  private final EvictionPolicy policy;
+  private final SolvabilityOracle oracle;
+
+  /**
+   * Constructs a {@code Solver} that runs on the common fork/join pool.
+   */
+  public Solver() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code Solver} that runs on the given pool.
+   *
+   * @param pool the pool whose workers share the search
+   * @throws IllegalArgumentException if the pool is null
+   */
+  public Solver(ForkJoinPool pool) throws IllegalArgumentException {
+    this(pool, DEFAULT_SPLIT_DEPTH);
+  }
+
+  /**
+   * Constructs a {@code Solver} that runs on the given pool and forks a task for every move
+   * made in the first {@code splitDepth} plies of the search.
+   *
+   * @param pool       the pool whose workers share the search
+   * @param splitDepth the number of plies that are searched in parallel
+   * @throws IllegalArgumentException if the pool is null or the split depth is negative
+   */
+  public Solver(ForkJoinPool pool, int splitDepth) throws IllegalArgumentException {
+    this(pool, splitDepth, DEFAULT_TABLE_CAPACITY, EvictionPolicy.REPLACE_LOWEST_PRIORITY);
+  }
+
+  /**
+   * Constructs a {@code Solver} with full control over its parallelism and memory. Every search
+   * allocates a transposition table of the given capacity, 16 bytes per entry.
+   *
+   * @param pool          the pool whose workers share the search
+   * @param splitDepth    the number of plies that are searched in parallel
+   * @param tableCapacity the number of dead positions remembered during a search
+   * @param policy        the policy deciding which dead positions are forgotten first
+   * @throws IllegalArgumentException if the pool or policy is null, the split depth is negative,
+   *                                  or the capacity is not positive
+   */
+  public Solver(ForkJoinPool pool, int splitDepth, int tableCapacity, EvictionPolicy policy)
+          throws IllegalArgumentException {
+    this(pool, splitDepth, tableCapacity, policy, null);
+  }
+
+  /**
+   * Constructs a {@code Solver} that also prunes the search with an oracle, such as a
+   * {@link PatternDatabase}. The oracle is only consulted for boards it applies to.
+   *
+   * @param pool          the pool whose workers share the search
+   * @param splitDepth    the number of plies that are searched in parallel
+   * @param tableCapacity the number of dead positions remembered during a search
+   * @param policy        the policy deciding which dead positions are forgotten first
+   * @param oracle        the oracle of known positions, or null for none
+   * @throws IllegalArgumentException if the pool or policy is null, the split depth is negative,
+   *                                  or the capacity is not positive
+   */
+  public Solver(ForkJoinPool pool, int splitDepth, int tableCapacity, EvictionPolicy policy,
+                SolvabilityOracle oracle) throws IllegalArgumentException {
+    if (pool == null || splitDepth < 0 || tableCapacity <= 0 || policy == null) {
+      throw new IllegalArgumentException("Invalid pool, split depth, capacity or policy");
+    }
+    this.pool = pool;
+    this.splitDepth = splitDepth;
+    this.tableCapacity = tableCapacity;
+    this.policy = policy;
+    this.oracle = oracle;
+  }
+
+  /**
+   * Searches for a sequence of moves that leaves a single marble on the board of the given state.
+   * The state is read once before the search starts and is not modified.
+   *
+   * @param state the position to solve
+   * @return the solution, if any, and statistics of the search
+   * @throws IllegalArgumentException if the state is null or its board is too large to pack
+   */
+  public SolverResult solve(MarbleSolitaireModelState state) throws IllegalArgumentException {
+    PackedBoard board = new PackedBoard(state);
+    return solve(board, board.pack(state));
+  }
+
+  /**
+   * Searches for a sequence of moves that leaves a single marble on the given packed position.
+   *
+   * @param board   the layout of the board
+   * @param marbles the marbles of the position, packed over the layout's slots
+   * @return the solution, if any, and statistics of the search
+   */
+  public SolverResult solve(PackedBoard board, long marbles) {
+    return solve(board, marbles, () -> false);
+  }
+
+  /**
+   * Searches for a sequence of moves that leaves a single marble on the given packed position,
+   * giving up as soon as the given condition holds. The condition is checked by every worker at
+   * every position, so it should be as cheap as reading a volatile field.
+   *
+   * @param board     the layout of the board
+   * @param marbles   the marbles of the position, packed over the layout's slots
+   * @param cancelled tells whether the search is no longer needed
+   * @return the solution, if any, and statistics of the search
+   * @throws CancellationException if the search was given up before it found an answer
+   */
+  public SolverResult solve(PackedBoard board, long marbles, BooleanSupplier cancelled)
+          throws CancellationException {
+    long start = System.nanoTime();
+    Search search = new Search(new BoardSymmetry(board),
+            new TranspositionTable(tableCapacity, policy),
+            oracle != null && oracle.appliesTo(board) ? oracle : null, cancelled);
+    pool.invoke(new SearchTask(search, marbles, new int[Long.bitCount(marbles)], 0));
+    long elapsed = System.nanoTime() - start;
+    if (search.solution.get() == null && cancelled.getAsBoolean()) {
+      throw new CancellationException("Search cancelled");
+    }
+
+    int[] jumps = search.solution.get();
+    List<SolitaireMove> moves = new ArrayList<>();
+    if (jumps != null) {
+      for (int jump : jumps) {
+        moves.add(board.toMove(jump));
+      }
+    }
+    return new SolverResult(jumps != null, moves, search.nodes.sum(), elapsed);
+  }
+
+  /**
+   * The state shared by all tasks of one search.
+   */
+  private static final class Search {
+    private final PackedBoard board;
+    private final BoardSymmetry symmetry;
+    private final TranspositionTable table;
+    // null if there is no oracle for the board
+    private final SolvabilityOracle oracle;
+    private final BooleanSupplier cancelled;
+    private final AtomicReference<int[]> solution = new AtomicReference<>();
+    private final LongAdder nodes = new LongAdder();
+
+    private Search(BoardSymmetry symmetry, TranspositionTable table, SolvabilityOracle oracle,
+                   BooleanSupplier cancelled) {
+      this.board = symmetry.getBoard();
+      this.symmetry = symmetry;
+      this.table = table;
+      this.oracle = oracle;
+      this.cancelled = cancelled;
+    }
+
+    /**
+     * Checks whether the search should stop, because a solution was found or it was cancelled.
+     */
+    private boolean isStopped() {
+      return solution.get() != null || cancelled.getAsBoolean();
+    }
+
+    /**
+     * Checks whether the given position, or one of its images, is known to be dead, either by
+     * the oracle or from earlier in the search.
+     */
+    private boolean isDead(long bits) {
+      if (oracle != null && oracle.knows(bits)) {
+        return !oracle.isSolvable(bits);
+      }
+      return table.get(symmetry.canonical(bits)) == DEAD;
+    }
+
+    /**
+     * Remembers the given position as dead, unless the search was stopped early.
+     * Positions with more marbles head larger subtrees, so they are kept in preference.
+     */
+    private void markDead(long bits) {
+      if (!isStopped()) {
+        table.put(symmetry.canonical(bits), DEAD, Long.bitCount(bits));
+      }
+    }
+  }
+
+  /**
+   * A task that searches the subtree below one position. Near the root it forks a task per legal
+   * move; below the split depth it searches the rest of the subtree itself.
+   */
+  private final class SearchTask extends RecursiveAction {
+    // tasks are never serialized, but RecursiveAction is Serializable
+    private static final long serialVersionUID = 1L;
+
+    private final Search search;
+    private final long marbles;
+    // the jumps leading to this position, with room for the rest of the solution
+    private final int[] path;
+    private final int depth;
+    private long nodes;
+
+    private SearchTask(Search search, long marbles, int[] path, int depth) {
+      this.search = search;
+      this.marbles = marbles;
+      this.path = path;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (depth < splitDepth) {
+        split();
+      } else {
+        dfs(marbles, depth);
+      }
+      search.nodes.add(nodes);
+    }
+
+    /**
+     * Forks a task for every legal move from this position and waits for all of them.
+     */
+    private void split() {
+      nodes++;
+      if (isSolved(marbles, depth) || search.isStopped() || search.isDead(marbles)) {
+        return;
+      }
+      PackedBoard board = search.board;
+      List<SearchTask> children = new ArrayList<>();
+      for (int jump = 0; jump < board.getJumpCount(); jump++) {
+        if (board.canJump(marbles, jump)) {
+          int[] childPath = path.clone();
+          childPath[depth] = jump;
+          children.add(new SearchTask(search, board.jump(marbles, jump), childPath, depth + 1));
+        }
+      }
+      invokeAll(children);
+      search.markDead(marbles);
+    }
+
+    /**
+     * Searches the subtree below the given position on this thread.
+     *
+     * @param bits  the marbles of the position
+     * @param depth the number of moves made so far
+     * @return true if a solution was found below the position
+     */
+    private boolean dfs(long bits, int depth) {
+      nodes++;
+      if (isSolved(bits, depth)) {
+        return true;
+      }
+      if (search.isStopped() || search.isDead(bits)) {
+        return false;
+      }
+      PackedBoard board = search.board;
+      for (int jump = 0; jump < board.getJumpCount(); jump++) {
+        if (board.canJump(bits, jump)) {
+          path[depth] = jump;
+          if (dfs(board.jump(bits, jump), depth + 1)) {
+            return true;
+          }
+        }
+      }
+      search.markDead(bits);
+      return false;
+    }
+
+    /**
+     * Records the path to the given position as the solution if only one marble is left.
+     *
+     * @return true if the position is solved
+     */
+    private boolean isSolved(long bits, int depth) {
+      if (Long.bitCount(bits) != 1) {
+        return false;
+      }
+      search.solution.compareAndSet(null, Arrays.copyOf(path, depth));
+      return true;
+    }
+  }
+}
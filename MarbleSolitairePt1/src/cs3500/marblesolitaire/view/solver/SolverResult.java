@@ -0,0 +1,86 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a {@link Solver} search: whether the position can be reduced to a single
+ * marble, the moves that do so, and statistics about the search.
+ */
+public final class SolverResult {
+  private final List<SolitaireMove> solution;
+  private final boolean solvable;
+  private final long nodesExpanded;
+  private final long wallTimeNanos;
+
+  /**
+   * Constructs a {@code SolverResult}.
+   *
+   * @param solvable      whether a solution was found
+   * @param solution      the moves of the solution, empty if there is none
+   * @param nodesExpanded the number of positions the search visited
+   * @param wallTimeNanos the elapsed time of the search in nanoseconds
+   */
+  SolverResult(boolean solvable, List<SolitaireMove> solution, long nodesExpanded,
+               long wallTimeNanos) {
+    this.solvable = solvable;
+    this.solution = Collections.unmodifiableList(solution);
+    this.nodesExpanded = nodesExpanded;
+    this.wallTimeNanos = wallTimeNanos;
+  }
+
+  /**
+   * Returns whether the position can be reduced to a single marble.
+   *
+   * @return true if a solution was found
+   */
+  public boolean isSolvable() {
+    return solvable;
+  }
+
+  /**
+   * Returns the moves that reduce the position to a single marble, in order.
+   *
+   * @return an unmodifiable list of moves, empty if the position is not solvable
+   */
+  public List<SolitaireMove> getSolution() {
+    return solution;
+  }
+
+  /**
+   * Returns the number of positions the search visited.
+   *
+   * @return the number of nodes expanded
+   */
+  public long getNodesExpanded() {
+    return nodesExpanded;
+  }
+
+  /**
+   * Returns the elapsed time of the search.
+   *
+   * @return the wall time in nanoseconds
+   */
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * Returns the search throughput.
+   *
+   * @return the number of nodes expanded per second of wall time
+   */
+  public double getNodesPerSecond() {
+    if (wallTimeNanos == 0) {
+      return 0;
+    }
+    return nodesExpanded * 1e9 / wallTimeNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s in %d moves, %d nodes in %.1f ms (%.0f nodes/s)",
+            solvable ? "Solvable" : "Unsolvable", solution.size(), nodesExpanded,
+            wallTimeNanos / 1e6, getNodesPerSecond());
+  }
+}
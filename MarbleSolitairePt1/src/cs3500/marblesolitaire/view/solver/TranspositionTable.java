@@ -0,0 +1,162 @@
+package cs3500.marblesolitaire.view.solver;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table from canonical position keys (see {@link BoardSymmetry}) to search
+ * results. The table never grows: it is an array of four-entry buckets, and once a bucket is full
+ * its {@link EvictionPolicy} decides which entry gives way, so memory stays flat however long a
+ * search runs.
+ *
+ * <p>The table is safe to share between threads without locking. Every entry is stored as two
+ * {@code long}s, the key XOR-ed with the data and the data itself, so an entry torn by concurrent
+ * writers no longer matches its key and reads as missing instead of returning a wrong value.
+ */
+public final class TranspositionTable {
+  /**
+   * The value returned by {@link #get(long)} for keys that are not in the table.
+   */
+  public static final int MISSING = Integer.MIN_VALUE;
+
+  private static final int BUCKET_SIZE = 4;
+  private static final long PRESENT = 1L << 47;
+  private static final int MAX_PRIORITY = 0x7FFF;
+
+  private final long[] keys;
+  private final long[] data;
+  private final int bucketMask;
+  private final EvictionPolicy policy;
+  // insertion counter used to age entries; lost updates between threads only blur the ages
+  private int clock;
+
+  /**
+   * Constructs a {@code TranspositionTable} that holds at least the given number of entries.
+   *
+   * @param capacity the number of entries, rounded up to a power of two
+   * @param policy   the policy used to evict entries from full buckets
+   * @throws IllegalArgumentException if the capacity is not positive or the policy is null
+   */
+  public TranspositionTable(int capacity, EvictionPolicy policy) throws IllegalArgumentException {
+    if (capacity <= 0 || capacity > 1 << 30 || policy == null) {
+      throw new IllegalArgumentException(String.format("Invalid capacity %d or policy", capacity));
+    }
+    int buckets = Integer.highestOneBit(Math.max(1, (capacity + BUCKET_SIZE - 1) / BUCKET_SIZE));
+    if (buckets * BUCKET_SIZE < capacity) {
+      buckets <<= 1;
+    }
+    this.keys = new long[buckets * BUCKET_SIZE];
+    this.data = new long[buckets * BUCKET_SIZE];
+    this.bucketMask = buckets - 1;
+    this.policy = policy;
+  }
+
+  /**
+   * Returns the index of the first entry of the bucket for the given key.
+   */
+  private int bucketOf(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return ((int) (hash >>> 32) & bucketMask) * BUCKET_SIZE;
+  }
+
+  /**
+   * Looks up the value stored for the given key.
+   *
+   * @param key the canonical key of a position
+   * @return the stored value, or {@link #MISSING} if the key is not in the table
+   */
+  public int get(long key) {
+    int bucket = bucketOf(key);
+    for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+      long entry = data[i];
+      if ((entry & PRESENT) != 0 && (keys[i] ^ entry) == key) {
+        return (int) entry;
+      }
+    }
+    return MISSING;
+  }
+
+  /**
+   * Stores a value for the given key, replacing any value already stored for it. If the key's
+   * bucket is full, the table's eviction policy decides whether an entry is replaced.
+   *
+   * @param key      the canonical key of a position
+   * @param value    the value to store; must not be {@link #MISSING}
+   * @param priority how valuable the entry is, for instance the size of the subtree it
+   *                 summarizes; clamped to the range 0 to 32767
+   */
+  public void put(long key, int value, int priority) {
+    int stamp = ++clock & 0xFFFF;
+    long entry = ((long) stamp << 48) | PRESENT
+            | ((long) Math.max(0, Math.min(priority, MAX_PRIORITY)) << 32)
+            | (value & 0xFFFFFFFFL);
+    int bucket = bucketOf(key);
+    int victim = -1;
+    for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+      long current = data[i];
+      if ((current & PRESENT) == 0 || (keys[i] ^ current) == key) {
+        victim = i;
+        break;
+      }
+      if (victim < 0 || preferToEvict(current, data[victim], stamp)) {
+        victim = i;
+      }
+    }
+    long current = data[victim];
+    if (policy == EvictionPolicy.KEEP_EXISTING && (current & PRESENT) != 0
+            && (keys[victim] ^ current) != key) {
+      return;
+    }
+    data[victim] = entry;
+    keys[victim] = key ^ entry;
+  }
+
+  /**
+   * Checks whether the first entry is a better eviction candidate than the second.
+   */
+  private boolean preferToEvict(long first, long second, int now) {
+    if (policy == EvictionPolicy.REPLACE_LOWEST_PRIORITY) {
+      return priorityOf(first) < priorityOf(second);
+    }
+    return age(first, now) > age(second, now);
+  }
+
+  private static int priorityOf(long entry) {
+    return (int) (entry >>> 32) & MAX_PRIORITY;
+  }
+
+  private static int age(long entry, int now) {
+    return (now - (int) (entry >>> 48)) & 0xFFFF;
+  }
+
+  /**
+   * Returns the number of entries the table can hold.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return keys.length;
+  }
+
+  /**
+   * Counts the entries currently stored. This scans the whole table.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    int size = 0;
+    for (long entry : data) {
+      if ((entry & PRESENT) != 0) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes every entry.
+   */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(data, 0);
+  }
+}
@@ -3,13 +3,14 @@ package cs3500.marblesolitaire.view.view;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.awt.image.BufferedImage;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
 import cs3500.marblesolitaire.view.controller.ControllerFeatures;
+import cs3500.marblesolitaire.view.jfr.RepaintEvent;
+import cs3500.marblesolitaire.view.metrics.LatencyHistogram;
+import cs3500.marblesolitaire.view.metrics.Metrics;
 import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
 
 /**
@@ -18,16 +19,28 @@ import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
  * and handling mouse click events to interact with the game.
  */
 public class BoardPanel extends JPanel implements IBoardPanel {
+  // largest layout image to keep, in pixels (64 MB at 4 bytes per pixel)
+  private static final long MAX_LAYOUT_PIXELS = 1L << 24;
+  // cell size at the standard screen resolution of 96 DPI
+  private static final int DEFAULT_CELL_SIZE = 50;
+  // empty cells around the board, in total over both sides
+  private static final int MARGIN_CELLS = 4;
+  // time spent painting the board, recorded only when metrics are enabled
+  private static final LatencyHistogram PAINT_LATENCY = Metrics.registry().histogram("view.paint");
   private MarbleSolitaireModelState modelState;
   private Image emptySlot, marbleSlot, blankSlot;
-  private final int cellDimension;
+  // the invalid cells of the board, drawn once since they never change
+  private BufferedImage layoutImage;
+  private boolean layoutImageTooLarge;
+  private int cellDimension;
   private int originX, originY;
   private ControllerFeatures features;
   private int highlightRow, highlightCol;
 
   /**
    * Constructs a {@code BoardPanel} with the given game state.
-   * Loads and scales the images for the board cells, and sets the preferred size of the panel.
+   * Picks a cell size from the screen resolution and size, and sets the preferred size of the panel.
+   * The images for the board cells come from the shared {@link TileCache}.
    *
    * @param state the current state of the Marble Solitaire game
    * @throws IllegalStateException if the required icon files cannot be loaded
@@ -36,44 +49,135 @@ public class BoardPanel extends JPanel implements IBoardPanel {
     super();
     this.modelState = state;
     this.setBackground(Color.WHITE);
-    this.cellDimension = 50;
-    try {
-      emptySlot = ImageIO.read(new FileInputStream("res/empty.png"));
-      emptySlot = emptySlot.getScaledInstance(cellDimension, cellDimension, Image.SCALE_DEFAULT);
-
-      marbleSlot = ImageIO.read(new FileInputStream("res/marble.png"));
-      marbleSlot = marbleSlot.getScaledInstance(cellDimension, cellDimension, Image.SCALE_DEFAULT);
-
-      blankSlot = ImageIO.read(new FileInputStream("res/blank.png"));
-      blankSlot = blankSlot.getScaledInstance(cellDimension, cellDimension, Image.SCALE_DEFAULT);
-
-      this.setPreferredSize(
-              new Dimension((this.modelState.getBoardSize() + 4) * cellDimension,
-                      (this.modelState.getBoardSize() + 4) * cellDimension));
-    } catch (IOException e) {
-      throw new IllegalStateException("Icons not found!");
+    this.highlightRow = -1;
+    this.highlightCol = -1;
+    int cells = this.modelState.getBoardSize() + MARGIN_CELLS;
+    int preferred = preferredCellSize(cells);
+    this.setPreferredSize(new Dimension(cells * preferred, cells * preferred));
+    setCellDimension(preferred);
+  }
+
+  /**
+   * Picks the cell size for a board shown on the default screen: the default size scaled to the
+   * screen resolution, shrunk if needed so that the board fits on the screen.
+   *
+   * @param cells the number of cells across the board, margin included
+   * @return the cell size, in pixels
+   */
+  private static int preferredCellSize(int cells) {
+    if (GraphicsEnvironment.isHeadless()) {
+      return DEFAULT_CELL_SIZE;
+    }
+    int size = DEFAULT_CELL_SIZE * Toolkit.getDefaultToolkit().getScreenResolution() / 96;
+    Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+    // leave room for the window decorations and the score and button rows
+    int fit = Math.min(screen.width, screen.height * 4 / 5) / cells;
+    return Math.max(TileCache.MIN_CELL_SIZE, Math.min(size, fit));
+  }
+
+  /**
+   * Switches to the given cell size, fetching the tiles of that size and dropping the layout image
+   * if the size changed.
+   *
+   * @param size the new cell size, in pixels
+   */
+  private void setCellDimension(int size) {
+    size = Math.max(TileCache.MIN_CELL_SIZE, Math.min(TileCache.MAX_CELL_SIZE, size));
+    if (size != cellDimension) {
+      cellDimension = size;
+      emptySlot = TileCache.get(TileCache.Tile.EMPTY, size);
+      marbleSlot = TileCache.get(TileCache.Tile.MARBLE, size);
+      blankSlot = TileCache.get(TileCache.Tile.BLANK, size);
+      layoutImage = null;
+      layoutImageTooLarge = false;
+    }
+  }
+
+  /**
+   * Returns an opaque image of the whole board with only its invalid cells drawn, creating it
+   * on first use. Returns null if such an image would be too large to keep.
+   *
+   * @return the layout image, or null
+   */
+  private BufferedImage getLayoutImage() {
+    int boardSize = this.modelState.getBoardSize();
+    long side = (long) boardSize * cellDimension;
+    if (layoutImage == null && !layoutImageTooLarge) {
+      if (side * side > MAX_LAYOUT_PIXELS) {
+        layoutImageTooLarge = true;
+        return null;
+      }
+      layoutImage = TileCache.newScreenImage((int) side, (int) side, Transparency.OPAQUE);
+      Graphics2D g = layoutImage.createGraphics();
+      g.setColor(this.getBackground());
+      g.fillRect(0, 0, (int) side, (int) side);
+      for (int i = 0; i < boardSize; i++) {
+        for (int j = 0; j < boardSize; j++) {
+          if (this.modelState.getSlotAt(i, j) == MarbleSolitaireModelState.SlotState.Invalid) {
+            g.drawImage(blankSlot, j * cellDimension, i * cellDimension, null);
+          }
+        }
+      }
+      g.dispose();
     }
+    return layoutImage;
+  }
+
+  /**
+   * Fits the cells to the current size of the panel and computes the position of the board's top
+   * left corner, which keeps the board centered. Before the panel is laid out, its preferred size
+   * is used.
+   */
+  private void updateOrigin() {
+    int width = this.getWidth() > 0 ? this.getWidth() : this.getPreferredSize().width;
+    int height = this.getHeight() > 0 ? this.getHeight() : this.getPreferredSize().height;
+    int boardSize = this.modelState.getBoardSize();
+    setCellDimension(Math.min(width, height) / (boardSize + MARGIN_CELLS));
+    originX = width / 2 - boardSize * cellDimension / 2;
+    originY = height / 2 - boardSize * cellDimension / 2;
   }
 
   /**
    * Paints the game board on the panel. This method is called whenever the panel needs to be rendered.
    * It draws the appropriate image for each cell based on its state (marble, empty, or invalid).
+   * Only the cells inside the clip area are drawn, so repainting a few cells costs the same on any board.
+   * The invalid cells come from a prebuilt image of the board layout, and only marbles and empty slots
+   * are drawn on top of it. Each paint is recorded as a {@link RepaintEvent} when Flight Recorder
+   * enables it.
    *
    * @param g the {@code Graphics} context in which to paint
    */
   @Override
   protected void paintComponent(Graphics g) {
+    long start = Metrics.ENABLED ? System.nanoTime() : 0;
+    RepaintEvent event = new RepaintEvent();
+    event.begin();
     super.paintComponent(g);
+    updateOrigin();
 
-    originX = (int) (this.getPreferredSize().getWidth() / 2 - this.modelState.getBoardSize() * cellDimension / 2);
-    originY = (int) (this.getPreferredSize().getHeight() / 2 - this.modelState.getBoardSize() * cellDimension / 2);
+    // Find the cells that intersect the area to repaint
+    int last = this.modelState.getBoardSize() - 1;
+    int firstRow = 0, lastRow = last, firstCol = 0, lastCol = last;
+    Rectangle clip = g.getClipBounds();
+    if (clip != null) {
+      firstRow = Math.max(0, Math.floorDiv(clip.y - originY, cellDimension));
+      lastRow = Math.min(last, Math.floorDiv(clip.y + clip.height - 1 - originY, cellDimension));
+      firstCol = Math.max(0, Math.floorDiv(clip.x - originX, cellDimension));
+      lastCol = Math.min(last, Math.floorDiv(clip.x + clip.width - 1 - originX, cellDimension));
+    }
 
-    // Paint the board
-    for (int i = 0; i < this.modelState.getBoardSize(); i++) {
-      for (int j = 0; j < this.modelState.getBoardSize(); j++) {
+    // Paint the static layout, then the cells that can change
+    BufferedImage layout = getLayoutImage();
+    if (layout != null) {
+      g.drawImage(layout, originX, originY, null);
+    }
+    for (int i = firstRow; i <= lastRow; i++) {
+      for (int j = firstCol; j <= lastCol; j++) {
         switch (this.modelState.getSlotAt(i, j)) {
           case Invalid:
-            g.drawImage(blankSlot, originX + j * cellDimension, originY + i * cellDimension, null);
+            if (layout == null) {
+              g.drawImage(blankSlot, originX + j * cellDimension, originY + i * cellDimension, null);
+            }
             break;
           case Marble:
             g.drawImage(marbleSlot, originX + j * cellDimension, originY + i * cellDimension, null);
@@ -84,6 +188,81 @@ public class BoardPanel extends JPanel implements IBoardPanel {
         }
       }
     }
+
+    // Outline the selected cell
+    if (highlightRow >= firstRow && highlightRow <= lastRow
+            && highlightCol >= firstCol && highlightCol <= lastCol) {
+      g.setColor(Color.RED);
+      int x = originX + highlightCol * cellDimension;
+      int y = originY + highlightRow * cellDimension;
+      g.drawRect(x, y, cellDimension - 1, cellDimension - 1);
+      g.drawRect(x + 1, y + 1, cellDimension - 3, cellDimension - 3);
+    }
+    if (Metrics.ENABLED) {
+      PAINT_LATENCY.record(System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.boardSize = this.modelState.getBoardSize();
+      event.score = this.modelState.getScore();
+      event.cells = Math.max(0, lastRow - firstRow + 1) * Math.max(0, lastCol - firstCol + 1);
+      event.commit();
+    }
+  }
+
+  /**
+   * Repaints only the cells in the rectangle spanned by the two given positions.
+   * Swing merges these requests with any other pending repaint of the panel.
+   *
+   * @param fromRow the row of one corner cell
+   * @param fromCol the column of one corner cell
+   * @param toRow   the row of the opposite corner cell
+   * @param toCol   the column of the opposite corner cell
+   */
+  @Override
+  public void repaintCells(int fromRow, int fromCol, int toRow, int toCol) {
+    updateOrigin();
+    int top = Math.min(fromRow, toRow);
+    int left = Math.min(fromCol, toCol);
+    this.repaint(originX + left * cellDimension, originY + top * cellDimension,
+            (Math.abs(toCol - fromCol) + 1) * cellDimension,
+            (Math.abs(toRow - fromRow) + 1) * cellDimension);
+  }
+
+  /**
+   * Highlights the cell at the given position, repainting only the previously and newly
+   * highlighted cells. A negative row or column only removes the highlight.
+   *
+   * @param row the row of the cell to highlight
+   * @param col the column of the cell to highlight
+   */
+  @Override
+  public void setHighlight(int row, int col) {
+    if (highlightRow >= 0 && highlightCol >= 0) {
+      repaintCells(highlightRow, highlightCol, highlightRow, highlightCol);
+    }
+    if (row < 0 || col < 0) {
+      row = -1;
+      col = -1;
+    } else {
+      repaintCells(row, col, row, col);
+    }
+    highlightRow = row;
+    highlightCol = col;
+  }
+
+  /**
+   * Switches the panel to drawing the given state, without repainting. The layout image is kept
+   * unless the board size changed.
+   *
+   * @param state the state to draw from now on
+   */
+  @Override
+  public void setState(MarbleSolitaireModelState state) {
+    if (state.getBoardSize() != this.modelState.getBoardSize()) {
+      layoutImage = null;
+      layoutImageTooLarge = false;
+    }
+    this.modelState = state;
   }
 
   /**
@@ -112,8 +291,8 @@ public class BoardPanel extends JPanel implements IBoardPanel {
      */
     @Override
     public void mouseClicked(MouseEvent e) {
-      int row = (e.getY() - originY) / BoardPanel.this.cellDimension;
-      int col = (e.getX() - originX) / BoardPanel.this.cellDimension;
+      int row = Math.floorDiv(e.getY() - originY, BoardPanel.this.cellDimension);
+      int col = Math.floorDiv(e.getX() - originX, BoardPanel.this.cellDimension);
       BoardPanel.this.features.input(row, col);
     }
   }
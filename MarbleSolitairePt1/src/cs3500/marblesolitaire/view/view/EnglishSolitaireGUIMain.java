@@ -1,6 +1,13 @@
 package cs3500.marblesolitaire.view.view;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import cs3500.marblesolitaire.view.controller.HintService;
 import cs3500.marblesolitaire.view.controller.SwingGUIController;
+import cs3500.marblesolitaire.view.metrics.Metrics;
+import cs3500.marblesolitaire.view.metrics.MetricsReporter;
 import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
 import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
 import cs3500.marblesolitaire.view.view.SwingGuiView;
@@ -9,6 +16,10 @@ import cs3500.marblesolitaire.view.view.SwingGuiView;
  * The {@code EnglishSolitaireGUIMain} class is the main entry point for running the Marble Solitaire game
  * with a graphical user interface (GUI) using the English Solitaire model.
  * It sets up the game model, view, and controller, and initializes the GUI for user interaction.
+ *
+ * <p>Started with {@code -Dmarblesolitaire.metrics=true}, it records {@link Metrics} and exposes
+ * them over JMX; {@code -Dmarblesolitaire.metrics.interval=N} also prints them to standard error
+ * every {@code N} seconds.
  */
 public class EnglishSolitaireGUIMain {
 
@@ -20,8 +31,23 @@ public class EnglishSolitaireGUIMain {
    * @param args command-line arguments (not used in this application)
    */
   public static void main(String[] args) {
-    MarbleSolitaireModel model = new EnglishSolitaireModel();
-    MarbleSolitaireGuiView view = new SwingGuiView(model);
-    SwingGUIController controller = new SwingGUIController(model, view);
+    MarbleSolitaireModel model = Metrics.instrument(new EnglishSolitaireModel());
+    MarbleSolitaireGuiView view = Metrics.instrument(new SwingGuiView(model));
+    if (Metrics.ENABLED) {
+      Metrics.registerMBean(Metrics.registry());
+      long interval = Long.getLong("marblesolitaire.metrics.interval", 0);
+      if (interval > 0) {
+        new MetricsReporter(Metrics.registry(), System.err, false)
+                .start(interval, TimeUnit.SECONDS);
+      }
+    }
+    // moves are made on a thread of their own, so the event dispatch thread never waits for them
+    ExecutorService modelThread = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "model");
+      thread.setDaemon(true);
+      return thread;
+    });
+    SwingGUIController controller = new SwingGUIController(model, view, new HintService(),
+            modelThread);
   }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package cs3500.marblesolitaire.view.view;
 
 import cs3500.marblesolitaire.view.controller.ControllerFeatures;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
 
 /**
  * The {@code IBoardPanel} interface represents the contract for a panel in the Marble Solitaire game
@@ -19,4 +20,30 @@ public interface IBoardPanel {
    */
   void setFeatures(ControllerFeatures features);
 
+  /**
+   * Repaints only the cells in the rectangle spanned by the two given positions.
+   *
+   * @param fromRow the row of one corner cell
+   * @param fromCol the column of one corner cell
+   * @param toRow   the row of the opposite corner cell
+   * @param toCol   the column of the opposite corner cell
+   */
+  void repaintCells(int fromRow, int fromCol, int toRow, int toCol);
+
+  /**
+   * Highlights the cell at the given position, repainting only the previously and newly
+   * highlighted cells. A negative row or column only removes the highlight.
+   *
+   * @param row the row of the cell to highlight
+   * @param col the column of the cell to highlight
+   */
+  void setHighlight(int row, int col);
+
+  /**
+   * Switches the panel to drawing the given state of the same board, without repainting.
+   *
+   * @param state the state to draw from now on
+   */
+  void setState(MarbleSolitaireModelState state);
+
 }
\ No newline at end of file
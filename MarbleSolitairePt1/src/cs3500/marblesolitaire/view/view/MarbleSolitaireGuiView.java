@@ -1,6 +1,7 @@
 package cs3500.marblesolitaire.view.view;
 
 import cs3500.marblesolitaire.view.controller.ControllerFeatures;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
 
 /**
  * The {@code MarbleSolitaireGuiView} interface defines the contract for a graphical user interface (GUI)
@@ -16,6 +17,45 @@ public interface MarbleSolitaireGuiView {
    */
   void refresh();
 
+  /**
+   * Refreshes the GUI screen after a move. Only the cells between the given positions, which are
+   * the cells a move changes, and the score are redrawn, so the cost does not depend on the size
+   * of the board.
+   *
+   * @param fromRow the row of the cell the marble left
+   * @param fromCol the column of the cell the marble left
+   * @param toRow   the row of the cell the marble landed on
+   * @param toCol   the column of the cell the marble landed on
+   */
+  void refreshMove(int fromRow, int fromCol, int toRow, int toCol);
+
+  /**
+   * Highlights the cell at the given position, for instance the marble the user selected,
+   * removing any previous highlight. A negative row or column only removes the highlight.
+   *
+   * @param row the row of the cell to highlight
+   * @param col the column of the cell to highlight
+   */
+  void setHighlight(int row, int col);
+
+  /**
+   * Shows a hint to the user: a move that keeps the game solvable.
+   *
+   * @param fromRow the row of the marble to move
+   * @param fromCol the column of the marble to move
+   * @param toRow   the row of the slot to move it to
+   * @param toCol   the column of the slot to move it to
+   */
+  void showHint(int fromRow, int fromCol, int toRow, int toCol);
+
+  /**
+   * Switches the view to showing the given state, for instance a snapshot of the model taken on
+   * another thread. Nothing is redrawn until the next refresh.
+   *
+   * @param state the state to show from now on
+   */
+  void setState(MarbleSolitaireModelState state);
+
   /**
    * Displays a message to the user in an appropriate area of the GUI. This can be used to
    * provide feedback, notifications, or error messages during the game.
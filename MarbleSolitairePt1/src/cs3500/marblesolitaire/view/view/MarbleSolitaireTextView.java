@@ -1,17 +1,26 @@
 package cs3500.marblesolitaire.view.view;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
 
 import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
 
 /**
  * A textual view for the Marble Solitaire game. This class is responsible for rendering
  * the current state of the game board and transmitting messages to the user.
+ * The board is rendered one row at a time through a character buffer, so rendering allocates
+ * nothing per cell and never builds the whole board as a single string. Rendering reuses one
+ * buffer; {@link #toString()} uses a buffer of its own, so it only reads the view and can be
+ * called from any thread.
  */
 public class MarbleSolitaireTextView implements MarbleSolitaireView {
 
   private final MarbleSolitaireModelState state;
   private final Appendable appendable;
+  // one rendered row and its line break, reused between calls to renderBoard
+  private char[] row;
+  private CharBuffer rowSequence;
 
   /**
    * Constructs a {@code MarbleSolitaireTextView} with a specified model state.
@@ -40,59 +49,91 @@ public class MarbleSolitaireTextView implements MarbleSolitaireView {
   }
 
   /**
-   * Adds a space before each board piece, except for the first column in a row.
+   * Returns the character that represents a slot: "O" for a marble, "_" for an empty slot and
+   * " " for an invalid position.
    *
-   * @param col the column index of the board piece.
-   * @param boardPiece the representation of the board piece (e.g., "O" for marble, "_" for empty).
-   * @return a string combining the board piece with a leading space if it's not in the first column,
-   *         otherwise just the board piece.
+   * @param slot the state of the slot
+   * @return the character of the slot
    */
-  private String addSpaceBetween(int col, String boardPiece) {
-    if (col != 0) {
-      return " " + boardPiece;
+  private static char symbolOf(MarbleSolitaireModelState.SlotState slot) {
+    switch (slot) {
+      case Marble:
+        return 'O';
+      case Empty:
+        return '_';
+      default:
+        return ' ';
     }
-    return boardPiece;
   }
 
   /**
-   * Returns a string representation of the current state of the game board.
-   * Marbles are represented by "O", empty slots by "_", and invalid positions by " ".
+   * Writes the board to the given destination row by row. Each row is rendered into the given
+   * buffer, separating the slots with spaces and ending every row but the last with a new line,
+   * and then transmitted in one call.
    *
-   * @return the string representation of the game board.
+   * @param out         the destination of the board
+   * @param row         a buffer of twice the board size
+   * @param rowSequence the same buffer, as a character sequence
+   * @throws IOException if the destination fails
    */
-  @Override
-  public String toString() {
-    StringBuilder board = new StringBuilder();
+  private void writeBoard(Appendable out, char[] row, CharBuffer rowSequence)
+          throws IOException {
     int boardSize = state.getBoardSize();
-
     for (int i = 0; i < boardSize; i++) {
+      int length = 0;
       for (int j = 0; j < boardSize; j++) {
-        if (state.getSlotAt(i, j) == MarbleSolitaireModelState.SlotState.Marble) {
-          board.append(addSpaceBetween(j, "O"));
-        } else if (state.getSlotAt(i, j) == MarbleSolitaireModelState.SlotState.Empty) {
-          board.append(addSpaceBetween(j, "_"));
-        } else {
-          board.append(addSpaceBetween(j, " "));
+        if (j != 0) {
+          row[length++] = ' ';
         }
+        row[length++] = symbolOf(state.getSlotAt(i, j));
+      }
+      // Add a new line after each row, except for the last row
+      if (i < boardSize - 1) {
+        row[length++] = '\n';
+      }
 
-        // Add a new line after each row, except for the last row
-        if (j == boardSize - 1 && i < boardSize - 1) {
-          board.append("\n");
-        }
+      if (out instanceof Writer) {
+        ((Writer) out).write(row, 0, length);
+      } else {
+        out.append(rowSequence, 0, length);
       }
     }
+  }
+
+  /**
+   * Returns a string representation of the current state of the game board.
+   * Marbles are represented by "O", empty slots by "_", and invalid positions by " ".
+   *
+   * @return the string representation of the game board.
+   */
+  @Override
+  public String toString() {
+    int boardSize = state.getBoardSize();
+    StringBuilder board = new StringBuilder(2 * boardSize * boardSize);
+    char[] line = new char[2 * boardSize];
+    try {
+      writeBoard(board, line, CharBuffer.wrap(line));
+    } catch (IOException e) {
+      // a StringBuilder never fails to append
+      throw new IllegalStateException(e);
+    }
     return board.toString();
   }
 
   /**
-   * Renders the current state of the game board to the appendable.
+   * Renders the current state of the game board to the appendable, streaming it row by row.
    *
    * @throws IOException if the board state cannot be transmitted to the appendable.
    */
   @Override
   public void renderBoard() throws IOException {
+    int boardSize = state.getBoardSize();
+    if (row == null || row.length != 2 * boardSize) {
+      row = new char[2 * boardSize];
+      rowSequence = CharBuffer.wrap(row);
+    }
     try {
-      appendable.append(this.toString());
+      writeBoard(appendable, row, rowSequence);
     } catch (IOException e) {
       throw new IOException("Cannot transmit the state of the board", e);
     }
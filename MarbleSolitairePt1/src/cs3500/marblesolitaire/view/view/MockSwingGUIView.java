@@ -1,6 +1,7 @@
 package cs3500.marblesolitaire.view.view;
 
 import cs3500.marblesolitaire.view.controller.ControllerFeatures;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
 
 /**
  * A mock implementation of the {@link MarbleSolitaireGuiView} interface for testing purposes.
@@ -35,6 +36,75 @@ public class MockSwingGUIView implements MarbleSolitaireGuiView {
     }
   }
 
+  /**
+   * Simulates refreshing the cells of a move by appending a message naming the move.
+   *
+   * @param fromRow the row of the cell the marble left
+   * @param fromCol the column of the cell the marble left
+   * @param toRow   the row of the cell the marble landed on
+   * @param toCol   the column of the cell the marble landed on
+   * @throws IllegalArgumentException if appending to the appendable fails
+   */
+  @Override
+  public void refreshMove(int fromRow, int fromCol, int toRow, int toCol) {
+    try {
+      appendable.append(String.format("Tried to refresh move (%d, %d) -> (%d, %d)\n",
+              fromRow, fromCol, toRow, toCol));
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot append");
+    }
+  }
+
+  /**
+   * Simulates highlighting a cell by appending a message naming the cell.
+   *
+   * @param row the row of the cell to highlight
+   * @param col the column of the cell to highlight
+   * @throws IllegalArgumentException if appending to the appendable fails
+   */
+  @Override
+  public void setHighlight(int row, int col) {
+    try {
+      appendable.append(String.format("Tried to highlight (%d, %d)\n", row, col));
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot append");
+    }
+  }
+
+  /**
+   * Simulates showing a hint by appending a message naming the move.
+   *
+   * @param fromRow the row of the marble to move
+   * @param fromCol the column of the marble to move
+   * @param toRow   the row of the slot to move it to
+   * @param toCol   the column of the slot to move it to
+   * @throws IllegalArgumentException if appending to the appendable fails
+   */
+  @Override
+  public void showHint(int fromRow, int fromCol, int toRow, int toCol) {
+    try {
+      appendable.append(String.format("Tried to show hint (%d, %d) -> (%d, %d)\n",
+              fromRow, fromCol, toRow, toCol));
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot append");
+    }
+  }
+
+  /**
+   * Simulates switching to another state by appending a message with its score.
+   *
+   * @param state the state to show from now on
+   * @throws IllegalArgumentException if appending to the appendable fails
+   */
+  @Override
+  public void setState(MarbleSolitaireModelState state) {
+    try {
+      appendable.append(String.format("Tried to set state with score %d\n", state.getScore()));
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot append");
+    }
+  }
+
   /**
    * Appends the given message followed by a newline character to the appendable.
    * This method is used to simulate displaying a message in the GUI.
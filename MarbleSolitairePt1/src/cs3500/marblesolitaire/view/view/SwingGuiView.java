@@ -21,6 +21,10 @@ public class SwingGuiView extends JFrame implements MarbleSolitaireGuiView {
   private JLabel scoreLabel;
   // A label to display any messages to the user
   private JLabel messageLabel;
+  // Buttons to take back and replay moves, and to ask for a hint
+  private JButton undoButton;
+  private JButton redoButton;
+  private JButton hintButton;
 
   /**
    * Constructs a {@code SwingGuiView} with the given game state.
@@ -46,12 +50,20 @@ public class SwingGuiView extends JFrame implements MarbleSolitaireGuiView {
     // Create the message label
     this.messageLabel = new JLabel();
 
-    // Create a panel to arrange the score and message labels
+    // Create the undo, redo and hint buttons
+    this.undoButton = new JButton("Undo");
+    this.redoButton = new JButton("Redo");
+    this.hintButton = new JButton("Hint");
+
+    // Create a panel to arrange the score and message labels and the buttons
     JPanel panel = new JPanel();
     // Set the panel layout to GridLayout with two columns
     panel.setLayout(new GridLayout(0, 2));
     panel.add(scoreLabel);
     panel.add(messageLabel);
+    panel.add(undoButton);
+    panel.add(redoButton);
+    panel.add(hintButton);
 
     // Add the panel to the bottom of the frame
     this.add(panel, BorderLayout.PAGE_END);
@@ -73,6 +85,61 @@ public class SwingGuiView extends JFrame implements MarbleSolitaireGuiView {
     this.repaint();
   }
 
+  /**
+   * Refreshes the GUI view after a move. Updates the score displayed and repaints only
+   * the cells changed by the move.
+   *
+   * @param fromRow the row of the cell the marble left
+   * @param fromCol the column of the cell the marble left
+   * @param toRow   the row of the cell the marble landed on
+   * @param toCol   the column of the cell the marble landed on
+   */
+  @Override
+  public void refreshMove(int fromRow, int fromCol, int toRow, int toCol) {
+    // Update the score label with the current score
+    this.scoreLabel.setText("Score: " + modelState.getScore());
+    // Repaint the cells from the marble's old slot to its new slot
+    ((IBoardPanel) this.boardPanel).repaintCells(fromRow, fromCol, toRow, toCol);
+  }
+
+  /**
+   * Highlights the given cell of the board panel.
+   *
+   * @param row the row of the cell to highlight
+   * @param col the column of the cell to highlight
+   */
+  @Override
+  public void setHighlight(int row, int col) {
+    ((IBoardPanel) this.boardPanel).setHighlight(row, col);
+  }
+
+  /**
+   * Shows a hint by highlighting the marble to move and naming the move in the message label.
+   *
+   * @param fromRow the row of the marble to move
+   * @param fromCol the column of the marble to move
+   * @param toRow   the row of the slot to move it to
+   * @param toCol   the column of the slot to move it to
+   */
+  @Override
+  public void showHint(int fromRow, int fromCol, int toRow, int toCol) {
+    ((IBoardPanel) this.boardPanel).setHighlight(fromRow, fromCol);
+    this.messageLabel.setText(String.format("Hint: (%d, %d) -> (%d, %d)",
+            fromRow, fromCol, toRow, toCol));
+  }
+
+  /**
+   * Switches the view and its board panel to showing the given state. The score and the board
+   * are redrawn by the next refresh.
+   *
+   * @param state the state to show from now on
+   */
+  @Override
+  public void setState(MarbleSolitaireModelState state) {
+    this.modelState = state;
+    ((IBoardPanel) this.boardPanel).setState(state);
+  }
+
   /**
    * Renders a message in the GUI's message label.
    * This can be used to display notifications or error messages to the user.
@@ -85,7 +152,7 @@ public class SwingGuiView extends JFrame implements MarbleSolitaireGuiView {
   }
 
   /**
-   * Sets the controller features for the board panel.
+   * Sets the controller features for the board panel and the undo, redo and hint buttons.
    * This method connects the board panel with the controller, allowing it to handle
    * user inputs and interact with the game logic.
    *
@@ -94,5 +161,8 @@ public class SwingGuiView extends JFrame implements MarbleSolitaireGuiView {
   @Override
   public void setFeatures(ControllerFeatures callbacks) {
     ((IBoardPanel) this.boardPanel).setFeatures(callbacks);
+    this.undoButton.addActionListener(e -> callbacks.undo());
+    this.redoButton.addActionListener(e -> callbacks.redo());
+    this.hintButton.addActionListener(e -> callbacks.hint());
   }
 }
\ No newline at end of file
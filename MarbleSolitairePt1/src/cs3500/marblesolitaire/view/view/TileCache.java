@@ -0,0 +1,139 @@
+package cs3500.marblesolitaire.view.view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.imageio.ImageIO;
+
+/**
+ * A process-wide cache of the images used to draw board cells. Each image is decoded once, from
+ * the classpath, and each size it is drawn at is scaled once, so opening many boards costs no
+ * repeated disk or decoding work. The cached images are shared and must not be modified.
+ */
+final class TileCache {
+  /**
+   * The smallest cell size, in pixels, that tiles are scaled to.
+   */
+  static final int MIN_CELL_SIZE = 4;
+
+  /**
+   * The largest cell size, in pixels, that tiles are scaled to.
+   */
+  static final int MAX_CELL_SIZE = 256;
+
+  /**
+   * The images a board cell can be drawn with.
+   */
+  enum Tile {
+    EMPTY("empty.png"), MARBLE("marble.png"), BLANK("blank.png");
+
+    private final String fileName;
+
+    Tile(String fileName) {
+      this.fileName = fileName;
+    }
+  }
+
+  private static final ConcurrentMap<Tile, BufferedImage> SOURCES = new ConcurrentHashMap<>();
+  // scaled tiles keyed by tile and cell size, see key
+  private static final ConcurrentMap<Integer, BufferedImage> SCALED = new ConcurrentHashMap<>();
+
+  private TileCache() {
+  }
+
+  /**
+   * Returns the image of the given tile scaled to the given cell size, scaling it on first use.
+   * Sizes outside {@link #MIN_CELL_SIZE} and {@link #MAX_CELL_SIZE} are clamped to that range.
+   *
+   * @param tile     the tile to draw
+   * @param cellSize the width and height of a cell, in pixels
+   * @return the scaled, screen-compatible image of the tile
+   * @throws IllegalStateException if the image of the tile cannot be loaded
+   */
+  static BufferedImage get(Tile tile, int cellSize) throws IllegalStateException {
+    int size = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, cellSize));
+    BufferedImage scaled = SCALED.get(key(tile, size));
+    if (scaled == null) {
+      scaled = SCALED.computeIfAbsent(key(tile, size), k -> scale(source(tile), size));
+    }
+    return scaled;
+  }
+
+  /**
+   * Packs a tile and a cell size into a map key.
+   */
+  private static int key(Tile tile, int cellSize) {
+    return tile.ordinal() << 16 | cellSize;
+  }
+
+  /**
+   * Returns the decoded image of a tile, loading it on first use.
+   *
+   * @param tile the tile to load
+   * @return the full size image
+   * @throws IllegalStateException if the image cannot be loaded
+   */
+  private static BufferedImage source(Tile tile) throws IllegalStateException {
+    return SOURCES.computeIfAbsent(tile, t -> {
+      try {
+        BufferedImage image;
+        InputStream in = TileCache.class.getResourceAsStream("/" + t.fileName);
+        if (in != null) {
+          try (InputStream stream = in) {
+            image = ImageIO.read(stream);
+          }
+        } else {
+          // not on the classpath, as when run from the project directory without a build
+          image = ImageIO.read(new File("res", t.fileName));
+        }
+        if (image == null) {
+          throw new IOException(String.format("Unreadable icon %s", t.fileName));
+        }
+        return image;
+      } catch (IOException e) {
+        throw new IllegalStateException("Icons not found!", e);
+      }
+    });
+  }
+
+  /**
+   * Scales an image to a square tile in the pixel format of the screen.
+   *
+   * @param image    the image to scale
+   * @param cellSize the width and height of the tile
+   * @return the tile image
+   */
+  private static BufferedImage scale(BufferedImage image, int cellSize) {
+    BufferedImage tile = newScreenImage(cellSize, cellSize, Transparency.TRANSLUCENT);
+    Graphics2D g = tile.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.drawImage(image, 0, 0, cellSize, cellSize, null);
+    g.dispose();
+    return tile;
+  }
+
+  /**
+   * Creates an image in the pixel format of the screen, which Java2D can cache in video memory and
+   * draw without converting it. A plain ARGB image is used when there is no screen.
+   *
+   * @param width        the width of the image
+   * @param height       the height of the image
+   * @param transparency the {@code Transparency} mode of the image
+   * @return the new image
+   */
+  static BufferedImage newScreenImage(int width, int height, int transparency) {
+    if (GraphicsEnvironment.isHeadless()) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+            .getDefaultConfiguration().createCompatibleImage(width, height, transparency);
+  }
+}
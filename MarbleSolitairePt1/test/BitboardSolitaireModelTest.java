@@ -0,0 +1,191 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState.SlotState;
+import cs3500.marblesolitaire.view.model.ZobristKeys;
+
+/**
+ * This class contains unit tests for the {@link BitboardSolitaireModel}.
+ * It checks that the bitboard model behaves exactly like the {@link EnglishSolitaireModel}.
+ */
+public class BitboardSolitaireModelTest {
+
+  /**
+   * Tests that a new board matches the English model cell by cell.
+   */
+  @Test
+  public void testInitialBoard() {
+    for (int arm = 1; arm <= 9; arm += 2) {
+      assertSameState(new EnglishSolitaireModel(arm), new BitboardSolitaireModel(arm));
+    }
+    assertSameState(new EnglishSolitaireModel(0, 3), new BitboardSolitaireModel(0, 3));
+  }
+
+  /**
+   * Tests a valid move and the resulting score.
+   */
+  @Test
+  public void testMove() {
+    BitboardSolitaireModel model = new BitboardSolitaireModel();
+    model.move(3, 1, 3, 3);
+    assertEquals(31, model.getScore());
+    assertEquals(SlotState.Empty, model.getSlotAt(3, 1));
+    assertEquals(SlotState.Empty, model.getSlotAt(3, 2));
+    assertEquals(SlotState.Marble, model.getSlotAt(3, 3));
+  }
+
+  /**
+   * Tests that invalid moves and positions are rejected.
+   */
+  @Test
+  public void testInvalidMoves() {
+    BitboardSolitaireModel model = new BitboardSolitaireModel();
+    assertThrows(IllegalArgumentException.class, () -> model.move(3, 3, 3, 1));
+    assertThrows(IllegalArgumentException.class, () -> model.move(3, 0, 3, 3));
+    assertThrows(IllegalArgumentException.class, () -> model.move(0, 0, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> model.move(3, 5, 3, 7));
+    assertThrows(IllegalArgumentException.class, () -> model.getSlotAt(7, 0));
+    assertThrows(IllegalArgumentException.class, () -> new BitboardSolitaireModel(4));
+    assertThrows(IllegalArgumentException.class, () -> new BitboardSolitaireModel(0, 0));
+  }
+
+  /**
+   * Tests that random games play out identically on both models.
+   */
+  @Test
+  public void testRandomGamesMatchEnglishModel() {
+    Random random = new Random(42);
+    for (int game = 0; game < 50; game++) {
+      int arm = 3 + 2 * random.nextInt(3);
+      EnglishSolitaireModel expected = new EnglishSolitaireModel(arm);
+      BitboardSolitaireModel actual = new BitboardSolitaireModel(arm);
+      while (!expected.isGameOver()) {
+        assertFalse(actual.isGameOver());
+        int size = expected.getBoardSize();
+        int fromRow = random.nextInt(size);
+        int fromCol = random.nextInt(size);
+        int[] delta = {0, 2, 0, -2, 0};
+        int dir = random.nextInt(4);
+        int toRow = fromRow + delta[dir];
+        int toCol = fromCol + delta[dir + 1];
+        boolean legal = tryMove(expected, fromRow, fromCol, toRow, toCol);
+        assertEquals(legal, tryMove(actual, fromRow, fromCol, toRow, toCol));
+        assertEquals(expected.getPositionHash(), actual.getPositionHash());
+      }
+      assertEquals(ZobristKeys.hashOf(actual), actual.getPositionHash());
+      assertTrue(actual.isGameOver());
+      assertSameState(expected, actual);
+    }
+  }
+
+  /**
+   * Tests that the position hash kept by the models matches a full scan of the board.
+   */
+  @Test
+  public void testPositionHash() {
+    BitboardSolitaireModel model = new BitboardSolitaireModel();
+    long start = model.getPositionHash();
+    assertEquals(ZobristKeys.hashOf(model), start);
+    model.move(3, 1, 3, 3);
+    assertEquals(ZobristKeys.hashOf(model), model.getPositionHash());
+    assertFalse(start == model.getPositionHash());
+
+    EnglishSolitaireModel first = new EnglishSolitaireModel();
+    first.move(1, 3, 3, 3);
+    first.move(4, 3, 2, 3);
+    assertEquals(ZobristKeys.hashOf(first), first.getPositionHash());
+    first.move(3, 5, 3, 3);
+    assertEquals(ZobristKeys.hashOf(first), first.getPositionHash());
+  }
+
+  /**
+   * Tests that undoing a whole game restores the start, and redoing it restores the end,
+   * on both models.
+   */
+  @Test
+  public void testUndoRedo() {
+    Random random = new Random(3);
+    EnglishSolitaireModel english = new EnglishSolitaireModel(5);
+    BitboardSolitaireModel bitboard = new BitboardSolitaireModel(5);
+    EnglishSolitaireModel end = new EnglishSolitaireModel(5);
+    int[] buffer = new int[4 * 13 * 13];
+    int moves = 0;
+    for (int count = english.legalMoves(buffer); count > 0; count = english.legalMoves(buffer)) {
+      int move = buffer[random.nextInt(count)];
+      int from = move >>> 16;
+      int to = move & 0xFFFF;
+      english.move(from / 13, from % 13, to / 13, to % 13);
+      bitboard.move(from / 13, from % 13, to / 13, to % 13);
+      end.move(from / 13, from % 13, to / 13, to % 13);
+      moves++;
+    }
+
+    assertFalse(english.canRedo());
+    for (int i = 0; i < moves; i++) {
+      english.undo();
+      bitboard.undo();
+    }
+    assertFalse(english.canUndo());
+    assertFalse(bitboard.canUndo());
+    assertSameState(new EnglishSolitaireModel(5), english);
+    assertSameState(english, bitboard);
+    assertEquals(new EnglishSolitaireModel(5).getPositionHash(), bitboard.getPositionHash());
+    assertFalse(english.isGameOver());
+    assertThrows(IllegalStateException.class, english::undo);
+
+    for (int i = 0; i < moves; i++) {
+      english.redo();
+      bitboard.redo();
+    }
+    assertSameState(end, english);
+    assertSameState(end, bitboard);
+    assertTrue(english.isGameOver());
+    assertThrows(IllegalStateException.class, bitboard::redo);
+  }
+
+  /**
+   * Tests that a new move discards the moves that could be redone.
+   */
+  @Test
+  public void testMoveClearsRedo() {
+    BitboardSolitaireModel model = new BitboardSolitaireModel();
+    model.move(3, 1, 3, 3);
+    model.undo();
+    assertTrue(model.canRedo());
+    model.move(1, 3, 3, 3);
+    assertFalse(model.canRedo());
+    model.undo();
+    model.redo();
+    assertEquals(SlotState.Empty, model.getSlotAt(1, 3));
+    assertEquals(SlotState.Marble, model.getSlotAt(3, 1));
+  }
+
+  private static boolean tryMove(MarbleSolitaireModel model, int fromRow, int fromCol,
+                                 int toRow, int toCol) {
+    try {
+      model.move(fromRow, fromCol, toRow, toCol);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static void assertSameState(MarbleSolitaireModel expected, MarbleSolitaireModel actual) {
+    assertEquals(expected.getBoardSize(), actual.getBoardSize());
+    assertEquals(expected.getScore(), actual.getScore());
+    for (int i = 0; i < expected.getBoardSize(); i++) {
+      for (int j = 0; j < expected.getBoardSize(); j++) {
+        assertEquals(expected.getSlotAt(i, j), actual.getSlotAt(i, j));
+      }
+    }
+  }
+}
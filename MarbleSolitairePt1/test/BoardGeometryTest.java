@@ -0,0 +1,235 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.BoardTopology;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState.SlotState;
+import cs3500.marblesolitaire.view.model.Moves;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link BoardGeometry} class and for playing the
+ * {@link BitboardSolitaireModel} on boards of different shapes.
+ */
+public class BoardGeometryTest {
+
+  /**
+   * Counts the legal moves of a model by trying every pair of cells.
+   */
+  private static int countLegalMoves(MarbleSolitaireModel model) {
+    int size = model.getBoardSize();
+    int count = 0;
+    for (int from = 0; from < size * size; from++) {
+      for (int to = 0; to < size * size; to++) {
+        if (model.isLegalMove(from / size, from % size, to / size, to % size)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the mask of a left-aligned triangle.
+   */
+  private static boolean[][] triangleMask(int rows) {
+    boolean[][] mask = new boolean[rows][rows];
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j <= i; j++) {
+        mask[i][j] = true;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Tests that the English geometry has the slots of the English model.
+   */
+  @Test
+  public void testEnglishMatchesModel() {
+    for (int arm = 1; arm <= 7; arm += 2) {
+      BoardGeometry geometry = BoardGeometry.english(arm);
+      EnglishSolitaireModel model = new EnglishSolitaireModel(arm);
+      assertEquals(model.getBoardSize(), geometry.getBoardSize());
+      for (int i = 0; i < model.getBoardSize(); i++) {
+        for (int j = 0; j < model.getBoardSize(); j++) {
+          assertEquals(model.getSlotAt(i, j) != SlotState.Invalid, geometry.isValid(i, j));
+        }
+      }
+      assertEquals(model.getScore(), new BitboardSolitaireModel(geometry).getScore());
+    }
+  }
+
+  /**
+   * Tests the standard European board, which fills one cell in each inner corner.
+   */
+  @Test
+  public void testEuropean() {
+    BoardGeometry geometry = BoardGeometry.european(3);
+    assertEquals(37, BoardTopology.of(geometry).getValidCount());
+    assertFalse(geometry.isValid(0, 0));
+    assertFalse(geometry.isValid(0, 1));
+    assertTrue(geometry.isValid(1, 1));
+    assertTrue(geometry.isValid(5, 5));
+    assertEquals(3, geometry.getDefaultEmptyRow());
+    assertEquals(3, geometry.getDefaultEmptyCol());
+
+    BitboardSolitaireModel model = new BitboardSolitaireModel(geometry, 1, 1);
+    assertEquals(36, model.getScore());
+    assertTrue(model.isLegalMove(3, 1, 1, 1));
+    assertTrue(model.isLegalMove(1, 3, 1, 1));
+    model.move(1, 3, 1, 1);
+    assertEquals(SlotState.Marble, model.getSlotAt(1, 1));
+    assertEquals(SlotState.Empty, model.getSlotAt(1, 2));
+  }
+
+  /**
+   * Tests the triangular board, where marbles also jump along the diagonal.
+   */
+  @Test
+  public void testTriangular() {
+    BoardGeometry geometry = BoardGeometry.triangular(5);
+    assertEquals(15, BoardTopology.of(geometry).getValidCount());
+    assertEquals(36, BoardTopology.of(geometry).getJumpCount());
+    assertEquals(0, geometry.getDefaultEmptyRow());
+    assertEquals(0, geometry.getDefaultEmptyCol());
+
+    BitboardSolitaireModel model = new BitboardSolitaireModel(geometry);
+    assertEquals(14, model.getScore());
+    assertEquals(SlotState.Invalid, model.getSlotAt(0, 1));
+    assertTrue(model.isLegalMove(2, 0, 0, 0));
+    assertTrue(model.isLegalMove(2, 2, 0, 0));
+    assertFalse(model.isLegalMove(2, 1, 0, 1));
+    assertEquals(2, countLegalMoves(model));
+    model.move(2, 2, 0, 0);
+    assertEquals(SlotState.Empty, model.getSlotAt(1, 1));
+    assertEquals(SlotState.Marble, model.getSlotAt(0, 0));
+    model.undo();
+    assertEquals(SlotState.Empty, model.getSlotAt(0, 0));
+  }
+
+  /**
+   * Tests that random games on every kind of board list exactly the legal moves, and end when
+   * none is left.
+   */
+  @Test
+  public void testRandomGames() {
+    BoardGeometry[] geometries = {BoardGeometry.european(3), BoardGeometry.european(5),
+        BoardGeometry.triangular(5), BoardGeometry.triangular(8)};
+    Random random = new Random(7);
+    for (BoardGeometry geometry : geometries) {
+      for (int game = 0; game < 10; game++) {
+        BitboardSolitaireModel model = new BitboardSolitaireModel(geometry);
+        int size = model.getBoardSize();
+        int[] buffer = new int[Moves.maxLegalMoves(size)];
+        while (true) {
+          int count = model.legalMoves(buffer);
+          assertEquals(countLegalMoves(model), count);
+          assertEquals(count == 0, model.isGameOver());
+          if (count == 0) {
+            break;
+          }
+          int move = buffer[random.nextInt(count)];
+          model.move(Moves.fromIndex(move) / size, Moves.fromIndex(move) % size,
+                  Moves.toIndex(move) / size, Moves.toIndex(move) % size);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests a board built from a custom mask.
+   */
+  @Test
+  public void testCustomMask() {
+    boolean[][] mask = {{false, false, false}, {true, true, true}, {false, false, false}};
+    BitboardSolitaireModel model = new BitboardSolitaireModel(BoardGeometry.fromMask(mask));
+    assertEquals(2, model.getScore());
+    assertTrue(model.isGameOver());
+
+    model = new BitboardSolitaireModel(BoardGeometry.fromMask(mask), 1, 0);
+    assertFalse(model.isGameOver());
+    model.move(1, 2, 1, 0);
+    assertEquals(1, model.getScore());
+    assertTrue(model.isGameOver());
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSolitaireModel(BoardGeometry.fromMask(mask), 0, 0));
+  }
+
+  /**
+   * Tests that geometries with the same cells and directions are equal.
+   */
+  @Test
+  public void testEquality() {
+    assertEquals(BoardGeometry.english(3), BoardGeometry.english(3));
+    assertEquals(BoardGeometry.english(3).hashCode(), BoardGeometry.english(3).hashCode());
+    assertNotEquals(BoardGeometry.english(3), BoardGeometry.european(3));
+    assertNotEquals(BoardGeometry.triangular(7), BoardGeometry.fromMask(triangleMask(7)));
+    int[][] directions = {{1, 0}, {0, -1}, {-1, 0}, {0, 1}, {1, 1}, {-1, -1}};
+    assertEquals(BoardGeometry.triangular(7), new BoardGeometry(triangleMask(7), directions));
+  }
+
+  /**
+   * Tests that invalid geometries are rejected.
+   */
+  @Test
+  public void testInvalidGeometries() {
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.english(2));
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.european(-1));
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.triangular(0));
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.fromMask(null));
+    assertThrows(IllegalArgumentException.class,
+        () -> BoardGeometry.fromMask(new boolean[2][3]));
+    assertThrows(IllegalArgumentException.class,
+        () -> BoardGeometry.fromMask(new boolean[3][3]));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BoardGeometry(triangleMask(3), new int[][] {{0, 0}}));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSolitaireModel((BoardGeometry) null));
+  }
+
+  /**
+   * Tests that a model can only be copied into a model of the same geometry.
+   */
+  @Test
+  public void testCopyAcrossGeometries() {
+    BitboardSolitaireModel english = new BitboardSolitaireModel(BoardGeometry.english(3));
+    assertThrows(IllegalArgumentException.class,
+        () -> english.copyInto(new BitboardSolitaireModel(BoardGeometry.european(3))));
+    BitboardSolitaireModel target = new BitboardSolitaireModel(3);
+    english.move(3, 1, 3, 3);
+    english.copyInto(target);
+    assertEquals(31, target.getScore());
+  }
+
+  /**
+   * Tests that English boards wider than the move encoding can still be built and played, and
+   * that an arm thickness too large for the board is rejected before the board is allocated.
+   */
+  @Test
+  public void testLargeArmThickness() {
+    for (int arm : new int[] {85, 87, 101}) {
+      MarbleSolitaireModel english = new EnglishSolitaireModel(arm);
+      int center = english.getBoardSize() / 2;
+      english.move(center, center - 2, center, center);
+      assertEquals(english.getBoardSize() * english.getBoardSize()
+              - 4 * (arm - 1) * (arm - 1) - 2, english.getScore());
+      assertEquals(english.getScore(), new BitboardSolitaireModel(arm).getScore() - 1);
+    }
+    IllegalArgumentException tooLarge = assertThrows(IllegalArgumentException.class,
+        () -> new EnglishSolitaireModel(15449));
+    assertEquals("Arm thickness 15449 too large for a 46340-wide board", tooLarge.getMessage());
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSolitaireModel(Integer.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> BoardGeometry.triangular(46341));
+  }
+}
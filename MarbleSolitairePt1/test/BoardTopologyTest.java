@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.BoardTopology;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState.SlotState;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link BoardTopology} class.
+ */
+public class BoardTopologyTest {
+
+  /**
+   * Tests that boards of the same geometry share one topology.
+   */
+  @Test
+  public void testShared() {
+    assertSame(BoardTopology.forArmThickness(3), BoardTopology.forArmThickness(3));
+    assertSame(BoardTopology.forArmThickness(5), BoardTopology.of(BoardGeometry.english(5)));
+    assertEquals(BoardGeometry.english(5), BoardTopology.forArmThickness(5).getGeometry());
+  }
+
+  /**
+   * Tests that an even or non-positive arm thickness is rejected.
+   */
+  @Test
+  public void testInvalidArmThickness() {
+    assertThrows(IllegalArgumentException.class, () -> BoardTopology.forArmThickness(0));
+    assertThrows(IllegalArgumentException.class, () -> BoardTopology.forArmThickness(4));
+    assertThrows(IllegalArgumentException.class, () -> BoardTopology.forArmThickness(-3));
+  }
+
+  /**
+   * Tests the valid cells and jumps of the standard board.
+   */
+  @Test
+  public void testStandardBoard() {
+    BoardTopology topology = BoardTopology.forArmThickness(3);
+    assertEquals(7, topology.getBoardSize());
+    assertEquals(33, topology.getValidCount());
+    assertEquals(76, topology.getJumpCount());
+    assertFalse(topology.isValid(0, 0));
+    assertTrue(topology.isValid(0, 2));
+    assertFalse(topology.isValid(-1, 3));
+    assertFalse(topology.isValid(3, 7));
+    assertEquals(5, topology.rowOf(38));
+    assertEquals(3, topology.colOf(38));
+  }
+
+  /**
+   * Tests that the valid cells agree with the slots of a model.
+   */
+  @Test
+  public void testValidCellsMatchModel() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel(5);
+    BoardTopology topology = BoardTopology.forArmThickness(5);
+    int size = topology.getBoardSize();
+    int k = 0;
+    for (int cell = 0; cell < size * size; cell++) {
+      boolean valid = model.getSlotAt(cell / size, cell % size) != SlotState.Invalid;
+      assertEquals(valid, topology.isValid(cell));
+      if (valid) {
+        assertEquals(cell, topology.validCell(k++));
+      }
+    }
+    assertEquals(k, topology.getValidCount());
+  }
+
+  /**
+   * Tests that the jumps are two steps long in a straight line, grouped by their from cell.
+   */
+  @Test
+  public void testJumps() {
+    BoardTopology topology = BoardTopology.forArmThickness(5);
+    int size = topology.getBoardSize();
+    for (int cell = 0; cell < size * size; cell++) {
+      for (int jump = topology.jumpStart(cell); jump < topology.jumpStart(cell + 1); jump++) {
+        assertEquals(cell, topology.from(jump));
+        assertEquals(topology.over(jump) * 2, topology.from(jump) + topology.to(jump));
+        int dRow = topology.rowOf(topology.to(jump)) - topology.rowOf(cell);
+        int dCol = topology.colOf(topology.to(jump)) - topology.colOf(cell);
+        assertEquals(2, Math.abs(dRow) + Math.abs(dCol));
+        assertTrue(dRow == 0 || dCol == 0);
+        assertTrue(topology.isValid(topology.over(jump)));
+        assertTrue(topology.isValid(topology.to(jump)));
+        assertEquals(jump, topology.jumpBetween(cell, topology.to(jump)));
+      }
+    }
+    assertEquals(topology.getJumpCount(), topology.jumpStart(size * size));
+    assertEquals(-1, topology.jumpBetween(2 * size + 2, 2 * size + 3));
+  }
+
+  /**
+   * Tests that every jump is listed once under each of its three cells.
+   */
+  @Test
+  public void testTouching() {
+    BoardTopology topology = BoardTopology.forArmThickness(3);
+    int size = topology.getBoardSize();
+    int[] seen = new int[topology.getJumpCount()];
+    for (int cell = 0; cell < size * size; cell++) {
+      for (int k = topology.touchStart(cell); k < topology.touchStart(cell + 1); k++) {
+        int jump = topology.touching(k);
+        assertTrue(topology.from(jump) == cell || topology.over(jump) == cell
+                || topology.to(jump) == cell);
+        seen[jump]++;
+      }
+    }
+    for (int count : seen) {
+      assertEquals(3, count);
+    }
+  }
+}
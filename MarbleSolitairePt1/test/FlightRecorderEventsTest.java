@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.controller.SwingGUIController;
+import cs3500.marblesolitaire.view.jfr.GameOverCheckEvent;
+import cs3500.marblesolitaire.view.jfr.InvalidMoveEvent;
+import cs3500.marblesolitaire.view.jfr.MoveEvent;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.view.MockSwingGUIView;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the Flight Recorder events of the model and controller.
+ */
+public class FlightRecorderEventsTest {
+
+  /**
+   * Runs the given code under a recording of the game's events and returns the events recorded.
+   */
+  private static List<RecordedEvent> record(Runnable code) throws Exception {
+    Path file = Files.createTempFile("events", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(MoveEvent.NAME);
+      recording.enable(InvalidMoveEvent.NAME);
+      recording.enable(GameOverCheckEvent.NAME);
+      recording.start();
+      code.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+              .filter(event -> event.getEventType().getName().startsWith("cs3500."))
+              .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Tests that moves and game over checks are recorded with the board size and score.
+   */
+  @Test
+  public void testModelEvents() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    List<RecordedEvent> events = record(() -> {
+      model.move(3, 1, 3, 3);
+      model.tryMove(0, 0, 0, 2);
+      model.isGameOver();
+    });
+    assertEquals(3, events.size());
+
+    RecordedEvent move = events.get(0);
+    assertEquals(MoveEvent.NAME, move.getEventType().getName());
+    assertEquals(7, move.getInt("boardSize"));
+    assertEquals(3, move.getInt("fromRow"));
+    assertEquals(1, move.getInt("fromCol"));
+    assertEquals(3, move.getInt("toRow"));
+    assertEquals(3, move.getInt("toCol"));
+    assertTrue(move.getBoolean("legal"));
+    assertEquals(31, move.getInt("score"));
+    assertFalse(move.getDuration().isNegative());
+
+    assertFalse(events.get(1).getBoolean("legal"));
+    assertEquals(GameOverCheckEvent.NAME, events.get(2).getEventType().getName());
+    assertFalse(events.get(2).getBoolean("gameOver"));
+  }
+
+  /**
+   * Tests that a move the controller's user enters and the model rejects is recorded.
+   */
+  @Test
+  public void testInvalidMoveEvent() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    SwingGUIController controller = new SwingGUIController(model,
+            new MockSwingGUIView(new StringBuilder()));
+    List<RecordedEvent> events = record(() -> {
+      controller.input(3, 3);
+      controller.input(3, 5);
+    }).stream()
+            .filter(event -> event.getEventType().getName().equals(InvalidMoveEvent.NAME))
+            .collect(Collectors.toList());
+    assertEquals(1, events.size());
+    assertEquals(3, events.get(0).getInt("fromRow"));
+    assertEquals(5, events.get(0).getInt("toCol"));
+    assertEquals(32, events.get(0).getInt("score"));
+  }
+
+  /**
+   * Tests that nothing is recorded without a recording.
+   */
+  @Test
+  public void testNoRecording() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    assertFalse(new MoveEvent().isEnabled());
+    model.move(3, 1, 3, 3);
+    assertEquals(31, model.getScore());
+  }
+}
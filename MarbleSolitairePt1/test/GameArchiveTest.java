@@ -0,0 +1,214 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+import cs3500.marblesolitaire.view.record.GameArchive;
+import cs3500.marblesolitaire.view.record.GameArchiveWriter;
+import cs3500.marblesolitaire.view.record.GameRecord;
+import cs3500.marblesolitaire.view.record.RecordingModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link GameArchive} and the {@link GameArchiveWriter},
+ * on archives in a temporary directory.
+ */
+public class GameArchiveTest {
+  private Path directory;
+  private Path path;
+
+  /**
+   * Creates a temporary directory for the archive.
+   */
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("archive");
+    path = directory.resolve("games.bin");
+  }
+
+  /**
+   * Deletes the archive and its directory.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+    Files.deleteIfExists(directory.resolve("games.bin.idx"));
+    Files.delete(directory);
+  }
+
+  /**
+   * Plays a random game to the end through a recording model.
+   */
+  private static GameRecord randomGame(int arm, Random random, boolean withSnapshot) {
+    RecordingModel model = new RecordingModel(new EnglishSolitaireModel(arm));
+    int size = model.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(size)];
+    int count;
+    while ((count = model.legalMoves(moves)) > 0) {
+      int move = moves[random.nextInt(count)];
+      model.move(Moves.row(Moves.fromIndex(move), size), Moves.col(Moves.fromIndex(move), size),
+              Moves.row(Moves.toIndex(move), size), Moves.col(Moves.toIndex(move), size));
+    }
+    return model.toRecord(withSnapshot);
+  }
+
+  /**
+   * Tests that records are found by id and walked in order by a cursor, across several writers.
+   */
+  @Test
+  public void testWriteAndRead() throws IOException {
+    Random random = new Random(5);
+    List<GameRecord> records = new ArrayList<>();
+    for (int batch = 0; batch < 2; batch++) {
+      try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+        // enough games to fill the write buffers several times
+        for (int i = 0; i < 3000; i++) {
+          GameRecord record = randomGame(i % 10 == 0 ? 5 : 3, random, i % 3 == 0);
+          assertEquals(records.size(), writer.append(record));
+          records.add(record);
+        }
+      }
+    }
+
+    try (GameArchive archive = new GameArchive(path)) {
+      assertEquals(records.size(), archive.size());
+      for (int id : new int[]{0, 1, 2999, 3000, 4567, records.size() - 1}) {
+        assertEquals(records.get(id), archive.get(id));
+        assertArrayEquals(records.get(id).toBytes(), toArray(archive.bytesOf(id)));
+      }
+
+      GameArchive.Cursor cursor = archive.cursor();
+      for (GameRecord record : records) {
+        assertTrue(cursor.next());
+        assertEquals(record.getArmThickness(), cursor.armThickness());
+        assertEquals(record.getStartRow(), cursor.startRow());
+        assertEquals(record.getStartCol(), cursor.startCol());
+        assertEquals(record.getMoveCount(), cursor.moveCount());
+        MarbleSolitaireModel model = new EnglishSolitaireModel(cursor.armThickness(),
+                cursor.startRow(), cursor.startCol());
+        cursor.replay(model);
+        assertEquals(record.toModel().getScore(), model.getScore());
+        assertEquals(record, cursor.record());
+      }
+      assertFalse(cursor.next());
+      assertThrows(IllegalArgumentException.class, () -> archive.get(records.size()));
+      assertThrows(IllegalArgumentException.class, () -> archive.get(-1));
+    }
+  }
+
+  /**
+   * Tests that an empty archive has no records.
+   */
+  @Test
+  public void testEmptyArchive() throws IOException {
+    new GameArchiveWriter(path).close();
+    try (GameArchive archive = new GameArchive(path)) {
+      assertEquals(0, archive.size());
+      assertFalse(archive.cursor().next());
+    }
+  }
+
+  /**
+   * Tests that a writer reopening an archive cut short in the middle of a write drops the
+   * partial record and continues after the last complete one.
+   */
+  @Test
+  public void testRecoverPartialWrite() throws IOException {
+    Random random = new Random(9);
+    GameRecord first = randomGame(3, random, false);
+    GameRecord second = randomGame(3, random, true);
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      writer.append(first);
+    }
+    // the data of a record and half of its index entry, as if the process died
+    try (FileChannel data = FileChannel.open(path, StandardOpenOption.APPEND);
+         FileChannel index = FileChannel.open(directory.resolve("games.bin.idx"),
+                 StandardOpenOption.APPEND)) {
+      data.write(ByteBuffer.wrap(second.toBytes()));
+      index.write(ByteBuffer.allocate(4));
+    }
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      assertEquals(1, writer.size());
+      assertEquals(1, writer.append(second));
+    }
+    try (GameArchive archive = new GameArchive(path)) {
+      assertEquals(2, archive.size());
+      assertEquals(first, archive.get(0));
+      assertEquals(second, archive.get(1));
+    }
+  }
+
+  /**
+   * Tests that bulk appends write record data as the buffer fills, but write no index entry
+   * until the data has been forced by a flush.
+   */
+  @Test
+  public void testIndexWaitsForFlush() throws IOException {
+    Random random = new Random(12);
+    List<GameRecord> records = new ArrayList<>();
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      while (Files.size(path) < 3 << 16) {
+        GameRecord record = randomGame(3, random, true);
+        records.add(record);
+        writer.append(record);
+      }
+      assertEquals(0, Files.size(directory.resolve("games.bin.idx")));
+      writer.flush();
+      assertEquals(records.size() * 8L, Files.size(directory.resolve("games.bin.idx")));
+    }
+    try (GameArchive archive = new GameArchive(path)) {
+      assertEquals(records.size(), archive.size());
+      for (int i = 0; i < records.size(); i++) {
+        assertEquals(records.get(i), archive.get(i));
+      }
+    }
+  }
+
+  /**
+   * Tests that a writer refuses an archive whose data is shorter than its index says, and leaves
+   * both files as they were.
+   */
+  @Test
+  public void testRejectTruncatedData() throws IOException {
+    Random random = new Random(10);
+    try (GameArchiveWriter writer = new GameArchiveWriter(path)) {
+      writer.append(randomGame(3, random, false));
+      writer.append(randomGame(3, random, false));
+    }
+    long indexSize = Files.size(directory.resolve("games.bin.idx"));
+    try (FileChannel data = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      data.truncate(data.size() - 1);
+    }
+    long dataSize = Files.size(path);
+    IOException corrupt = assertThrows(IOException.class, () -> new GameArchiveWriter(path));
+    assertTrue(corrupt.getMessage().startsWith("Corrupt archive"));
+    assertEquals(dataSize, Files.size(path));
+    assertEquals(indexSize, Files.size(directory.resolve("games.bin.idx")));
+  }
+
+  /**
+   * Copies the remaining bytes of a buffer.
+   */
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,182 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.Moves;
+import cs3500.marblesolitaire.view.record.GameRecord;
+import cs3500.marblesolitaire.view.record.RecordingModel;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link GameRecord} binary format and the
+ * {@link RecordingModel} that produces records.
+ */
+public class GameRecordTest {
+
+  /**
+   * Plays random moves on a recording model until the game is over.
+   */
+  private static RecordingModel playRandomGame(MarbleSolitaireModel model, long seed) {
+    RecordingModel recording = new RecordingModel(model);
+    Random random = new Random(seed);
+    int size = recording.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(size)];
+    int count;
+    while ((count = recording.legalMoves(moves)) > 0) {
+      int move = moves[random.nextInt(count)];
+      recording.move(Moves.row(Moves.fromIndex(move), size), Moves.col(Moves.fromIndex(move), size),
+              Moves.row(Moves.toIndex(move), size), Moves.col(Moves.toIndex(move), size));
+    }
+    return recording;
+  }
+
+  /**
+   * Checks that two states show the same board.
+   */
+  private static void assertSameBoard(MarbleSolitaireModelState expected,
+                                      MarbleSolitaireModelState actual) {
+    assertEquals(expected.getBoardSize(), actual.getBoardSize());
+    assertEquals(expected.getScore(), actual.getScore());
+    for (int i = 0; i < expected.getBoardSize(); i++) {
+      for (int j = 0; j < expected.getBoardSize(); j++) {
+        assertEquals(expected.getSlotAt(i, j), actual.getSlotAt(i, j));
+      }
+    }
+  }
+
+  /**
+   * Tests that records of random games survive the binary form, with and without a snapshot,
+   * and replay to the final position.
+   */
+  @Test
+  public void testRoundTrip() {
+    for (int seed = 0; seed < 50; seed++) {
+      int arm = seed % 3 == 0 ? 5 : 3;
+      RecordingModel game = playRandomGame(new EnglishSolitaireModel(arm, arm - 1, arm + 1), seed);
+      for (boolean withSnapshot : new boolean[]{false, true}) {
+        GameRecord record = game.toRecord(withSnapshot);
+        byte[] bytes = record.toBytes();
+        assertEquals(record.encodedSize(), bytes.length);
+
+        GameRecord read = GameRecord.fromBytes(bytes);
+        assertEquals(record, read);
+        assertEquals(withSnapshot, read.hasSnapshot());
+        assertArrayEquals(record.getMoves(), read.getMoves());
+        assertSameBoard(game, read.toModel());
+        if (withSnapshot) {
+          assertSameBoard(game, read.getSnapshot());
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests the size of a full game on the standard board.
+   */
+  @Test
+  public void testCompactSize() {
+    RecordingModel game = playRandomGame(new EnglishSolitaireModel(), 1);
+    GameRecord record = game.toRecord(false);
+    assertTrue(record.encodedSize() <= 5 + 2 * record.getMoveCount());
+    // 33 cells of one bit each
+    assertEquals(record.encodedSize() + 5, game.toRecord(true).encodedSize());
+  }
+
+  /**
+   * Tests that several records can be read back to back from one buffer, and replayed on
+   * another model implementation.
+   */
+  @Test
+  public void testBufferOfRecords() {
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    GameRecord[] records = new GameRecord[10];
+    for (int i = 0; i < records.length; i++) {
+      records[i] = playRandomGame(new BitboardSolitaireModel(), i).toRecord(i % 2 == 0);
+      records[i].writeTo(buffer);
+    }
+    buffer.flip();
+    for (GameRecord record : records) {
+      GameRecord read = GameRecord.readFrom(buffer);
+      assertEquals(record, read);
+      MarbleSolitaireModel model = new BitboardSolitaireModel();
+      read.replay(model);
+      assertSameBoard(record.toModel(), model);
+    }
+    assertFalse(buffer.hasRemaining());
+  }
+
+  /**
+   * Tests that undone moves are dropped from the record and redone moves come back.
+   */
+  @Test
+  public void testRecordingUndoRedo() {
+    RecordingModel recording = new RecordingModel(new EnglishSolitaireModel());
+    recording.move(3, 1, 3, 3);
+    recording.move(1, 2, 3, 2);
+    recording.undo();
+    assertEquals(1, recording.toRecord(false).getMoveCount());
+    recording.redo();
+    assertEquals(2, recording.toRecord(false).getMoveCount());
+    recording.undo();
+    recording.move(5, 2, 3, 2);
+    GameRecord record = recording.toRecord(true);
+    assertArrayEquals(new int[]{Moves.encode(3, 1, 3, 3, 7), Moves.encode(5, 2, 3, 2, 7)},
+            record.getMoves());
+    assertSameBoard(recording, record.getSnapshot());
+  }
+
+  /**
+   * Tests that invalid records and models are rejected.
+   */
+  @Test
+  public void testInvalidRecords() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameRecord(3, 3, 3, new int[]{Moves.encode(3, 3, 3, 5, 7)}, false));
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameRecord(4, 3, 3, new int[0], false));
+    assertThrows(IllegalStateException.class,
+        () -> new GameRecord(3, 3, 3, new int[0], false).getSnapshot());
+
+    byte[] bytes = new GameRecord(3, 3, 3, new int[]{Moves.encode(3, 1, 3, 3, 7)}, true).toBytes();
+    for (int length = 0; length < bytes.length; length++) {
+      byte[] truncated = Arrays.copyOf(bytes, length);
+      assertThrows(IllegalArgumentException.class, () -> GameRecord.fromBytes(truncated));
+    }
+    bytes[0] = 2;
+    assertThrows(IllegalArgumentException.class, () -> GameRecord.fromBytes(bytes));
+
+    MarbleSolitaireModel model = new EnglishSolitaireModel();
+    model.move(3, 1, 3, 3);
+    assertThrows(IllegalArgumentException.class, () -> new RecordingModel(model));
+    assertThrows(IllegalArgumentException.class, () -> new RecordingModel(null));
+  }
+
+  /**
+   * Tests that only models on an English board can be recorded, since a record keeps nothing
+   * but the arm thickness of the board.
+   */
+  @Test
+  public void testRecordOnlyEnglishBoards() {
+    IllegalArgumentException european = assertThrows(IllegalArgumentException.class,
+        () -> new RecordingModel(new BitboardSolitaireModel(BoardGeometry.european(3))));
+    assertEquals("Model is not on an English board", european.getMessage());
+    assertThrows(IllegalArgumentException.class,
+        () -> new RecordingModel(new BitboardSolitaireModel(BoardGeometry.triangular(7))));
+    assertThrows(IllegalArgumentException.class,
+        () -> new RecordingModel(new BitboardSolitaireModel(BoardGeometry.triangular(10))));
+    assertEquals(5, new RecordingModel(new BitboardSolitaireModel(BoardGeometry.english(5)))
+            .toRecord(false).getArmThickness());
+  }
+}
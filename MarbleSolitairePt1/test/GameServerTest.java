@@ -0,0 +1,171 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.server.GameServer;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireTextView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link GameServer}, which run against a server on a
+ * free port of the loopback interface.
+ */
+public class GameServerTest {
+  private GameServer server;
+
+  /**
+   * Starts a server on a free local port.
+   */
+  @Before
+  public void setUp() throws IOException {
+    server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    server.start();
+  }
+
+  /**
+   * Stops the server.
+   */
+  @After
+  public void tearDown() {
+    server.stop();
+  }
+
+  /**
+   * Sends a request and returns the status code and the body of the response, separated by a space.
+   */
+  private String request(String method, String path) throws IOException {
+    URL url = new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(),
+            path);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod(method);
+    int status = connection.getResponseCode();
+    InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+    String body = "";
+    if (in != null) {
+      try (InputStream stream = in) {
+        body = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    }
+    return status + " " + body;
+  }
+
+  /**
+   * Tests a game played through the server: start, move, score, undo and end.
+   */
+  @Test
+  public void testPlayGame() throws IOException {
+    String created = request("POST", "/games");
+    assertEquals("201", created.substring(0, 3));
+    String id = created.substring(4).trim();
+
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    assertEquals("200 " + new MarbleSolitaireTextView(model) + "\n",
+            request("GET", "/games/" + id));
+
+    model.move(3, 1, 3, 3);
+    assertEquals("200 " + new MarbleSolitaireTextView(model) + "\n",
+            request("POST", "/games/" + id + "/move?fromRow=3&fromCol=1&toRow=3&toCol=3"));
+    assertEquals("200 31\n", request("GET", "/games/" + id + "/score"));
+    assertEquals("200 false\n", request("GET", "/games/" + id + "/over"));
+    assertEquals("409 Invalid move\n",
+            request("POST", "/games/" + id + "/move?fromRow=3&fromCol=1&toRow=3&toCol=3"));
+
+    assertEquals("200 " + new MarbleSolitaireTextView(new EnglishSolitaireModel()) + "\n",
+            request("POST", "/games/" + id + "/undo"));
+    assertEquals("409 Nothing to undo\n", request("POST", "/games/" + id + "/undo"));
+
+    assertEquals("204 ", request("DELETE", "/games/" + id));
+    assertEquals("404 No game " + id + "\n", request("GET", "/games/" + id));
+    assertEquals(0, server.getSessionCount());
+  }
+
+  /**
+   * Tests that malformed requests and invalid boards are rejected.
+   */
+  @Test
+  public void testBadRequests() throws IOException {
+    assertEquals("400 Invalid armThickness 4\n", request("POST", "/games?arm=4"));
+    String id = request("POST", "/games?arm=5&row=0&col=6").substring(4).trim();
+    assertEquals("200 " + new MarbleSolitaireTextView(new EnglishSolitaireModel(5, 0, 6)) + "\n",
+            request("GET", "/games/" + id));
+    assertEquals("400 Missing parameter toCol\n",
+            request("POST", "/games/" + id + "/move?fromRow=3&fromCol=1&toRow=3"));
+    assertEquals("400 Invalid parameter fromRow\n",
+            request("POST", "/games/" + id + "/move?fromRow=x&fromCol=1&toRow=3&toCol=3"));
+    assertEquals("405 Method not allowed\n", request("GET", "/games/" + id + "/move"));
+    assertEquals("404 Not found\n", request("GET", "/games/" + id + "/move/again"));
+    assertEquals("404 Not found\n", request("POST", "/gamesX"));
+    assertEquals("404 Not found\n", request("GET", "/gamesX/" + id));
+    assertEquals("400 Arm thickness 27 above 25\n", request("POST", "/games?arm=27"));
+    assertEquals("400 Arm thickness 2147483647 above 25\n",
+            request("POST", "/games?arm=2147483647"));
+    assertEquals("400 Invalid armThickness -1431655765\n",
+            request("POST", "/games?arm=-1431655765"));
+    assertEquals("400 Invalid empty cell position (100, 3)\n",
+            request("POST", "/games?row=100"));
+  }
+
+  /**
+   * Tests that no game starts beyond the cap, and that idle games are ended to make room.
+   */
+  @Test
+  public void testSessionLimit() throws Exception {
+    server.stop();
+    server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2,
+            200, TimeUnit.MILLISECONDS);
+    server.start();
+    request("POST", "/games");
+    request("POST", "/games");
+    assertEquals("503 Too many games\n", request("POST", "/games"));
+    Thread.sleep(250);
+    assertEquals("201", request("POST", "/games").substring(0, 3));
+    assertEquals(1, server.getSessionCount());
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameServer(new InetSocketAddress(0), 0, 1, TimeUnit.MINUTES));
+  }
+
+  /**
+   * Tests that many sessions played at the same time stay independent.
+   */
+  @Test
+  public void testConcurrentSessions() throws Exception {
+    ExecutorService clients = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> scores = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        boolean twoMoves = i % 2 == 0;
+        scores.add(clients.submit(() -> {
+          String id = request("POST", "/games").substring(4).trim();
+          request("POST", "/games/" + id + "/move?fromRow=3&fromCol=1&toRow=3&toCol=3");
+          if (twoMoves) {
+            request("POST", "/games/" + id + "/move?fromRow=1&fromCol=2&toRow=3&toCol=2");
+          }
+          return request("GET", "/games/" + id + "/score");
+        }));
+      }
+      for (int i = 0; i < scores.size(); i++) {
+        assertEquals(i % 2 == 0 ? "200 30\n" : "200 31\n", scores.get(i).get());
+      }
+      assertEquals(100, server.getSessionCount());
+    } finally {
+      clients.shutdown();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.controller.HintService;
+import cs3500.marblesolitaire.view.controller.SwingGUIController;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+import cs3500.marblesolitaire.view.solver.SolitaireMove;
+import cs3500.marblesolitaire.view.solver.Solver;
+import cs3500.marblesolitaire.view.view.MockSwingGUIView;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link HintService} and the hints of the
+ * {@link SwingGUIController}.
+ */
+public class HintServiceTest {
+  private ExecutorService executor;
+  private HintService hints;
+
+  /**
+   * Creates a service searching on a single background thread.
+   */
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    hints = new HintService(new Solver(new ForkJoinPool(2)), executor);
+  }
+
+  /**
+   * Stops the background thread.
+   */
+  @After
+  public void tearDown() {
+    hints.shutdown();
+  }
+
+  /**
+   * Waits for the hint of the current position.
+   */
+  private SolitaireMove awaitHint() throws Exception {
+    return hints.hint().get(30, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Tests that following the hints solves the game, and that the hint after following one is
+   * ready at once.
+   */
+  @Test
+  public void testFollowingHintsSolvesTheGame() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    hints.update(model);
+    SolitaireMove move = awaitHint();
+    while (move != null) {
+      model.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+      hints.update(model);
+      assertTrue(hints.hint().isDone());
+      move = hints.hint().getNow(null);
+    }
+    assertEquals(1, model.getScore());
+  }
+
+  /**
+   * Tests that a new position cancels the search for the previous one and computes its own hint.
+   */
+  @Test
+  public void testUpdateCancelsStaleHint() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    hints.update(model);
+    CompletableFuture<SolitaireMove> stale = hints.hint();
+    model.move(3, 1, 3, 3);
+    model.move(1, 2, 3, 2);
+    hints.update(model);
+    assertTrue(stale.isDone());
+
+    SolitaireMove move = awaitHint();
+    assertNotNull(move);
+    model.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+    assertTrue(new Solver().solve(model).isSolvable());
+  }
+
+  /**
+   * Tests that there is no hint when the game is over or the board is too large to search.
+   */
+  @Test
+  public void testNoHint() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    int size = model.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(size)];
+    Random random = new Random(3);
+    int count;
+    while ((count = model.legalMoves(moves)) > 0) {
+      int move = moves[random.nextInt(count)];
+      model.move(Moves.row(Moves.fromIndex(move), size), Moves.col(Moves.fromIndex(move), size),
+              Moves.row(Moves.toIndex(move), size), Moves.col(Moves.toIndex(move), size));
+    }
+    hints.update(model);
+    assertNull(awaitHint());
+
+    hints.update(new EnglishSolitaireModel(7));
+    assertNull(awaitHint());
+    assertThrows(IllegalArgumentException.class, () -> hints.update(null));
+  }
+
+  /**
+   * Tests that the controller shows the hint once it is ready, and that the hint is a legal move.
+   */
+  @Test
+  public void testControllerShowsHint() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    StringBuilder log = new StringBuilder();
+    SwingGUIController controller = new SwingGUIController(model, new MockSwingGUIView(log),
+            hints);
+    SolitaireMove move = awaitHint();
+
+    log.setLength(0);
+    controller.hint();
+    assertEquals(String.format("\n\nTried to show hint (%d, %d) -> (%d, %d)\n",
+            move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol()),
+            log.toString());
+
+    controller.input(move.getFromRow(), move.getFromCol());
+    controller.input(move.getToRow(), move.getToCol());
+    assertEquals(31, model.getScore());
+    assertTrue(hints.hint().isDone());
+  }
+}
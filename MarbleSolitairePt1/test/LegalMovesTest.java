@@ -0,0 +1,201 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * This class contains unit tests for the legal move enumeration of
+ * {@link MarbleSolitaireModelState} and {@link MarbleSolitaireModel#tryMove}.
+ */
+public class LegalMovesTest {
+
+  /**
+   * Tests the four opening moves of the standard board.
+   */
+  @Test
+  public void testOpeningMoves() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    int[] buffer = new int[Moves.maxLegalMoves(model.getBoardSize())];
+    int count = model.legalMoves(buffer);
+    assertEquals(4, count);
+
+    int[] expected = {
+        Moves.encode(1, 3, 3, 3, 7), Moves.encode(3, 1, 3, 3, 7),
+        Moves.encode(3, 5, 3, 3, 7), Moves.encode(5, 3, 3, 3, 7)};
+    int[] actual = Arrays.copyOf(buffer, count);
+    Arrays.sort(expected);
+    Arrays.sort(actual);
+    assertArrayEquals(expected, actual);
+    assertEquals(3, Moves.row(Moves.toIndex(actual[0]), 7));
+    assertEquals(3, Moves.col(Moves.toIndex(actual[0]), 7));
+  }
+
+  /**
+   * Tests that a small buffer receives the first moves while all moves are counted.
+   */
+  @Test
+  public void testSmallBuffer() {
+    int[] buffer = new int[2];
+    assertEquals(4, new BitboardSolitaireModel().legalMoves(buffer));
+    assertTrue(buffer[0] != 0 && buffer[1] != 0);
+    assertEquals(4, new EnglishSolitaireModel().legalMoves(new int[0]));
+  }
+
+  /**
+   * Tests that tryMove reports illegal moves without changing the model.
+   */
+  @Test
+  public void testTryMove() {
+    MarbleSolitaireModel model = new EnglishSolitaireModel();
+    assertFalse(model.tryMove(3, 3, 3, 1));
+    assertFalse(model.tryMove(-1, 3, 1, 3));
+    assertFalse(model.tryMove(3, 5, 3, 7));
+    assertEquals(32, model.getScore());
+    assertTrue(model.tryMove(3, 1, 3, 3));
+    assertEquals(31, model.getScore());
+    assertFalse(model.isLegalMove(3, 1, 3, 3));
+  }
+
+  /**
+   * Tests that every implementation enumerates the same moves throughout random games,
+   * and that playing only enumerated moves ends exactly when the game is over.
+   */
+  @Test
+  public void testImplementationsAgree() {
+    Random random = new Random(7);
+    for (int game = 0; game < 20; game++) {
+      EnglishSolitaireModel english = new EnglishSolitaireModel(5);
+      BitboardSolitaireModel bitboard = new BitboardSolitaireModel(5);
+      MarbleSolitaireModelState generic = scanning(english);
+      int[] buffer = new int[Moves.maxLegalMoves(english.getBoardSize())];
+      int size = english.getBoardSize();
+      while (true) {
+        int[] expected = sorted(buffer, generic.legalMoves(buffer));
+        assertArrayEquals(expected, sorted(buffer, english.legalMoves(buffer)));
+        assertArrayEquals(expected, sorted(buffer, bitboard.legalMoves(buffer)));
+        assertEquals(expected.length == 0, english.isGameOver());
+        if (expected.length == 0) {
+          break;
+        }
+        int move = expected[random.nextInt(expected.length)];
+        int from = Moves.fromIndex(move);
+        int to = Moves.toIndex(move);
+        assertTrue(english.tryMove(Moves.row(from, size), Moves.col(from, size),
+            Moves.row(to, size), Moves.col(to, size)));
+        assertTrue(bitboard.tryMove(Moves.row(from, size), Moves.col(from, size),
+            Moves.row(to, size), Moves.col(to, size)));
+      }
+    }
+  }
+
+  /**
+   * Tests that the incrementally tracked game over state agrees with a search of the whole
+   * board after every move, undo and redo of random games.
+   */
+  @Test
+  public void testGameOverMatchesBruteForce() {
+    Random random = new Random(11);
+    for (int arm : new int[] {1, 3, 5, 7}) {
+      for (int game = 0; game < 10; game++) {
+        EnglishSolitaireModel model = new EnglishSolitaireModel(arm);
+        assertEquals(!hasLegalMove(model), model.isGameOver());
+        for (int step = 0; step < 400; step++) {
+          int action = random.nextInt(10);
+          if (action == 0 && model.canUndo()) {
+            model.undo();
+          } else if (action == 1 && model.canRedo()) {
+            model.redo();
+          } else if (!model.isGameOver()) {
+            int[] move = randomLegalMove(model, random);
+            model.move(move[0], move[1], move[2], move[3]);
+          } else if (model.canUndo()) {
+            model.undo();
+          } else {
+            break;
+          }
+          assertEquals(!hasLegalMove(model), model.isGameOver());
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks every slot and direction of the board for a legal move, reading only the slots.
+   */
+  private static boolean hasLegalMove(MarbleSolitaireModelState state) {
+    return randomLegalMove(state, null) != null;
+  }
+
+  /**
+   * Returns a random legal move as {@code {fromRow, fromCol, toRow, toCol}}, found by checking
+   * every slot and direction, or the first one found if there is no random generator, or null
+   * if there is none.
+   */
+  private static int[] randomLegalMove(MarbleSolitaireModelState state, Random random) {
+    int size = state.getBoardSize();
+    int[][] steps = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    List<int[]> moves = new ArrayList<>();
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        for (int[] step : steps) {
+          int toRow = row + 2 * step[0];
+          int toCol = col + 2 * step[1];
+          if (toRow < 0 || toRow >= size || toCol < 0 || toCol >= size) {
+            continue;
+          }
+          if (state.getSlotAt(row, col) == MarbleSolitaireModelState.SlotState.Marble
+                  && state.getSlotAt(row + step[0], col + step[1])
+                  == MarbleSolitaireModelState.SlotState.Marble
+                  && state.getSlotAt(toRow, toCol) == MarbleSolitaireModelState.SlotState.Empty) {
+            if (random == null) {
+              return new int[] {row, col, toRow, toCol};
+            }
+            moves.add(new int[] {row, col, toRow, toCol});
+          }
+        }
+      }
+    }
+    return moves.isEmpty() ? null : moves.get(random.nextInt(moves.size()));
+  }
+
+  private static int[] sorted(int[] buffer, int count) {
+    int[] moves = Arrays.copyOf(buffer, count);
+    Arrays.sort(moves);
+    return moves;
+  }
+
+  /**
+   * Wraps a state so that only the default interface methods are used.
+   */
+  private static MarbleSolitaireModelState scanning(MarbleSolitaireModelState state) {
+    return new MarbleSolitaireModelState() {
+      @Override
+      public int getBoardSize() {
+        return state.getBoardSize();
+      }
+
+      @Override
+      public SlotState getSlotAt(int row, int col) {
+        return state.getSlotAt(row, col);
+      }
+
+      @Override
+      public int getScore() {
+        return state.getScore();
+      }
+    };
+  }
+}
@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireTextView;
+
+/**
+ * This class contains unit tests for the {@link MarbleSolitaireTextView}.
+ * It checks the board format and that streaming the board produces the same text.
+ */
+public class MarbleSolitaireTextViewTest {
+
+  /**
+   * Tests the text of the standard board after one move.
+   */
+  @Test
+  public void testToString() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    model.move(3, 1, 3, 3);
+    String expected = "    O O O    \n"
+        + "    O O O    \n"
+        + "O O O O O O O\n"
+        + "O _ _ O O O O\n"
+        + "O O O O O O O\n"
+        + "    O O O    \n"
+        + "    O O O    ";
+    assertEquals(expected, new MarbleSolitaireTextView(model).toString());
+  }
+
+  /**
+   * Tests that rendering to an appendable or a writer produces exactly the string form,
+   * also when the same view renders several times.
+   */
+  @Test
+  public void testRenderBoardMatchesToString() throws IOException {
+    for (int arm = 1; arm <= 11; arm += 2) {
+      EnglishSolitaireModel model = new EnglishSolitaireModel(arm);
+      StringBuilder builder = new StringBuilder();
+      StringWriter writer = new StringWriter();
+      MarbleSolitaireTextView view = new MarbleSolitaireTextView(model, builder);
+      MarbleSolitaireTextView writerView = new MarbleSolitaireTextView(model, writer);
+
+      view.renderBoard();
+      view.renderBoard();
+      writerView.renderBoard();
+      String board = view.toString();
+      assertEquals(board + board, builder.toString());
+      assertEquals(board, writer.toString());
+    }
+  }
+
+  /**
+   * Tests that a failing appendable is reported.
+   */
+  @Test
+  public void testRenderBoardFails() {
+    Appendable failing = new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) throws IOException {
+        throw new IOException("closed");
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        throw new IOException("closed");
+      }
+
+      @Override
+      public Appendable append(char c) throws IOException {
+        throw new IOException("closed");
+      }
+    };
+    MarbleSolitaireTextView view =
+        new MarbleSolitaireTextView(new EnglishSolitaireModel(), failing);
+    assertThrows(IOException.class, view::renderBoard);
+  }
+
+  /**
+   * Tests that threads calling toString on the same view at once each get the whole board.
+   */
+  @Test
+  public void testConcurrentToString() throws Exception {
+    MarbleSolitaireTextView view = new MarbleSolitaireTextView(new EnglishSolitaireModel(7));
+    String expected = view.toString();
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        results.add(threads.submit(() -> {
+          for (int i = 0; i < 2_000; i++) {
+            if (!view.toString().equals(expected)) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      threads.shutdown();
+    }
+  }
+}
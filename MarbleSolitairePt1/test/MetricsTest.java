@@ -0,0 +1,226 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.metrics.Counter;
+import cs3500.marblesolitaire.view.metrics.HistogramSnapshot;
+import cs3500.marblesolitaire.view.metrics.InstrumentedGuiView;
+import cs3500.marblesolitaire.view.metrics.InstrumentedModel;
+import cs3500.marblesolitaire.view.metrics.LatencyHistogram;
+import cs3500.marblesolitaire.view.metrics.Metrics;
+import cs3500.marblesolitaire.view.metrics.MetricsRegistry;
+import cs3500.marblesolitaire.view.metrics.MetricsReporter;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.view.MockSwingGUIView;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the metrics package: counters, latency histograms, the
+ * registry and its exports, and the instrumented model and view.
+ */
+public class MetricsTest {
+
+  /**
+   * Tests that a counter adds up and resets.
+   */
+  @Test
+  public void testCounter() {
+    Counter counter = new MetricsRegistry().counter("events");
+    counter.increment();
+    counter.add(41);
+    assertEquals(42, counter.get());
+    counter.reset();
+    assertEquals(0, counter.get());
+  }
+
+  /**
+   * Tests that small durations are recorded exactly.
+   */
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new MetricsRegistry().histogram("small");
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(10, snapshot.getCount());
+    assertEquals(5.5, snapshot.getMean(), 1e-9);
+    assertEquals(10, snapshot.getMax());
+    assertEquals(5, snapshot.getValueAtPercentile(50));
+    assertEquals(9, snapshot.getValueAtPercentile(90));
+    assertEquals(1, snapshot.getValueAtPercentile(0));
+    assertEquals(10, snapshot.getValueAtPercentile(100));
+  }
+
+  /**
+   * Tests that large durations are reported within the precision of their bucket.
+   */
+  @Test
+  public void testLargeValuesArePrecise() {
+    LatencyHistogram histogram = new MetricsRegistry().histogram("large");
+    long[] values = {1_000, 123_456, 9_999_999, 3_000_000_000L};
+    for (long value : values) {
+      histogram.record(value);
+      histogram.record(value * 2);
+    }
+    HistogramSnapshot snapshot = histogram.snapshot();
+    long median = snapshot.getValueAtPercentile(50);
+    assertTrue(median >= 246_912 && median <= 246_912 * 1.07);
+    assertEquals(6_000_000_000L, snapshot.getMax());
+    assertEquals(6_000_000_000L, snapshot.getValueAtPercentile(100));
+  }
+
+  /**
+   * Tests that negative and huge durations are kept within the histogram's range.
+   */
+  @Test
+  public void testOutOfRangeValues() {
+    LatencyHistogram histogram = new MetricsRegistry().histogram("range");
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(2, snapshot.getCount());
+    assertEquals(0, snapshot.getValueAtPercentile(50));
+    assertEquals(Long.MAX_VALUE, snapshot.getMax());
+    assertTrue(snapshot.getValueAtPercentile(100) > 1L << 40);
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(Double.NaN));
+    histogram.reset();
+    assertEquals(0, histogram.snapshot().getCount());
+    assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+  }
+
+  /**
+   * Tests that no recording is lost when several threads record at once.
+   */
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    MetricsRegistry registry = new MetricsRegistry();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          registry.histogram("shared").record(i);
+          registry.counter("shared").increment();
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40_000, registry.histogram("shared").snapshot().getCount());
+    assertEquals(40_000, registry.counter("shared").get());
+    assertEquals(9_999, registry.histogram("shared").snapshot().getMax());
+  }
+
+  /**
+   * Tests that the registry returns the same metric for the same name and writes text and JSON.
+   */
+  @Test
+  public void testRegistryExports() {
+    MetricsRegistry registry = new MetricsRegistry();
+    assertSame(registry.counter("a"), registry.counter("a"));
+    assertSame(registry.histogram("h"), registry.histogram("h"));
+    registry.counter("a").add(3);
+    registry.histogram("h").record(2_000);
+    assertEquals("a 3\nh count=1 mean=2.0us p50=2.0us p99=2.0us max=2.0us\n",
+            registry.toText());
+    assertEquals("{\"counters\":{\"a\":3},\"histograms\":{\"h\":{\"count\":1,\"meanNanos\":2000,"
+            + "\"p50Nanos\":2000,\"p90Nanos\":2000,\"p99Nanos\":2000,\"maxNanos\":2000}}}",
+            registry.toJson());
+    registry.reset();
+    assertEquals("a 0\nh count=0 mean=0.0us p50=0.0us p99=0.0us max=0.0us\n",
+            registry.toText());
+    assertThrows(IllegalArgumentException.class, () -> registry.counter(null));
+  }
+
+  /**
+   * Tests that the reporter writes the registry to its stream.
+   */
+  @Test
+  public void testReporter() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("model.invalidMoves").increment();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new MetricsReporter(registry, new PrintStream(bytes), true).report();
+    assertEquals(registry.toJson() + System.lineSeparator(), bytes.toString());
+    assertThrows(IllegalArgumentException.class,
+        () -> new MetricsReporter(registry, new PrintStream(bytes), false).start(0, null));
+  }
+
+  /**
+   * Tests that the instrumented model plays like its delegate and records its calls.
+   */
+  @Test
+  public void testInstrumentedModel() {
+    MetricsRegistry registry = new MetricsRegistry();
+    MarbleSolitaireModel model = new InstrumentedModel(new EnglishSolitaireModel(), registry);
+    model.move(3, 1, 3, 3);
+    assertEquals(31, model.getScore());
+    assertThrows(IllegalArgumentException.class, () -> model.move(3, 3, 3, 1));
+    assertFalse(model.tryMove(0, 0, 0, 2));
+    assertFalse(model.isGameOver());
+    model.undo();
+    model.redo();
+    assertEquals(31, model.getScore());
+    assertEquals(3, registry.histogram("model.move").snapshot().getCount());
+    assertEquals(2, registry.counter("model.invalidMoves").get());
+    assertEquals(1, registry.histogram("model.isGameOver").snapshot().getCount());
+    assertEquals(1, registry.histogram("model.undo").snapshot().getCount());
+    assertEquals(1, registry.histogram("model.redo").snapshot().getCount());
+  }
+
+  /**
+   * Tests that the instrumented view passes calls on and records its refreshes.
+   */
+  @Test
+  public void testInstrumentedView() {
+    MetricsRegistry registry = new MetricsRegistry();
+    StringBuilder log = new StringBuilder();
+    InstrumentedGuiView view = new InstrumentedGuiView(new MockSwingGUIView(log), registry);
+    view.refresh();
+    view.refresh();
+    view.renderMessage("Hello");
+    assertTrue(log.toString().startsWith("Tried to refresh\nTried to refresh\n"));
+    assertEquals(2, registry.histogram("view.refresh").snapshot().getCount());
+  }
+
+  /**
+   * Tests that instrumenting does nothing while metrics are disabled, as they are in tests.
+   */
+  @Test
+  public void testDisabledInstrumentIsIdentity() {
+    MarbleSolitaireModel model = new EnglishSolitaireModel();
+    assertEquals(!Metrics.ENABLED, Metrics.instrument(model) == model);
+    assertThrows(IllegalArgumentException.class,
+        () -> Metrics.instrument((MarbleSolitaireModel) null));
+  }
+
+  /**
+   * Tests that the registry can be read over JMX.
+   */
+  @Test
+  public void testMBean() throws Exception {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("jmx").increment();
+    ObjectName name = Metrics.registerMBean(registry);
+    try {
+      assertEquals(registry.toJson(),
+              ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Json"));
+      assertEquals(name, Metrics.registerMBean(new MetricsRegistry()));
+    } finally {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+  }
+}
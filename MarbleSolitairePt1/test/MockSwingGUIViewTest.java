@@ -51,6 +51,21 @@ public class MockSwingGUIViewTest {
       public void input(int row, int col) {
         // no-op
       }
+
+      @Override
+      public void undo() {
+        // no-op
+      }
+
+      @Override
+      public void redo() {
+        // no-op
+      }
+
+      @Override
+      public void hint() {
+        // no-op
+      }
     };
 
     mockView.setFeatures(dummyFeatures);
@@ -70,6 +85,18 @@ public class MockSwingGUIViewTest {
       @Override
       public void input(int row, int col) {
       }
+
+      @Override
+      public void undo() {
+      }
+
+      @Override
+      public void redo() {
+      }
+
+      @Override
+      public void hint() {
+      }
     };
 
     mockView.refresh();
@@ -0,0 +1,169 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardSnapshot;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.ModelPool;
+import cs3500.marblesolitaire.view.model.Moves;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for copying models and for the {@link ModelPool}.
+ */
+public class ModelCopyTest {
+
+  /**
+   * Plays a number of random legal moves, stopping early if the game ends.
+   */
+  private static void randomMoves(MarbleSolitaireModel model, int moves, Random random) {
+    int size = model.getBoardSize();
+    int[] buffer = new int[Moves.maxLegalMoves(size)];
+    for (int i = 0; i < moves; i++) {
+      int count = model.legalMoves(buffer);
+      if (count == 0) {
+        return;
+      }
+      int move = buffer[random.nextInt(count)];
+      model.move(Moves.row(Moves.fromIndex(move), size), Moves.col(Moves.fromIndex(move), size),
+              Moves.row(Moves.toIndex(move), size), Moves.col(Moves.toIndex(move), size));
+    }
+  }
+
+  /**
+   * Asserts that two models hold the same position and agree on the game being over.
+   */
+  private static void assertSamePosition(MarbleSolitaireModel expected,
+                                         MarbleSolitaireModel actual) {
+    assertEquals(expected.getScore(), actual.getScore());
+    assertEquals(expected.isGameOver(), actual.isGameOver());
+    for (int i = 0; i < expected.getBoardSize(); i++) {
+      for (int j = 0; j < expected.getBoardSize(); j++) {
+        assertEquals(expected.getSlotAt(i, j), actual.getSlotAt(i, j));
+      }
+    }
+  }
+
+  /**
+   * Tests that a copy of the English model has the same position, hash and history, and is
+   * independent of the original.
+   */
+  @Test
+  public void testEnglishCopy() {
+    Random random = new Random(2);
+    EnglishSolitaireModel model = new EnglishSolitaireModel(5);
+    randomMoves(model, 10, random);
+    model.undo();
+    EnglishSolitaireModel copy = model.copy();
+    assertSamePosition(model, copy);
+    assertEquals(model.getPositionHash(), copy.getPositionHash());
+
+    copy.redo();
+    model.redo();
+    assertSamePosition(model, copy);
+    randomMoves(copy, 5, random);
+    copy.undo();
+    assertEquals(model.getScore() - 4, copy.getScore());
+    while (copy.canUndo()) {
+      copy.undo();
+    }
+    assertSamePosition(new EnglishSolitaireModel(5), copy);
+  }
+
+  /**
+   * Tests that copying into a model overwrites its position and history, without changing
+   * snapshots taken from it.
+   */
+  @Test
+  public void testCopyInto() {
+    Random random = new Random(8);
+    EnglishSolitaireModel source = new EnglishSolitaireModel();
+    EnglishSolitaireModel target = new EnglishSolitaireModel();
+    randomMoves(source, 6, random);
+    randomMoves(target, 12, random);
+    MarbleSolitaireModelState before = target.snapshot();
+    MarbleSolitaireModelState copyOfBefore = new BoardSnapshot(target);
+
+    source.copyInto(target);
+    assertSamePosition(source, target);
+    assertEquals(source.getPositionHash(), target.getPositionHash());
+    assertEquals(copyOfBefore.getScore(), before.getScore());
+    for (int i = 0; i < 7; i++) {
+      for (int j = 0; j < 7; j++) {
+        assertEquals(copyOfBefore.getSlotAt(i, j), before.getSlotAt(i, j));
+      }
+    }
+    target.undo();
+    source.undo();
+    assertSamePosition(source, target);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> source.copyInto(new EnglishSolitaireModel(5)));
+    assertThrows(IllegalArgumentException.class, () -> source.copyInto(null));
+  }
+
+  /**
+   * Tests copying the bitboard model.
+   */
+  @Test
+  public void testBitboardCopy() {
+    Random random = new Random(4);
+    BitboardSolitaireModel model = new BitboardSolitaireModel(5);
+    randomMoves(model, 10, random);
+    BitboardSolitaireModel copy = model.copy();
+    assertSamePosition(model, copy);
+    randomMoves(copy, 3, random);
+    assertEquals(model.getScore() - 3, copy.getScore());
+
+    MarbleSolitaireModelState snapshot = copy.snapshot();
+    int score = copy.getScore();
+    model.copyInto(copy);
+    assertSamePosition(model, copy);
+    assertEquals(score, snapshot.getScore());
+    assertEquals(model.getPositionHash(), copy.getPositionHash());
+    assertThrows(IllegalArgumentException.class,
+        () -> model.copyInto(new BitboardSolitaireModel()));
+  }
+
+  /**
+   * Tests that the pool hands out models in the requested position, and reuses released ones
+   * of the same arm thickness only.
+   */
+  @Test
+  public void testPool() {
+    ModelPool pool = new ModelPool(2);
+    EnglishSolitaireModel first = pool.acquire(3, 3, 3);
+    assertSamePosition(new EnglishSolitaireModel(), first);
+    first.move(3, 1, 3, 3);
+    pool.release(first);
+    assertEquals(1, pool.idleCount(3));
+
+    EnglishSolitaireModel second = pool.acquire(3, 0, 3);
+    assertSame(first, second);
+    assertSamePosition(new EnglishSolitaireModel(0, 3), second);
+    assertFalse(second.canUndo());
+    assertEquals(0, pool.idleCount(3));
+
+    EnglishSolitaireModel large = pool.acquire(5, 6, 6);
+    assertEquals(13, large.getBoardSize());
+    pool.release(large);
+    assertNotSame(large, pool.acquire(second));
+
+    for (int i = 0; i < 4; i++) {
+      pool.release(new EnglishSolitaireModel());
+    }
+    assertEquals(2, pool.idleCount(3));
+    assertThrows(IllegalArgumentException.class, () -> pool.acquire(3, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> pool.acquire(4, 3, 3));
+    assertThrows(IllegalArgumentException.class, () -> new ModelPool(0));
+  }
+}
@@ -0,0 +1,150 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.solver.EvictionPolicy;
+import cs3500.marblesolitaire.view.solver.PackedBoard;
+import cs3500.marblesolitaire.view.solver.PatternDatabase;
+import cs3500.marblesolitaire.view.solver.SolitaireMove;
+import cs3500.marblesolitaire.view.solver.Solver;
+import cs3500.marblesolitaire.view.solver.SolverResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link PatternDatabase}. Its answers are checked
+ * against the {@link Solver}, on a small database generated into a temporary file.
+ */
+public class PatternDatabaseTest {
+  private static final int MAX_MARBLES = 6;
+
+  private Path path;
+  private PatternDatabase database;
+
+  /**
+   * Generates and opens a database of the standard board.
+   */
+  @Before
+  public void setUp() throws IOException {
+    path = Files.createTempFile("patterns", ".bin");
+    PatternDatabase.generate(3, MAX_MARBLES, path);
+    database = new PatternDatabase(path);
+  }
+
+  /**
+   * Deletes the database file.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  /**
+   * Returns a random position with the given number of marbles.
+   */
+  private static long randomPosition(PackedBoard board, int marbles, Random random) {
+    long bits = 0;
+    while (Long.bitCount(bits) < marbles) {
+      bits |= 1L << random.nextInt(board.getSlotCount());
+    }
+    return bits;
+  }
+
+  /**
+   * Tests that the database agrees with a full search on random positions of every size.
+   */
+  @Test
+  public void testAgreesWithSolver() {
+    PackedBoard board = database.getBoard();
+    // a small table, since each search only sees a few positions
+    Solver solver = new Solver(new ForkJoinPool(1), 0, 1 << 10, EvictionPolicy.REPLACE_OLDEST);
+    Random random = new Random(17);
+    int solvable = 0;
+    for (int i = 0; i < 600; i++) {
+      long bits = randomPosition(board, 1 + i % MAX_MARBLES, random);
+      assertTrue(database.knows(bits));
+      boolean expected = solver.solve(board, bits).isSolvable();
+      assertEquals(expected, database.isSolvable(bits));
+      solvable += expected ? 1 : 0;
+    }
+    // both answers must have been checked
+    assertTrue(solvable > 0 && solvable < 600);
+    assertFalse(database.knows(0));
+    assertFalse(database.knows(randomPosition(board, MAX_MARBLES + 1, random)));
+    assertEquals(MAX_MARBLES, database.getMaxMarbles());
+  }
+
+  /**
+   * Tests that a solver pruning with the database still finds valid solutions, while expanding
+   * fewer positions than without it.
+   */
+  @Test
+  public void testSolverWithOracle() {
+    ForkJoinPool pool = new ForkJoinPool(1);
+    Solver plain = new Solver(pool, 0, 1 << 16, EvictionPolicy.REPLACE_OLDEST);
+    Solver pruned = new Solver(pool, 0, 1 << 16, EvictionPolicy.REPLACE_OLDEST, database);
+    // twelve marbles left, a few moves away from the positions in the database
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    for (SolitaireMove move : plain.solve(model).getSolution().subList(0, 20)) {
+      model.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+    }
+    SolverResult withoutOracle = plain.solve(model);
+    SolverResult withOracle = pruned.solve(model);
+    assertTrue(withOracle.isSolvable());
+    assertTrue(withOracle.getNodesExpanded() < withoutOracle.getNodesExpanded());
+
+    for (SolitaireMove move : withOracle.getSolution()) {
+      model.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+    }
+    assertEquals(1, model.getScore());
+  }
+
+  /**
+   * Tests that the database is not used for other boards.
+   */
+  @Test
+  public void testAppliesOnlyToItsBoard() {
+    assertTrue(database.appliesTo(new PackedBoard(new EnglishSolitaireModel())));
+    assertFalse(database.appliesTo(new PackedBoard(new EnglishSolitaireModel(1))));
+  }
+
+  /**
+   * Tests that files that are not complete databases are rejected.
+   */
+  @Test
+  public void testInvalidFiles() throws IOException {
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrows(IOException.class, () -> new PatternDatabase(path));
+    Files.write(path, Arrays.copyOf(bytes, 10));
+    assertThrows(IOException.class, () -> new PatternDatabase(path));
+    Files.write(path, new byte[100]);
+    assertThrows(IOException.class, () -> new PatternDatabase(path));
+    Files.write(path, ByteBuffer.allocate(16).putInt(0x4D535044).putInt(9).putInt(33).putInt(4)
+            .array());
+    assertThrows(IOException.class, () -> new PatternDatabase(path));
+  }
+
+  /**
+   * Tests that invalid marble counts and boards are rejected.
+   */
+  @Test
+  public void testInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> PatternDatabase.generate(3, 0, path));
+    assertThrows(IllegalArgumentException.class, () -> PatternDatabase.generate(3, 34, path));
+    assertThrows(IllegalArgumentException.class, () -> PatternDatabase.generate(2, 4, path));
+    assertThrows(IllegalArgumentException.class, () -> PatternDatabase.generate(5, 4, path));
+  }
+}
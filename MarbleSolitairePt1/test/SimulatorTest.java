@@ -0,0 +1,114 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+import cs3500.marblesolitaire.view.simulation.SimulationResult;
+import cs3500.marblesolitaire.view.simulation.Simulator;
+import cs3500.marblesolitaire.view.simulation.StandardPolicy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for the {@link Simulator} and the {@link StandardPolicy}s.
+ */
+public class SimulatorTest {
+
+  /**
+   * Tests that every game of a batch is counted once, with a score that a finished game on the
+   * standard board can have.
+   */
+  @Test
+  public void testScoresOfBatch() {
+    for (StandardPolicy policy : StandardPolicy.values()) {
+      SimulationResult result = new Simulator().run(3, 3, 3, policy, 1000, 42);
+      assertEquals(1000, result.getGames());
+      long total = 0;
+      for (int score = 0; score <= 33; score++) {
+        total += result.getScoreCount(score);
+      }
+      assertEquals(1000, total);
+      assertTrue(result.getMinScore() >= 1);
+      assertTrue(result.getMaxScore() <= 31);
+      assertTrue(result.getMeanScore() >= result.getMinScore());
+      assertTrue(result.getMeanScore() <= result.getMaxScore());
+    }
+  }
+
+  /**
+   * Tests that a batch with the same seed gives the same scores, whatever the number of threads.
+   */
+  @Test
+  public void testSameSeedSameScores() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool several = new ForkJoinPool(4);
+    try {
+      SimulationResult first = new Simulator(single)
+              .run(3, 3, 3, StandardPolicy.UNIFORM_RANDOM, 2000, 7);
+      SimulationResult second = new Simulator(several)
+              .run(3, 3, 3, StandardPolicy.UNIFORM_RANDOM, 2000, 7);
+      for (int score = 0; score <= 33; score++) {
+        assertEquals(first.getScoreCount(score), second.getScoreCount(score));
+      }
+    } finally {
+      single.shutdown();
+      several.shutdown();
+    }
+  }
+
+  /**
+   * Tests that the policies pick a legal move and leave the model unchanged.
+   */
+  @Test
+  public void testPoliciesPickLegalMoves() {
+    SplittableRandom random = new SplittableRandom(3);
+    for (StandardPolicy policy : StandardPolicy.values()) {
+      MarbleSolitaireModel model = new EnglishSolitaireModel();
+      int[] moves = new int[Moves.maxLegalMoves(model.getBoardSize())];
+      int count;
+      while ((count = model.legalMoves(moves)) > 0) {
+        int score = model.getScore();
+        int choice = policy.choose(model, moves, count, random);
+        assertTrue(choice >= 0 && choice < count);
+        assertEquals(score, model.getScore());
+        assertTrue(model.tryMove(
+                Moves.row(Moves.fromIndex(moves[choice]), 7), Moves.col(Moves.fromIndex(moves[choice]), 7),
+                Moves.row(Moves.toIndex(moves[choice]), 7), Moves.col(Moves.toIndex(moves[choice]), 7)));
+      }
+      assertTrue(model.isGameOver());
+    }
+  }
+
+  /**
+   * Tests that policies are found by their command-line names.
+   */
+  @Test
+  public void testPolicyNames() {
+    assertEquals(StandardPolicy.UNIFORM_RANDOM, StandardPolicy.forShortName("random"));
+    assertEquals(StandardPolicy.GREEDY_MOBILITY, StandardPolicy.forShortName("greedy"));
+    assertEquals(StandardPolicy.CENTER_AFFINITY, StandardPolicy.forShortName("center"));
+    assertThrows(IllegalArgumentException.class, () -> StandardPolicy.forShortName("best"));
+  }
+
+  /**
+   * Tests that invalid batches are rejected.
+   */
+  @Test
+  public void testInvalidBatch() {
+    Simulator simulator = new Simulator();
+    assertThrows(IllegalArgumentException.class,
+        () -> simulator.run(3, 3, 3, null, 10, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> simulator.run(3, 3, 3, StandardPolicy.UNIFORM_RANDOM, -1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> simulator.run(3, 0, 0, StandardPolicy.UNIFORM_RANDOM, 10, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> simulator.run(4, 3, 3, StandardPolicy.UNIFORM_RANDOM, 10, 0));
+    assertThrows(IllegalArgumentException.class, () -> new Simulator(null));
+  }
+}
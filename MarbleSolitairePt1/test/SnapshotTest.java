@@ -0,0 +1,160 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardSnapshot;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState.SlotState;
+import cs3500.marblesolitaire.view.model.Moves;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+
+/**
+ * This class contains unit tests for {@link MarbleSolitaireModelState#snapshot()} on both models
+ * and for {@link BoardSnapshot}.
+ */
+public class SnapshotTest {
+
+  /**
+   * Plays a random legal move, or does nothing if there is none.
+   */
+  private static void randomMove(MarbleSolitaireModel model, Random random) {
+    int size = model.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(size)];
+    int count = model.legalMoves(moves);
+    if (count > 0) {
+      int move = moves[random.nextInt(count)];
+      model.move(Moves.row(Moves.fromIndex(move), size), Moves.col(Moves.fromIndex(move), size),
+              Moves.row(Moves.toIndex(move), size), Moves.col(Moves.toIndex(move), size));
+    }
+  }
+
+  /**
+   * Asserts that two states hold the same board and score.
+   */
+  private static void assertSameState(MarbleSolitaireModelState expected,
+                                      MarbleSolitaireModelState actual) {
+    assertEquals(expected.getBoardSize(), actual.getBoardSize());
+    assertEquals(expected.getScore(), actual.getScore());
+    for (int i = 0; i < expected.getBoardSize(); i++) {
+      for (int j = 0; j < expected.getBoardSize(); j++) {
+        assertEquals(expected.getSlotAt(i, j), actual.getSlotAt(i, j));
+      }
+    }
+  }
+
+  /**
+   * Tests that snapshots taken between moves, undos and redos keep the position they were taken
+   * in, for a model built by the given factory.
+   */
+  private static void checkSnapshotsAreFrozen(IntFunction<MarbleSolitaireModel> factory) {
+    Random random = new Random(11);
+    for (int arm = 1; arm <= 7; arm += 2) {
+      MarbleSolitaireModel model = factory.apply(arm);
+      List<MarbleSolitaireModelState> snapshots = new ArrayList<>();
+      List<MarbleSolitaireModelState> copies = new ArrayList<>();
+      for (int step = 0; step < 60; step++) {
+        snapshots.add(model.snapshot());
+        copies.add(new BoardSnapshot(model));
+        if (step % 7 == 6 && model.canUndo()) {
+          model.undo();
+        } else if (step % 11 == 10 && model.canRedo()) {
+          model.redo();
+        } else {
+          randomMove(model, random);
+        }
+      }
+      for (int i = 0; i < snapshots.size(); i++) {
+        assertSameState(copies.get(i), snapshots.get(i));
+      }
+      assertSameState(model, model.snapshot());
+    }
+  }
+
+  /**
+   * Tests that snapshots of the English model are not changed by later moves.
+   */
+  @Test
+  public void testEnglishSnapshotsAreFrozen() {
+    checkSnapshotsAreFrozen(EnglishSolitaireModel::new);
+  }
+
+  /**
+   * Tests that snapshots of the bitboard model are not changed by later moves.
+   */
+  @Test
+  public void testBitboardSnapshotsAreFrozen() {
+    checkSnapshotsAreFrozen(BitboardSolitaireModel::new);
+  }
+
+  /**
+   * Tests that a snapshot is its own snapshot and rejects positions outside the board.
+   */
+  @Test
+  public void testSnapshotOfSnapshot() {
+    for (MarbleSolitaireModel model : new MarbleSolitaireModel[]{new EnglishSolitaireModel(),
+        new BitboardSolitaireModel()}) {
+      MarbleSolitaireModelState snapshot = model.snapshot();
+      assertSame(snapshot, snapshot.snapshot());
+      assertEquals(SlotState.Invalid, snapshot.getSlotAt(0, 0));
+      assertEquals(SlotState.Empty, snapshot.getSlotAt(3, 3));
+      assertThrows(IllegalArgumentException.class, () -> snapshot.getSlotAt(7, 0));
+      assertThrows(IllegalArgumentException.class, () -> snapshot.getSlotAt(0, -1));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new BoardSnapshot(null));
+  }
+
+  /**
+   * Tests that snapshots handed from the thread making moves to another thread are never seen
+   * half-updated: the marbles on each board always add up to its score.
+   */
+  @Test
+  public void testSnapshotsAcrossThreads() throws InterruptedException {
+    MarbleSolitaireModel model = new EnglishSolitaireModel(7);
+    BlockingQueue<MarbleSolitaireModelState> queue = new LinkedBlockingQueue<>();
+    // tells the reader to stop
+    MarbleSolitaireModelState end = new BoardSnapshot(new EnglishSolitaireModel(1));
+    int[] checked = new int[1];
+    Thread reader = new Thread(() -> {
+      try {
+        for (MarbleSolitaireModelState state = queue.take(); state != end;
+             state = queue.take()) {
+          int marbles = 0;
+          for (int i = 0; i < state.getBoardSize(); i++) {
+            for (int j = 0; j < state.getBoardSize(); j++) {
+              marbles += state.getSlotAt(i, j) == SlotState.Marble ? 1 : 0;
+            }
+          }
+          if (marbles == state.getScore()) {
+            checked[0]++;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    reader.start();
+    Random random = new Random(4);
+    int published = 0;
+    while (!model.isGameOver()) {
+      randomMove(model, random);
+      queue.add(model.snapshot());
+      published++;
+    }
+    queue.add(end);
+    reader.join();
+    assertTrue(published > 0);
+    assertEquals(published, checked[0]);
+  }
+}
@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModelState;
+import cs3500.marblesolitaire.view.solver.BoardSymmetry;
+import cs3500.marblesolitaire.view.solver.PackedBoard;
+import cs3500.marblesolitaire.view.solver.SolitaireMove;
+import cs3500.marblesolitaire.view.solver.Solver;
+import cs3500.marblesolitaire.view.solver.SolverResult;
+
+/**
+ * This class contains unit tests for the {@link Solver}.
+ * It checks that the solutions found can be replayed on the model.
+ */
+public class SolverTest {
+
+  /**
+   * Tests that the standard board is solved from several starting slots,
+   * and that every solution leaves one marble when replayed.
+   */
+  @Test
+  public void testSolveStandardBoard() {
+    Solver solver = new Solver(new ForkJoinPool(2));
+    int[][] starts = {{3, 3}, {0, 3}, {2, 0}, {3, 1}, {6, 3}};
+    for (int[] start : starts) {
+      SolverResult result = solver.solve(new EnglishSolitaireModel(start[0], start[1]));
+      assertTrue(result.isSolvable());
+      assertEquals(31, result.getSolution().size());
+      assertTrue(result.getNodesExpanded() >= 31);
+
+      EnglishSolitaireModel model = new EnglishSolitaireModel(start[0], start[1]);
+      for (SolitaireMove move : result.getSolution()) {
+        model.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+      }
+      assertEquals(1, model.getScore());
+    }
+  }
+
+  /**
+   * Tests that the solver starts from the current position of a game in progress.
+   */
+  @Test
+  public void testSolveFromGameInProgress() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    model.move(3, 1, 3, 3);
+    model.move(1, 2, 3, 2);
+    SolverResult result = new Solver().solve(model);
+    assertTrue(result.isSolvable());
+    assertEquals(29, result.getSolution().size());
+    assertEquals(30, model.getScore());
+  }
+
+  /**
+   * Tests that a board without marbles is reported as unsolvable.
+   */
+  @Test
+  public void testUnsolvable() {
+    SolverResult result = new Solver().solve(new EnglishSolitaireModel(1));
+    assertFalse(result.isSolvable());
+    assertTrue(result.getSolution().isEmpty());
+  }
+
+  /**
+   * Tests that boards too large to pack are rejected.
+   */
+  @Test
+  public void testBoardTooLarge() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new Solver().solve(new EnglishSolitaireModel(5)));
+  }
+
+  /**
+   * Tests that a triangular board is solved with its diagonal jumps, from the model and from a
+   * snapshot, and that only the symmetries preserving those jumps are used.
+   */
+  @Test
+  public void testSolveTriangularBoard() {
+    BitboardSolitaireModel model = new BitboardSolitaireModel(BoardGeometry.triangular(5));
+    PackedBoard board = new PackedBoard(model);
+    assertEquals(15, board.getSlotCount());
+    assertEquals(36, board.getJumpCount());
+    assertEquals(2, new BoardSymmetry(board).getSymmetryCount());
+    assertEquals(8, new BoardSymmetry(new PackedBoard(
+            new BitboardSolitaireModel(BoardGeometry.european(3)))).getSymmetryCount());
+
+    Solver solver = new Solver(new ForkJoinPool(2));
+    for (MarbleSolitaireModelState state : new MarbleSolitaireModelState[] {model,
+        model.snapshot()}) {
+      SolverResult result = solver.solve(state);
+      assertTrue(result.isSolvable());
+      assertEquals(13, result.getSolution().size());
+      BitboardSolitaireModel replay = new BitboardSolitaireModel(BoardGeometry.triangular(5));
+      for (SolitaireMove move : result.getSolution()) {
+        replay.move(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+      }
+      assertEquals(1, replay.getScore());
+    }
+  }
+}
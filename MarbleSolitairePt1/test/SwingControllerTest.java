@@ -1,11 +1,22 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
+import cs3500.marblesolitaire.view.controller.HintService;
 import cs3500.marblesolitaire.view.controller.SwingGUIController;
 import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.solver.Solver;
+import cs3500.marblesolitaire.view.view.MockSwingGUIView;
 import cs3500.marblesolitaire.view.view.SwingGuiView;
 
 import java.awt.Graphics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
 
 import org.junit.Test;
 
@@ -63,4 +74,147 @@ public class SwingControllerTest {
     assertNotEquals(graphicAfterOneMove, graphicAfterTwoMove);
   }
 
+  /**
+   * Tests the undo and redo handling of the {@link SwingGUIController}.
+   * It verifies that moves are taken back and replayed on the model, and that
+   * the view is told when there is nothing to undo or redo.
+   */
+  @Test
+  public void testUndoRedo() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    StringBuilder log = new StringBuilder();
+    SwingGUIController controller = new SwingGUIController(model, new MockSwingGUIView(log));
+
+    controller.undo();
+    assertTrue(log.toString().contains("Nothing to undo!\n"));
+
+    controller.input(3, 1);
+    controller.input(3, 3);
+    assertEquals(31, model.getScore());
+
+    controller.undo();
+    assertEquals(32, model.getScore());
+
+    // A pending selection is dropped by undo.
+    controller.input(3, 1);
+    controller.redo();
+    assertEquals(31, model.getScore());
+    controller.input(1, 2);
+    controller.input(3, 2);
+    assertEquals(30, model.getScore());
+
+    log.setLength(0);
+    controller.redo();
+    assertEquals("\nNothing to redo!\nTried to refresh\n", log.toString());
+  }
+
+  /**
+   * Tests that the {@link SwingGUIController} highlights the selected marble and asks the view
+   * to redraw only the cells changed by a move, instead of the whole board.
+   */
+  @Test
+  public void testInputRepaintsChangedCells() {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    StringBuilder log = new StringBuilder();
+    SwingGUIController controller = new SwingGUIController(model, new MockSwingGUIView(log));
+
+    log.setLength(0);
+    controller.input(3, 1);
+    controller.input(3, 3);
+    assertEquals("\nTried to highlight (3, 1)\n"
+            + "\nTried to highlight (-1, -1)\n"
+            + "\nTried to refresh move (3, 1) -> (3, 3)\n", log.toString());
+
+    log.setLength(0);
+    controller.input(0, 0);
+    controller.input(3, 3);
+    assertEquals("\nTried to highlight (0, 0)\n"
+            + "\nTried to highlight (-1, -1)\nInvalid Move!\n", log.toString());
+  }
+
+  /**
+   * Tests that a controller built without a hint service starts no hint thread until a hint is
+   * first asked for.
+   */
+  @Test
+  public void testHintServiceCreatedOnFirstHint() {
+    long before = hintThreads();
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    StringBuilder log = new StringBuilder();
+    SwingGUIController controller = new SwingGUIController(model, new MockSwingGUIView(log));
+    controller.input(3, 1);
+    controller.input(3, 3);
+    controller.undo();
+    controller.redo();
+    assertEquals(before, hintThreads());
+
+    controller.hint();
+    assertEquals(before + 1, hintThreads());
+  }
+
+  /**
+   * Returns the number of live hint service threads.
+   */
+  private static long hintThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("hint-service")).count();
+  }
+
+  /**
+   * Tests that a controller with a model executor changes the model only on that executor, and
+   * that the changes made before the event dispatch thread shows them are shown together, with a
+   * single snapshot and a single repaint.
+   */
+  @Test
+  public void testModelExecutorCoalescesRefreshes() throws Exception {
+    EnglishSolitaireModel model = new EnglishSolitaireModel();
+    StringBuilder log = new StringBuilder();
+    List<Runnable> tasks = new ArrayList<>();
+    ExecutorService hintThread = Executors.newSingleThreadExecutor();
+    SwingGUIController controller = new SwingGUIController(model, new MockSwingGUIView(log),
+            new HintService(new Solver(), hintThread), tasks::add);
+    assertTrue(log.toString().startsWith("Tried to set state with score 32\n"));
+
+    controller.input(3, 1);
+    controller.input(3, 3);
+    controller.input(1, 2);
+    controller.input(3, 2);
+    controller.input(2, 0);
+    controller.input(2, 2);
+    // nothing changes until the model executor runs the moves
+    assertEquals(32, model.getScore());
+    assertEquals(3, tasks.size());
+
+    log.setLength(0);
+    // the event dispatch thread is busy while all the moves are made
+    SwingUtilities.invokeAndWait(() -> tasks.forEach(Runnable::run));
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals(29, model.getScore());
+    assertEquals("Tried to set state with score 29\n"
+            + "\nTried to refresh move (1, 0) -> (3, 3)\n", log.toString());
+
+    log.setLength(0);
+    controller.undo();
+    controller.input(0, 0);
+    controller.input(3, 3);
+    SwingUtilities.invokeAndWait(() -> tasks.subList(3, tasks.size()).forEach(Runnable::run));
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals(30, model.getScore());
+    assertTrue(log.toString().endsWith("Tried to set state with score 30\n"
+            + "Invalid Move!\nTried to refresh\n"));
+
+    // a valid move after an invalid one in the same flush clears the message
+    log.setLength(0);
+    controller.input(0, 0);
+    controller.input(3, 3);
+    controller.input(2, 0);
+    controller.input(2, 2);
+    SwingUtilities.invokeAndWait(() -> tasks.subList(5, tasks.size()).forEach(Runnable::run));
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals(29, model.getScore());
+    assertTrue(log.toString().endsWith("Tried to set state with score 29\n"
+            + "\nTried to refresh move (2, 0) -> (2, 2)\n"));
+    assertFalse(log.toString().contains("Invalid Move!"));
+    hintThread.shutdownNow();
+  }
 }
@@ -0,0 +1,113 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.solver.BoardSymmetry;
+import cs3500.marblesolitaire.view.solver.EvictionPolicy;
+import cs3500.marblesolitaire.view.solver.PackedBoard;
+import cs3500.marblesolitaire.view.solver.TranspositionTable;
+
+/**
+ * This class contains unit tests for the {@link TranspositionTable} and the
+ * {@link BoardSymmetry} used to key it.
+ */
+public class TranspositionTableTest {
+
+  /**
+   * Tests that the cross board has all eight symmetries and that rotated and
+   * reflected positions share a canonical key.
+   */
+  @Test
+  public void testCanonicalKey() {
+    BoardSymmetry symmetry = new BoardSymmetry(new PackedBoard(new EnglishSolitaireModel()));
+    assertEquals(8, symmetry.getSymmetryCount());
+
+    long key = symmetry.canonicalKey(new EnglishSolitaireModel(0, 2));
+    assertEquals(key, symmetry.canonicalKey(new EnglishSolitaireModel(0, 4)));
+    assertEquals(key, symmetry.canonicalKey(new EnglishSolitaireModel(2, 6)));
+    assertEquals(key, symmetry.canonicalKey(new EnglishSolitaireModel(6, 2)));
+    assertEquals(key, symmetry.canonicalKey(new EnglishSolitaireModel(4, 0)));
+    assertNotEquals(key, symmetry.canonicalKey(new EnglishSolitaireModel(0, 3)));
+
+    EnglishSolitaireModel left = new EnglishSolitaireModel();
+    left.move(3, 1, 3, 3);
+    EnglishSolitaireModel up = new EnglishSolitaireModel();
+    up.move(1, 3, 3, 3);
+    assertEquals(symmetry.canonicalKey(left), symmetry.canonicalKey(up));
+  }
+
+  /**
+   * Tests storing, updating and looking up entries.
+   */
+  @Test
+  public void testPutAndGet() {
+    TranspositionTable table = new TranspositionTable(16, EvictionPolicy.REPLACE_OLDEST);
+    assertEquals(TranspositionTable.MISSING, table.get(42));
+    table.put(42, 7, 1);
+    table.put(0, 3, 1);
+    assertEquals(7, table.get(42));
+    assertEquals(3, table.get(0));
+    table.put(42, 8, 1);
+    assertEquals(8, table.get(42));
+    assertEquals(2, table.size());
+    table.clear();
+    assertEquals(TranspositionTable.MISSING, table.get(42));
+  }
+
+  /**
+   * Tests that the table never holds more than its capacity, whatever the policy.
+   */
+  @Test
+  public void testBoundedMemory() {
+    for (EvictionPolicy policy : EvictionPolicy.values()) {
+      TranspositionTable table = new TranspositionTable(64, policy);
+      for (long key = 0; key < 10000; key++) {
+        table.put(key, 1, (int) (key % 33));
+      }
+      assertEquals(64, table.getCapacity());
+      assertEquals(64, table.size());
+    }
+  }
+
+  /**
+   * Tests that the lowest priority entries are evicted first.
+   */
+  @Test
+  public void testReplaceLowestPriority() {
+    TranspositionTable table = new TranspositionTable(4, EvictionPolicy.REPLACE_LOWEST_PRIORITY);
+    table.put(1, 1, 30);
+    table.put(2, 2, 10);
+    table.put(3, 3, 20);
+    table.put(4, 4, 25);
+    table.put(5, 5, 5);
+    assertEquals(1, table.get(1));
+    assertEquals(TranspositionTable.MISSING, table.get(2));
+    assertEquals(5, table.get(5));
+  }
+
+  /**
+   * Tests that full buckets reject new entries when existing ones are kept.
+   */
+  @Test
+  public void testKeepExisting() {
+    TranspositionTable table = new TranspositionTable(4, EvictionPolicy.KEEP_EXISTING);
+    for (long key = 1; key <= 5; key++) {
+      table.put(key, (int) key, 0);
+    }
+    assertEquals(1, table.get(1));
+    assertEquals(TranspositionTable.MISSING, table.get(5));
+  }
+
+  /**
+   * Tests that invalid table parameters are rejected.
+   */
+  @Test
+  public void testInvalidTable() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new TranspositionTable(0, EvictionPolicy.REPLACE_OLDEST));
+    assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(16, null));
+  }
+}
@@ -0,0 +1,71 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs3500.marblesolitaire.view.controller.SwingGUIController;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.view.MockSwingGUIView;
+
+/**
+ * Benchmarks the controller's handling of a move made with two clicks, against a view that
+ * discards its output.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+  @Param({"3", "15", "51"})
+  public int armThickness;
+
+  private SwingGUIController controller;
+  private int center;
+
+  @Setup
+  public void setUp() {
+    Appendable discard = new Appendable() {
+      @Override
+      public Appendable append(CharSequence csq) {
+        return this;
+      }
+
+      @Override
+      public Appendable append(CharSequence csq, int start, int end) {
+        return this;
+      }
+
+      @Override
+      public Appendable append(char c) {
+        return this;
+      }
+    };
+    controller = new SwingGUIController(new EnglishSolitaireModel(armThickness),
+            new MockSwingGUIView(discard));
+    center = armThickness * 3 / 2 - 1;
+  }
+
+  /**
+   * Clicks a marble, clicks the empty center to jump into it, then undoes the move.
+   */
+  @Benchmark
+  public void inputMoveAndUndo() {
+    controller.input(center, center - 2);
+    controller.input(center, center);
+    controller.undo();
+  }
+}
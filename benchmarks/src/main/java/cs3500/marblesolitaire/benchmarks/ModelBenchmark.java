@@ -0,0 +1,92 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * Benchmarks the hot paths of the models on a position halfway through a random game.
+ * Every benchmark runs for each model implementation and a range of arm thicknesses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+  @Param({"english", "bitboard"})
+  public String model;
+
+  @Param({"3", "5", "9", "15", "25", "35", "51"})
+  public int armThickness;
+
+  private MarbleSolitaireModel game;
+  private int fromRow;
+  private int fromCol;
+  private int toRow;
+  private int toCol;
+
+  /**
+   * Plays random moves until half the board's marbles are gone, or the game ends, and picks
+   * one legal move of the resulting position for the move benchmark.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    game = Models.create(model, armThickness);
+    int size = game.getBoardSize();
+    int[] moves = new int[Moves.maxLegalMoves(size)];
+    SplittableRandom random = new SplittableRandom(armThickness);
+    int target = game.getScore() / 2;
+    int count = game.legalMoves(moves);
+    while (game.getScore() > target && count > 1) {
+      Models.apply(game, moves[random.nextInt(count)]);
+      count = game.legalMoves(moves);
+    }
+    int move = moves[0];
+    fromRow = Moves.row(Moves.fromIndex(move), size);
+    fromCol = Moves.col(Moves.fromIndex(move), size);
+    toRow = Moves.row(Moves.toIndex(move), size);
+    toCol = Moves.col(Moves.toIndex(move), size);
+  }
+
+  /**
+   * Makes a legal move and takes it back, so the position is the same for every invocation.
+   */
+  @Benchmark
+  public void moveAndUndo() {
+    game.move(fromRow, fromCol, toRow, toCol);
+    game.undo();
+  }
+
+  @Benchmark
+  public boolean isGameOver() {
+    return game.isGameOver();
+  }
+
+  @Benchmark
+  public int getScore() {
+    return game.getScore();
+  }
+
+  @Benchmark
+  public MarbleSolitaireModel construct() {
+    return Models.create(model, armThickness);
+  }
+}
@@ -0,0 +1,49 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import cs3500.marblesolitaire.view.model.BitboardSolitaireModel;
+import cs3500.marblesolitaire.view.model.BoardGeometry;
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * Helpers shared by the benchmarks to create models by name and apply encoded moves.
+ */
+final class Models {
+  private Models() {
+  }
+
+  /**
+   * Creates a model with the center slot empty.
+   *
+   * @param name         "english", "bitboard" or "european"
+   * @param armThickness the arm thickness of the board
+   * @return the new model
+   */
+  static MarbleSolitaireModel create(String name, int armThickness) {
+    switch (name) {
+      case "english":
+        return new EnglishSolitaireModel(armThickness);
+      case "bitboard":
+        return new BitboardSolitaireModel(armThickness);
+      case "european":
+        return new BitboardSolitaireModel(BoardGeometry.european(armThickness));
+      default:
+        throw new IllegalArgumentException("Unknown model " + name);
+    }
+  }
+
+  /**
+   * Applies a move encoded as described in {@link Moves}.
+   *
+   * @param model the model to move on
+   * @param move  the encoded move, which must be legal
+   */
+  static void apply(MarbleSolitaireModel model, int move) {
+    int size = model.getBoardSize();
+    int from = Moves.fromIndex(move);
+    int to = Moves.toIndex(move);
+    model.move(Moves.row(from, size), Moves.col(from, size), Moves.row(to, size),
+            Moves.col(to, size));
+  }
+}
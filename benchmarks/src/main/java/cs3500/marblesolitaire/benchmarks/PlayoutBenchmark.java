@@ -0,0 +1,52 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+
+/**
+ * Benchmarks a whole game played with uniformly random legal moves, from constructing the model
+ * to the end of the game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+
+  @Param({"english", "bitboard"})
+  public String model;
+
+  @Param({"3", "7", "15"})
+  public int armThickness;
+
+  private final SplittableRandom random = new SplittableRandom(42);
+  private int[] moves;
+
+  @Benchmark
+  public int randomPlayout() {
+    MarbleSolitaireModel game = Models.create(model, armThickness);
+    if (moves == null) {
+      moves = new int[Moves.maxLegalMoves(game.getBoardSize())];
+    }
+    for (int count = game.legalMoves(moves); count > 0; count = game.legalMoves(moves)) {
+      Models.apply(game, moves[random.nextInt(count)]);
+    }
+    return game.getScore();
+  }
+}
@@ -0,0 +1,70 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.model.MarbleSolitaireModel;
+import cs3500.marblesolitaire.view.model.Moves;
+import cs3500.marblesolitaire.view.solver.Solver;
+
+/**
+ * Benchmarks how the parallel solver scales with the number of workers. The position is the
+ * standard board after ten random moves, which cannot be solved, so every run searches the whole
+ * tree (about 770,000 positions) instead of stopping at whichever solution a worker finds first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  private ForkJoinPool pool;
+  private Solver solver;
+  private MarbleSolitaireModel position;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool = new ForkJoinPool(threads);
+    solver = new Solver(pool);
+    position = new EnglishSolitaireModel();
+    Random random = new Random(0);
+    int[] moves = new int[Moves.maxLegalMoves(position.getBoardSize())];
+    for (int i = 0; i < 10; i++) {
+      Models.apply(position, moves[random.nextInt(position.legalMoves(moves))]);
+    }
+    if (solver.solve(position).isSolvable()) {
+      throw new IllegalStateException("Benchmark position is solvable");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public long exhaustiveSearch() {
+    return solver.solve(position).getNodesExpanded();
+  }
+}
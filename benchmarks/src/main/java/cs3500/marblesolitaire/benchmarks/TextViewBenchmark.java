@@ -0,0 +1,45 @@
+package cs3500.marblesolitaire.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs3500.marblesolitaire.view.model.EnglishSolitaireModel;
+import cs3500.marblesolitaire.view.view.MarbleSolitaireTextView;
+
+/**
+ * Benchmarks rendering the board as text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextViewBenchmark {
+
+  @Param({"3", "9", "25", "51"})
+  public int armThickness;
+
+  private MarbleSolitaireTextView view;
+
+  @Setup
+  public void setUp() {
+    view = new MarbleSolitaireTextView(new EnglishSolitaireModel(armThickness), new StringBuilder());
+  }
+
+  @Benchmark
+  public String textViewToString() {
+    return view.toString();
+  }
+}